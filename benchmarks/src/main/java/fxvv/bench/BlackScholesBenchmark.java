@@ -0,0 +1,66 @@
+package main.java.fxvv.bench;
+
+import java.util.concurrent.TimeUnit;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.numerics.impl.NormalDistTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlackScholesBenchmark {
+
+    @Param({"ABRAMOWITZ_STEGUN", "CODY"})
+    public NormalDistTier tier;
+
+    private GKBlackScholes bs;
+    private double K = 1.10;
+    private double sigma = 0.11;
+    private final double[] vols = {0.10, 0.12, 0.10};
+    private final double[] out = new double[3];
+    private double F;
+    private double DFd;
+
+    // Only deltaInstance depends on the convention, so only it runs once per convention.
+    @State(Scope.Thread)
+    public static class Convention {
+        @Param({"SPOT_PREM_EXCLUDED", "FWD_PREM_EXCLUDED", "SPOT_PREM_INCLUDED"})
+        public DeltaConvention convention;
+    }
+
+    @Setup
+    public void setup() {
+        bs = Fixtures.bs(tier.create());
+        F = GKBlackScholes.forward(Fixtures.S, Fixtures.RD, Fixtures.RF, Fixtures.T);
+        DFd = GKBlackScholes.df(Fixtures.RD, Fixtures.T);
+    }
+
+    @Benchmark
+    public double price() {
+        return bs.price(true, Fixtures.S, K, Fixtures.T, Fixtures.RD, Fixtures.RF, sigma);
+    }
+
+    @Benchmark
+    public double deltaInstance(Convention c) {
+        return bs.deltaInstance(c.convention, true, Fixtures.S, K, Fixtures.T, Fixtures.RD, Fixtures.RF, sigma);
+    }
+
+    @Benchmark
+    public double[] priceVolsFused() {
+        return bs.priceVols(true, F, DFd, K, Fixtures.T, vols, out);
+    }
+}
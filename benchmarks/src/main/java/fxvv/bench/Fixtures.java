@@ -0,0 +1,47 @@
+package main.java.fxvv.bench;
+
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.numerics.NormalDist;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.pricer.GreeksMode;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+
+// Market data shared by all benchmarks: the EURUSD 6M example from Main.
+final class Fixtures {
+
+    static final double S = 1.0850;
+    static final double RD = 0.03;
+    static final double RF = 0.02;
+    static final double T = 0.5;
+    static final SmileQuote QUOTE = new SmileQuote(T, 0.10, -0.02, 0.01);
+
+    private Fixtures() {}
+
+    static MarketSlice slice(GKBlackScholes bs, DeltaConvention conv) {
+        return new MarketSliceBuilder(bs, new NewtonRootFinder(), conv).build(S, RD, RF, QUOTE);
+    }
+
+    static VannaVolgaPricer pricer(GKBlackScholes bs, GreeksMode mode) {
+        return new VannaVolgaPricer(bs, new GaussianElimination3(), mode);
+    }
+
+    static GKBlackScholes bs(NormalDist normal) {
+        return new GKBlackScholes(normal);
+    }
+
+    // n strikes spread over +/- 3 standard deviations around the forward.
+    static double[] ladder(MarketSlice slice, int n) {
+        double[] strikes = new double[n];
+        double sd = slice.sigmaATM * Math.sqrt(slice.T);
+        for (int i = 0; i < n; i++) {
+            double x = -3.0 * sd + 6.0 * sd * i / Math.max(1, n - 1);
+            strikes[i] = slice.F * Math.exp(x);
+        }
+        return strikes;
+    }
+}
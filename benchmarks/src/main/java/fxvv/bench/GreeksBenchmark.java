@@ -0,0 +1,58 @@
+package main.java.fxvv.bench;
+
+import java.util.concurrent.TimeUnit;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.bs.GreeksAnalytic;
+import main.java.fxvv.bs.GreeksFD;
+import main.java.fxvv.numerics.impl.NormalDistTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GreeksBenchmark {
+
+    private GKBlackScholes bs;
+    private GreeksAnalytic analytic;
+    private final double[] out = new double[3];
+    private double K = 1.10;
+    private double sigma = 0.10;
+
+    @Setup
+    public void setup() {
+        bs = Fixtures.bs(NormalDistTier.ABRAMOWITZ_STEGUN.create());
+        analytic = new GreeksAnalytic(bs.normal());
+    }
+
+    @Benchmark
+    public double vegaFD() {
+        return GreeksFD.vegaFD(bs, true, Fixtures.S, K, Fixtures.T, Fixtures.RD, Fixtures.RF, sigma);
+    }
+
+    @Benchmark
+    public double vannaFD() {
+        return GreeksFD.vannaFD(bs, true, Fixtures.S, K, Fixtures.T, Fixtures.RD, Fixtures.RF, sigma);
+    }
+
+    @Benchmark
+    public double volgaFD() {
+        return GreeksFD.volgaFD(bs, true, Fixtures.S, K, Fixtures.T, Fixtures.RD, Fixtures.RF, sigma);
+    }
+
+    @Benchmark
+    public double[] vegaVannaVolgaAnalytic() {
+        return analytic.vegaVannaVolga(Fixtures.S, K, Fixtures.T, Fixtures.RD, Fixtures.RF, sigma, out);
+    }
+}
@@ -0,0 +1,67 @@
+package main.java.fxvv.bench;
+
+import java.util.concurrent.TimeUnit;
+import main.java.fxvv.bs.BlackScholesKernel;
+import main.java.fxvv.bs.BlackScholesKernels;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.bs.ScalarBlackScholesKernel;
+import main.java.fxvv.numerics.NormalDist;
+import main.java.fxvv.numerics.impl.NormalDistTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Scalar vs Vector API batch kernel; the fork resolves jdk.incubator.vector so VECTOR can load.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class KernelBenchmark {
+
+    public enum Kernel { SCALAR, VECTOR }
+
+    @Param({"ABRAMOWITZ_STEGUN_HORNER", "CODY"})
+    public NormalDistTier tier;
+
+    @Param({"SCALAR", "VECTOR"})
+    public Kernel kernel;
+
+    @Param({"256"})
+    public int strikes;
+
+    private BlackScholesKernel impl;
+    private double[] K;
+    private double[] out;
+    private double F;
+    private double DFd;
+
+    @Setup
+    public void setup() {
+        NormalDist normal = tier.create();
+        impl = (kernel == Kernel.VECTOR) ? BlackScholesKernels.select(normal) : new ScalarBlackScholesKernel(normal);
+        if (kernel == Kernel.VECTOR && impl instanceof ScalarBlackScholesKernel) {
+            throw new IllegalStateException("KernelBenchmark: vector kernel unavailable for " + tier + ".");
+        }
+        F = GKBlackScholes.forward(Fixtures.S, Fixtures.RD, Fixtures.RF, Fixtures.T);
+        DFd = GKBlackScholes.df(Fixtures.RD, Fixtures.T);
+        K = new double[strikes];
+        out = new double[strikes];
+        for (int i = 0; i < strikes; i++) K[i] = F * (0.8 + 0.4 * i / (strikes - 1));
+    }
+
+    @Benchmark
+    public double[] priceStrikesOtm() {
+        impl.priceStrikes(true, true, F, DFd, Fixtures.T, 0.11, K, out);
+        return out;
+    }
+}
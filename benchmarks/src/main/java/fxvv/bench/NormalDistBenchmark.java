@@ -0,0 +1,56 @@
+package main.java.fxvv.bench;
+
+import java.util.concurrent.TimeUnit;
+import main.java.fxvv.numerics.NormalDist;
+import main.java.fxvv.numerics.impl.NormalDistTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalDistBenchmark {
+
+    private static final int N = 1024;
+
+    @Param({"ABRAMOWITZ_STEGUN", "ABRAMOWITZ_STEGUN_HORNER", "CODY", "TABULATED"})
+    public NormalDistTier tier;
+
+    private NormalDist normal;
+    private final double[] xs = new double[N];
+
+    @Setup
+    public void setup() {
+        normal = tier.create();
+        for (int i = 0; i < N; i++) xs[i] = -5.0 + 10.0 * i / (N - 1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public double cdf() {
+        double sum = 0.0;
+        for (int i = 0; i < N; i++) sum += normal.cdf(xs[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public double inverseCdf() {
+        double sum = 0.0;
+        for (int i = 1; i < N; i++) sum += normal.inverseCdf((double) i / N);
+        return sum;
+    }
+}
@@ -0,0 +1,60 @@
+package main.java.fxvv.bench;
+
+import java.util.concurrent.TimeUnit;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.numerics.RootFinder;
+import main.java.fxvv.numerics.impl.BisectionRootFinder;
+import main.java.fxvv.numerics.impl.BrentRootFinder;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.numerics.impl.NormalDistTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SliceBuildBenchmark {
+
+    @Param({"SPOT_PREM_EXCLUDED", "FWD_PREM_EXCLUDED", "SPOT_PREM_INCLUDED"})
+    public DeltaConvention convention;
+
+    @Param({"BISECTION", "BRENT", "NEWTON"})
+    public String rootFinder;
+
+    private MarketSliceBuilder builder;
+
+    @Setup
+    public void setup() {
+        GKBlackScholes bs = Fixtures.bs(NormalDistTier.ABRAMOWITZ_STEGUN.create());
+        builder = new MarketSliceBuilder(bs, rootFinder(rootFinder), convention);
+    }
+
+    @Benchmark
+    public MarketSlice build() {
+        return builder.build(Fixtures.S, Fixtures.RD, Fixtures.RF, Fixtures.QUOTE);
+    }
+
+    private static RootFinder rootFinder(String name) {
+        switch (name) {
+            case "BISECTION": return new BisectionRootFinder();
+            case "BRENT": return new BrentRootFinder();
+            case "NEWTON": return new NewtonRootFinder();
+            default: throw new IllegalArgumentException("Unknown root finder " + name);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package main.java.fxvv.bench;
+
+import java.util.concurrent.TimeUnit;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.numerics.impl.NormalDistTier;
+import main.java.fxvv.pricer.GreeksMode;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// warm*: slice and strike caches populated; coldStrike*: slice cached, every strike new;
+// coldSlice*: all caches dropped before each call. *MT variants share one pricer across 4 threads.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VannaVolgaBenchmark {
+
+    private static final int LADDER = 256;
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"ANALYTIC", "FINITE_DIFFERENCE"})
+        public GreeksMode greeksMode;
+
+        GKBlackScholes bs;
+        MarketSlice slice;
+        VannaVolgaPricer pricer;
+        double[] ladder;
+
+        @Setup
+        public void setup() {
+            bs = Fixtures.bs(NormalDistTier.ABRAMOWITZ_STEGUN.create());
+            slice = Fixtures.slice(bs, DeltaConvention.SPOT_PREM_EXCLUDED);
+            pricer = Fixtures.pricer(bs, greeksMode);
+            ladder = Fixtures.ladder(slice, LADDER);
+            double[] out = new double[LADDER];
+            pricer.priceVanilla(slice, true, ladder, out);
+            pricer.priceDigitalCall(slice, ladder, out);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PerThread {
+        final double[] out = new double[LADDER];
+        double bump;
+        int next;
+
+        double nextStrike(Shared shared) {
+            next = (next + 1) & (LADDER - 1);
+            return shared.ladder[next];
+        }
+
+        // Distinct strikes beyond the 1e-8 cache key resolution, so every call misses the weight cache.
+        double nextFreshStrike(Shared shared) {
+            bump += 1e-7;
+            if (bump > 1e-2) bump = 0.0;
+            return nextStrike(shared) + bump;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ColdSlice {
+        @Setup(Level.Invocation)
+        public void drop(Shared shared) {
+            shared.pricer.clearCaches();
+        }
+    }
+
+    @Benchmark
+    public double warmVanilla(Shared shared, PerThread t) {
+        return shared.pricer.priceVanilla(shared.slice, true, t.nextStrike(shared));
+    }
+
+    @Benchmark
+    public double warmDigital(Shared shared, PerThread t) {
+        return shared.pricer.priceDigitalCall(shared.slice, t.nextStrike(shared));
+    }
+
+    @Benchmark
+    public double coldStrikeVanilla(Shared shared, PerThread t) {
+        return shared.pricer.priceVanilla(shared.slice, true, t.nextFreshStrike(shared));
+    }
+
+    @Benchmark
+    public double coldStrikeDigital(Shared shared, PerThread t) {
+        return shared.pricer.priceDigitalCall(shared.slice, t.nextFreshStrike(shared));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double coldSliceVanilla(Shared shared, PerThread t, ColdSlice cold) {
+        return shared.pricer.priceVanilla(shared.slice, true, t.nextStrike(shared));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LADDER)
+    public double[] warmLadder(Shared shared, PerThread t) {
+        shared.pricer.priceVanilla(shared.slice, true, shared.ladder, t.out);
+        return t.out;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double warmVanillaMT(Shared shared, PerThread t) {
+        return shared.pricer.priceVanilla(shared.slice, true, t.nextStrike(shared));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double coldStrikeVanillaMT(Shared shared, PerThread t) {
+        return shared.pricer.priceVanilla(shared.slice, true, t.nextFreshStrike(shared));
+    }
+}
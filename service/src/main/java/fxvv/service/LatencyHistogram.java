@@ -0,0 +1,96 @@
+package main.java.fxvv.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Concurrent log-linear histogram of nanosecond latencies: exact below 64 ns, then 32 linear sub-buckets per
+// power of two (~3% relative resolution). Quantiles report the upper edge of the containing bucket.
+public final class LatencyHistogram {
+
+    private static final int LINEAR = 64;
+    private static final int SUB_BITS = 5;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = LINEAR + (63 - 6) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private volatile long max;
+
+    public void record(long nanos) {
+        long v = Math.max(0L, nanos);
+        counts.incrementAndGet(index(v));
+        count.increment();
+        sum.add(v);
+        if (v > max) updateMax(v);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double mean() {
+        long n = count.sum();
+        return (n == 0) ? Double.NaN : (double) sum.sum() / n;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    // q in [0, 1]; 0 when empty.
+    public long quantile(double q) {
+        long n = count.sum();
+        if (n == 0) return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(q * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperEdge(i), max);
+        }
+        return max;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0L);
+        count.reset();
+        sum.reset();
+        max = 0L;
+    }
+
+    // Copies every count of other into this histogram.
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) counts.addAndGet(i, c);
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        if (other.max > max) updateMax(other.max);
+    }
+
+    public String summary() {
+        return String.format("n=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                count(), mean() / 1e3, quantile(0.50) / 1e3, quantile(0.90) / 1e3, quantile(0.99) / 1e3,
+                quantile(0.999) / 1e3, max() / 1e3);
+    }
+
+    private synchronized void updateMax(long v) {
+        if (v > max) max = v;
+    }
+
+    private static int index(long v) {
+        if (v < LINEAR) return (int) v;
+        int e = 63 - Long.numberOfLeadingZeros(v); // >= 6
+        int sub = (int) (v >>> (e - SUB_BITS)) & (SUB - 1);
+        return LINEAR + (e - 6) * SUB + sub;
+    }
+
+    private static long upperEdge(int i) {
+        if (i < LINEAR) return i;
+        int e = (i - LINEAR) / SUB + 6;
+        int sub = (i - LINEAR) % SUB;
+        long width = 1L << (e - SUB_BITS);
+        return ((SUB + sub) * width) + width - 1;
+    }
+}
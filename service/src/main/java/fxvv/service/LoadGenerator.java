@@ -0,0 +1,136 @@
+package main.java.fxvv.service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.SplittableRandom;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.portfolio.TradeType;
+
+// Closed-loop load generator: each connection keeps WINDOW requests in flight over random demo slices, strikes
+// around the forward and all four kinds, replacing every response with a new request. The first fifth of the
+// run is warm-up and not recorded. "embedded" starts a PricingService in-process on an ephemeral port, so a
+// single command measures throughput and round-trip latency on one box; otherwise HOST:PORT names a running
+// ServiceMain.
+// Usage: LoadGenerator [embedded|HOST:PORT] [CONNECTIONS] [WINDOW] [SECONDS]
+public class LoadGenerator {
+
+    private static final int RING = 1 << 16; // send timestamps by request id; WINDOW must stay far below this
+
+    public static void main(String[] args) throws Exception {
+        String target = (args.length > 0) ? args[0] : "embedded";
+        int connections = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        int window = (args.length > 2) ? Integer.parseInt(args[2]) : 64;
+        double seconds = (args.length > 3) ? Double.parseDouble(args[3]) : 10.0;
+        if (connections <= 0 || window <= 0 || window > RING / 16 || !(seconds > 0.0)) {
+            throw new IllegalArgumentException("LoadGenerator: need CONNECTIONS > 0, 0 < WINDOW <= " + (RING / 16)
+                    + ", SECONDS > 0.");
+        }
+
+        MarketSlice[] slices = ServiceMain.demoSlices();
+        PricingService embedded = null;
+        InetSocketAddress address;
+        if ("embedded".equalsIgnoreCase(target)) {
+            embedded = new PricingService(ServiceMain.demoPricer(), slices);
+            address = new InetSocketAddress("127.0.0.1", embedded.start(new InetSocketAddress("127.0.0.1", 0)));
+        } else {
+            int colon = target.lastIndexOf(':');
+            address = new InetSocketAddress(target.substring(0, colon), Integer.parseInt(target.substring(colon + 1)));
+        }
+
+        long start = System.nanoTime();
+        long recordFrom = start + (long) (seconds * 0.2e9);
+        long end = start + (long) (seconds * 1e9);
+        Worker[] workers = new Worker[connections];
+        Thread[] threads = new Thread[connections];
+        for (int i = 0; i < connections; i++) {
+            workers[i] = new Worker(address, slices, window, recordFrom, end, 0x5EEDL + i);
+            threads[i] = new Thread(workers[i], "fxvv-load-" + i);
+            threads[i].start();
+        }
+        if (embedded != null) {
+            Thread.sleep(Math.max(0L, (recordFrom - System.nanoTime()) / 1_000_000L));
+            embedded.resetStats();
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        long errors = 0;
+        for (int i = 0; i < connections; i++) {
+            threads[i].join();
+            if (workers[i].failure != null) throw workers[i].failure;
+            latency.add(workers[i].latency);
+            errors += workers[i].errors;
+        }
+        double measured = (end - recordFrom) / 1e9;
+
+        System.out.printf("%s, %d connections x %d in flight, %.1fs measured%n", address, connections, window, measured);
+        System.out.printf("throughput: %.0f req/s, errors: %d%n", latency.count() / measured, errors);
+        System.out.printf("round trip: %s%n", latency.summary());
+        if (embedded != null) {
+            System.out.printf("server:     %s%n", embedded.stats());
+            embedded.close();
+        }
+    }
+
+    private static final class Worker implements Runnable {
+        private final InetSocketAddress address;
+        private final MarketSlice[] slices;
+        private final int window;
+        private final long recordFrom;
+        private final long end;
+        private final SplittableRandom random;
+        private final TradeType[] kinds = TradeType.values();
+        private final long[] sentAt = new long[RING];
+
+        final LatencyHistogram latency = new LatencyHistogram();
+        long errors;
+        Exception failure;
+
+        Worker(InetSocketAddress address, MarketSlice[] slices, int window, long recordFrom, long end, long seed) {
+            this.address = address;
+            this.slices = slices;
+            this.window = window;
+            this.recordFrom = recordFrom;
+            this.end = end;
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public void run() {
+            try (PricingClient client = new PricingClient(address)) {
+                long nextId = 0;
+                for (int i = 0; i < window; i++) send(client, nextId++);
+                client.flush();
+
+                int inFlight = window;
+                PricingClient.Response r = new PricingClient.Response();
+                while (inFlight > 0) {
+                    // one blocking read, then everything already buffered, then a single flush of replacements
+                    do {
+                        client.receive(r);
+                        long now = System.nanoTime();
+                        inFlight--;
+                        if (now >= recordFrom && now < end) {
+                            latency.record(now - sentAt[(int) (r.requestId & (RING - 1))]);
+                            if (!r.ok()) errors++;
+                        }
+                        if (now < end) {
+                            send(client, nextId++);
+                            inFlight++;
+                        }
+                    } while (client.hasBufferedResponse());
+                    client.flush();
+                }
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+
+        private void send(PricingClient client, long id) throws IOException {
+            int slice = random.nextInt(slices.length);
+            MarketSlice s = slices[slice];
+            double K = s.F * Math.exp(0.1 * Math.sqrt(s.T) * (2.0 * random.nextDouble() - 1.0) * 2.0);
+            sentAt[(int) (id & (RING - 1))] = System.nanoTime();
+            client.send(id, kinds[random.nextInt(kinds.length)], slice, K);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package main.java.fxvv.service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import main.java.fxvv.portfolio.TradeType;
+
+// Blocking client for PricingService. Requests are buffered by send() and written by flush(), so a caller can
+// pipeline many requests per write; receive() blocks for the next response. Not thread-safe.
+public class PricingClient implements AutoCloseable {
+
+    // Decoded response, overwritten by each receive().
+    public static final class Response {
+        public long requestId;
+        public byte status; // 0 = OK, 1 = unknown slice, 2 = bad request, 3 = pricing failed
+        public double value;
+
+        public boolean ok() {
+            return status == Protocol.OK;
+        }
+    }
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+    public PricingClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        in.flip();
+    }
+
+    public void send(long requestId, TradeType kind, int sliceId, double strike) throws IOException {
+        if (out.remaining() < Protocol.REQUEST_FRAME) flush();
+        Protocol.putRequest(out, requestId, kind, sliceId, strike);
+    }
+
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+        out.clear();
+    }
+
+    public Response receive(Response r) throws IOException {
+        while (in.remaining() < Protocol.RESPONSE_FRAME) {
+            in.compact();
+            if (channel.read(in) < 0) throw new IOException("PricingClient: connection closed by server.");
+            in.flip();
+        }
+        int length = in.getInt();
+        if (length != Protocol.RESPONSE_PAYLOAD) {
+            throw new IOException("PricingClient: bad frame length " + length + ".");
+        }
+        r.requestId = in.getLong();
+        r.status = in.get();
+        r.value = in.getDouble();
+        return r;
+    }
+
+    // True when receive() can return without touching the socket.
+    public boolean hasBufferedResponse() {
+        return in.remaining() >= Protocol.RESPONSE_FRAME;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
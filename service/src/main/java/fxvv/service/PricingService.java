@@ -0,0 +1,411 @@
+package main.java.fxvv.service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.portfolio.TradeType;
+import main.java.fxvv.pricer.SmilePricer;
+
+// Serves a SmilePricer over a local TCP socket (framing in Protocol) for a fixed table of slices addressed by
+// index. One selector thread does all socket reads; decoded requests go through one bounded queue to the
+// pricing workers, which drain up to maxBatch requests at a time, group them by (slice, kind) and price each
+// group with a single batch call, so concurrent requests for the same slice share the slice cache work.
+//
+// Backpressure: when the queue is full, or a connection has more than OUTBOUND_LIMIT response bytes its
+// client has not read, the selector stops reading from that connection until the condition clears; TCP flow
+// control then pushes back on the client instead of requests piling up in memory.
+public class PricingService implements AutoCloseable {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    static final int OUTBOUND_LIMIT = 1 << 20;
+    private static final int INBOUND_BUFFER = 1 << 16;
+
+    private final SmilePricer pricer;
+    private final MarketSlice[] slices;
+    private final int workers;
+    private final int maxBatch;
+    private final BlockingQueue<Request> queue;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder priced = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder pricerCalls = new LongAdder();
+    private final LongAdder pauses = new LongAdder();
+
+    // Written by workers, drained by the selector thread.
+    private final ConcurrentLinkedQueue<Connection> writeInterest = new ConcurrentLinkedQueue<>();
+    // Selector thread only; pausedCount mirrors its size for the workers.
+    private final ArrayDeque<Connection> paused = new ArrayDeque<>();
+    private volatile int pausedCount;
+
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread ioThread;
+    private Thread[] workerThreads;
+    private volatile boolean running;
+
+    public PricingService(SmilePricer pricer, MarketSlice[] slices) {
+        this(pricer, slices, Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    public PricingService(SmilePricer pricer, MarketSlice[] slices, int workers, int queueCapacity, int maxBatch) {
+        if (workers <= 0 || queueCapacity <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("PricingService: workers, queue capacity and batch size must be positive.");
+        }
+        this.pricer = pricer;
+        this.slices = slices.clone();
+        this.workers = workers;
+        this.maxBatch = maxBatch;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // Binds and starts the selector and worker threads; returns the bound port (useful with port 0).
+    public synchronized int start(InetSocketAddress address) throws IOException {
+        if (running) throw new IllegalStateException("PricingService: already started.");
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+
+        workerThreads = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            workerThreads[i] = new Thread(this::workLoop, "fxvv-pricing-" + i);
+            workerThreads[i].setDaemon(true);
+            workerThreads[i].start();
+        }
+        ioThread = new Thread(this::ioLoop, "fxvv-pricing-io");
+        ioThread.setDaemon(true);
+        ioThread.start();
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        selector.wakeup();
+        for (Thread t : workerThreads) t.interrupt();
+        try {
+            ioThread.join(1000);
+            for (Thread t : workerThreads) t.join(1000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) closeQuietly(key);
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    public ServiceStats stats() {
+        return new ServiceStats(requests.sum(), rejected.sum(), priced.sum(), batches.sum(), pricerCalls.sum(),
+                pauses.sum(), latency.quantile(0.50), latency.quantile(0.99), latency.max());
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public void resetStats() {
+        latency.reset();
+        requests.reset();
+        rejected.reset();
+        priced.reset();
+        batches.reset();
+        pricerCalls.reset();
+        pauses.reset();
+    }
+
+    // ---- selector thread ----
+
+    private void ioLoop() {
+        try {
+            while (running) {
+                selector.select();
+                for (Connection c; (c = writeInterest.poll()) != null; ) {
+                    if (c.key.isValid()) c.key.interestOps(c.key.interestOps() | SelectionKey.OP_WRITE);
+                }
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection c = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) read(c);
+                        if (key.isValid() && key.isWritable() && !c.flush()) {
+                            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                        }
+                    } catch (IOException ex) {
+                        closeQuietly(key);
+                    }
+                }
+                if (!paused.isEmpty()) resumePaused();
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            running = false;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch;
+        while ((ch = server.accept()) != null) {
+            ch.configureBlocking(false);
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection c = new Connection(ch);
+            c.key = ch.register(selector, SelectionKey.OP_READ, c);
+        }
+    }
+
+    private void read(Connection c) throws IOException {
+        int n = c.channel.read(c.in);
+        if (n < 0) {
+            closeQuietly(c.key);
+            return;
+        }
+        drainInbound(c);
+    }
+
+    // Decodes buffered frames until the buffer runs dry or the connection has to pause.
+    private void drainInbound(Connection c) throws IOException {
+        ByteBuffer in = c.in;
+        in.flip();
+        try {
+            while (in.remaining() >= 4) {
+                int length = in.getInt(in.position());
+                if (length != Protocol.REQUEST_PAYLOAD) {
+                    throw new IOException("PricingService: bad frame length " + length + ".");
+                }
+                if (in.remaining() < 4 + length) break;
+                if (c.outboundBytes() > OUTBOUND_LIMIT) {
+                    pause(c);
+                    return;
+                }
+                in.getInt();
+                long id = in.getLong();
+                TradeType kind = Protocol.kind(in.get());
+                int slice = in.getInt();
+                double strike = in.getDouble();
+                requests.increment();
+
+                byte status = (kind == null || !(strike > 0.0)) ? Protocol.BAD_REQUEST
+                        : (slice < 0 || slice >= slices.length) ? Protocol.UNKNOWN_SLICE : Protocol.OK;
+                if (status != Protocol.OK) {
+                    rejected.increment();
+                    c.respond(id, status, Double.NaN);
+                    if (c.flush()) c.key.interestOps(c.key.interestOps() | SelectionKey.OP_WRITE); // selector thread
+                    continue;
+                }
+                Request r = new Request(c, id, kind, slice, strike, System.nanoTime());
+                if (!queue.offer(r)) {
+                    c.pending = r;
+                    pause(c);
+                    return;
+                }
+            }
+        } finally {
+            in.compact();
+        }
+    }
+
+    private void pause(Connection c) {
+        if (c.paused) return;
+        c.paused = true;
+        c.key.interestOps(c.key.interestOps() & ~SelectionKey.OP_READ);
+        paused.add(c);
+        pausedCount = paused.size();
+        pauses.increment();
+    }
+
+    private void resumePaused() {
+        for (int i = paused.size(); i > 0; i--) {
+            Connection c = paused.poll();
+            if (!c.key.isValid()) continue;
+            boolean ready = c.outboundBytes() <= OUTBOUND_LIMIT && (c.pending == null || queue.offer(c.pending));
+            if (!ready) {
+                paused.add(c);
+                continue;
+            }
+            c.pending = null;
+            c.paused = false;
+            try {
+                drainInbound(c);
+            } catch (IOException ex) {
+                closeQuietly(c.key);
+                continue;
+            }
+            if (!c.paused) c.key.interestOps(c.key.interestOps() | SelectionKey.OP_READ);
+        }
+        pausedCount = paused.size();
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    // ---- pricing workers ----
+
+    private static final Comparator<Request> BY_SLICE_AND_KIND =
+            Comparator.<Request>comparingInt(r -> r.slice).thenComparingInt(r -> r.kind.ordinal());
+
+    private void workLoop() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        Map<Connection, Boolean> touched = new IdentityHashMap<>();
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            if (pausedCount > 0) selector.wakeup(); // queue space for paused connections
+            batches.increment();
+
+            batch.sort(BY_SLICE_AND_KIND);
+            for (int from = 0; from < batch.size(); ) {
+                Request head = batch.get(from);
+                int to = from + 1;
+                while (to < batch.size() && batch.get(to).slice == head.slice && batch.get(to).kind == head.kind) to++;
+                int n = to - from;
+
+                double[] k = new double[n];
+                double[] v = new double[n];
+                for (int i = 0; i < n; i++) k[i] = batch.get(from + i).strike;
+                byte status = price(head.kind, slices[head.slice], k, v);
+                pricerCalls.increment();
+                priced.add(n);
+
+                long now = System.nanoTime();
+                for (int i = 0; i < n; i++) {
+                    Request r = batch.get(from + i);
+                    r.connection.respond(r.id, status, (status == Protocol.OK) ? v[i] : Double.NaN);
+                    latency.record(now - r.receivedNanos);
+                    touched.put(r.connection, Boolean.TRUE);
+                }
+                from = to;
+            }
+            batch.clear();
+
+            for (Connection c : touched.keySet()) {
+                try {
+                    if (c.flush()) {
+                        writeInterest.add(c);
+                        selector.wakeup();
+                    }
+                } catch (IOException ex) {
+                    closeQuietly(c.key);
+                }
+            }
+            touched.clear();
+            if (pausedCount > 0) selector.wakeup(); // flushed connections may be under OUTBOUND_LIMIT again
+        }
+    }
+
+    private byte price(TradeType kind, MarketSlice slice, double[] strikes, double[] out) {
+        try {
+            switch (kind) {
+                case CALL: pricer.priceVanilla(slice, true, strikes, out); break;
+                case PUT: pricer.priceVanilla(slice, false, strikes, out); break;
+                case DIGITAL_CALL: pricer.priceDigitalCall(slice, strikes, out); break;
+                default: pricer.priceDigitalPut(slice, strikes, out); break;
+            }
+            return Protocol.OK;
+        } catch (RuntimeException ex) {
+            return Protocol.PRICING_FAILED;
+        }
+    }
+
+    private static final class Request {
+        final Connection connection;
+        final long id;
+        final TradeType kind;
+        final int slice;
+        final double strike;
+        final long receivedNanos;
+
+        Request(Connection connection, long id, TradeType kind, int slice, double strike, long receivedNanos) {
+            this.connection = connection;
+            this.id = id;
+            this.kind = kind;
+            this.slice = slice;
+            this.strike = strike;
+            this.receivedNanos = receivedNanos;
+        }
+    }
+
+    // Inbound state is selector-thread only; the outbound buffer is shared with the workers under its lock.
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocateDirect(INBOUND_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        private ByteBuffer out = ByteBuffer.allocate(INBOUND_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        SelectionKey key;
+        Request pending;
+        boolean paused;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        synchronized void respond(long id, byte status, double value) {
+            if (out.remaining() < Protocol.RESPONSE_FRAME) {
+                ByteBuffer grown = ByteBuffer.allocate(out.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN);
+                out.flip();
+                grown.put(out);
+                out = grown;
+            }
+            Protocol.putResponse(out, id, status, value);
+        }
+
+        synchronized int outboundBytes() {
+            return out.position();
+        }
+
+        // Writes what the socket takes; true when bytes are left over and OP_WRITE is needed.
+        synchronized boolean flush() throws IOException {
+            if (out.position() == 0) return false;
+            out.flip();
+            try {
+                while (out.hasRemaining() && channel.write(out) > 0) { }
+                return out.hasRemaining();
+            } finally {
+                out.compact();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package main.java.fxvv.service;
+
+import java.nio.ByteBuffer;
+import main.java.fxvv.portfolio.TradeType;
+
+// Little-endian framing over a stream socket; every frame is an int payload length followed by the payload.
+//   request  : long requestId, byte kind (TradeType ordinal), int sliceId, double strike
+//   response : long requestId, byte status, double value (NaN unless status == OK)
+// Request ids are opaque to the server and echoed back; responses can arrive out of request order.
+final class Protocol {
+
+    static final byte OK = 0;
+    static final byte UNKNOWN_SLICE = 1;
+    static final byte BAD_REQUEST = 2;    // unknown kind or non-positive strike
+    static final byte PRICING_FAILED = 3;
+
+    static final int REQUEST_PAYLOAD = 8 + 1 + 4 + 8;
+    static final int RESPONSE_PAYLOAD = 8 + 1 + 8;
+    static final int REQUEST_FRAME = 4 + REQUEST_PAYLOAD;
+    static final int RESPONSE_FRAME = 4 + RESPONSE_PAYLOAD;
+
+    private static final TradeType[] KINDS = TradeType.values();
+
+    private Protocol() {}
+
+    static TradeType kind(byte ordinal) {
+        return (ordinal >= 0 && ordinal < KINDS.length) ? KINDS[ordinal] : null;
+    }
+
+    static void putRequest(ByteBuffer b, long requestId, TradeType kind, int sliceId, double strike) {
+        b.putInt(REQUEST_PAYLOAD).putLong(requestId).put((byte) kind.ordinal()).putInt(sliceId).putDouble(strike);
+    }
+
+    static void putResponse(ByteBuffer b, long requestId, byte status, double value) {
+        b.putInt(RESPONSE_PAYLOAD).putLong(requestId).put(status).putDouble(value);
+    }
+}
@@ -0,0 +1,66 @@
+package main.java.fxvv.service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.pricer.SmilePricer;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+
+// Runs a PricingService on localhost over the demo slice table until killed, printing server stats for
+// the last interval (counter deltas, and latency quantiles of the histogram reset each interval) every
+// few seconds.
+// Usage: ServiceMain [PORT] [WORKERS]
+public class ServiceMain {
+
+    public static final int DEFAULT_PORT = 7471;
+
+    private static final double[] DEMO_EXPIRIES = {7.0 / 365.0, 1.0 / 12.0, 0.25, 0.5, 1.0, 2.0};
+    private static final long REPORT_MILLIS = 5000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = (args.length > 1) ? Integer.parseInt(args[1])
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        MarketSlice[] slices = demoSlices();
+        try (PricingService service = new PricingService(demoPricer(), slices, workers,
+                PricingService.DEFAULT_QUEUE_CAPACITY, PricingService.DEFAULT_MAX_BATCH)) {
+            int bound = service.start(new InetSocketAddress("127.0.0.1", port));
+            System.out.printf("Pricing service on 127.0.0.1:%d, %d workers%n", bound, workers);
+            for (int i = 0; i < slices.length; i++) {
+                System.out.printf("  slice %d: T=%.4f F=%.6f%n", i, slices[i].T, slices[i].F);
+            }
+            ServiceStats previous = service.stats();
+            while (true) {
+                Thread.sleep(REPORT_MILLIS);
+                ServiceStats stats = service.stats();
+                service.latency().reset();
+                System.out.println("last " + REPORT_MILLIS / 1000 + "s: " + stats.since(previous));
+                previous = stats;
+            }
+        }
+    }
+
+    // EUR/USD-like smile at six expiries; slice ids are array indices.
+    public static MarketSlice[] demoSlices() {
+        GKBlackScholes bs = new GKBlackScholes(new CodyNormal());
+        MarketSliceBuilder builder = new MarketSliceBuilder(bs, new NewtonRootFinder(), DeltaConvention.SPOT_PREM_EXCLUDED);
+        MarketSlice[] slices = new MarketSlice[DEMO_EXPIRIES.length];
+        for (int i = 0; i < slices.length; i++) {
+            double T = DEMO_EXPIRIES[i];
+            slices[i] = builder.build(1.0850, 0.03, 0.02, new SmileQuote(T, 0.10 + 0.005 * i, -0.02, 0.01));
+        }
+        return slices;
+    }
+
+    public static SmilePricer demoPricer() {
+        return new VannaVolgaPricer(new GKBlackScholes(new CodyNormal()), new GaussianElimination3());
+    }
+}
@@ -0,0 +1,52 @@
+package main.java.fxvv.service;
+
+// Point-in-time counters of a PricingService. Latencies are server-side, from request decode to the response
+// being queued on its connection, in nanoseconds.
+public final class ServiceStats {
+
+    public final long requests;
+    public final long rejected;    // answered without pricing: unknown slice or bad request
+    public final long priced;
+    public final long batches;     // queue drains by a worker
+    public final long pricerCalls; // SmilePricer batch calls, one per (slice, kind) group in a batch
+    public final long pauses;      // reads paused for backpressure
+    public final long p50Nanos;
+    public final long p99Nanos;
+    public final long maxNanos;
+
+    ServiceStats(long requests, long rejected, long priced, long batches, long pricerCalls, long pauses,
+                 long p50Nanos, long p99Nanos, long maxNanos) {
+        this.requests = requests;
+        this.rejected = rejected;
+        this.priced = priced;
+        this.batches = batches;
+        this.pricerCalls = pricerCalls;
+        this.pauses = pauses;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    // Counter deltas since earlier (a previous stats() of the same service); latencies are this snapshot's.
+    public ServiceStats since(ServiceStats earlier) {
+        return new ServiceStats(requests - earlier.requests, rejected - earlier.rejected, priced - earlier.priced,
+                batches - earlier.batches, pricerCalls - earlier.pricerCalls, pauses - earlier.pauses,
+                p50Nanos, p99Nanos, maxNanos);
+    }
+
+    public double requestsPerBatch() {
+        return (batches == 0) ? 0.0 : (double) priced / batches;
+    }
+
+    public double requestsPerPricerCall() {
+        return (pricerCalls == 0) ? 0.0 : (double) priced / pricerCalls;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d priced=%d rejected=%d batches=%d (%.1f req/batch, %.1f req/pricer call) "
+                        + "pauses=%d server p50=%.1fus p99=%.1fus max=%.1fus",
+                requests, priced, rejected, batches, requestsPerBatch(), requestsPerPricerCall(), pauses,
+                p50Nanos / 1e3, p99Nanos / 1e3, maxNanos / 1e3);
+    }
+}
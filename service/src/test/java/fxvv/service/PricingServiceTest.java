@@ -0,0 +1,134 @@
+package test.java.fxvv.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.portfolio.TradeType;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+import main.java.fxvv.service.PricingClient;
+import main.java.fxvv.service.PricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// End-to-end framing through PricingClient against an embedded PricingService on an ephemeral port.
+class PricingServiceTest {
+
+    private static final byte OK = 0;
+    private static final byte UNKNOWN_SLICE = 1;
+    private static final byte BAD_REQUEST = 2;
+
+    private final GKBlackScholes bs = new GKBlackScholes(new CodyNormal());
+    private final VannaVolgaPricer pricer = new VannaVolgaPricer(bs, new GaussianElimination3());
+    private MarketSlice[] slices;
+    private PricingService service;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void start() throws IOException {
+        MarketSliceBuilder builder = new MarketSliceBuilder(bs, new NewtonRootFinder(),
+                DeltaConvention.SPOT_PREM_EXCLUDED);
+        slices = new MarketSlice[]{
+                builder.build(1.085, 0.03, 0.02, new SmileQuote(0.25, 0.09, -0.015, 0.004)),
+                builder.build(1.085, 0.03, 0.02, new SmileQuote(1.0, 0.10, -0.02, 0.005))};
+        service = new PricingService(pricer, slices, 2, 64, 16);
+        address = new InetSocketAddress("127.0.0.1", service.start(new InetSocketAddress("127.0.0.1", 0)));
+    }
+
+    @AfterEach
+    void stop() {
+        service.close();
+    }
+
+    @Test
+    void responsesRoundTripWithTheirStatus() throws IOException {
+        TradeType[] kinds = TradeType.values();
+        Map<Long, double[]> expected = new HashMap<>(); // id -> {status, value}
+        try (PricingClient client = new PricingClient(address)) {
+            long id = 0;
+            for (int slice = 0; slice < slices.length; slice++) {
+                for (int i = 0; i < 20; i++) {
+                    TradeType kind = kinds[i % kinds.length];
+                    double K = slices[slice].F * (0.9 + 0.01 * i);
+                    client.send(++id, kind, slice, K);
+                    expected.put(id, new double[]{OK, price(kind, slices[slice], K)});
+                }
+            }
+            client.send(++id, TradeType.CALL, slices.length, 1.1);
+            expected.put(id, new double[]{UNKNOWN_SLICE, Double.NaN});
+            client.send(++id, TradeType.PUT, -1, 1.1);
+            expected.put(id, new double[]{UNKNOWN_SLICE, Double.NaN});
+            client.send(++id, TradeType.CALL, 0, 0.0);
+            expected.put(id, new double[]{BAD_REQUEST, Double.NaN});
+            client.send(++id, TradeType.DIGITAL_PUT, 1, Double.NaN);
+            expected.put(id, new double[]{BAD_REQUEST, Double.NaN});
+            client.flush();
+
+            PricingClient.Response r = new PricingClient.Response();
+            for (int n = expected.size(); n > 0; n--) {
+                client.receive(r);
+                double[] e = expected.remove(r.requestId);
+                assertTrue(e != null, "unexpected or repeated request id " + r.requestId);
+                assertEquals((byte) e[0], r.status, "status of request " + r.requestId);
+                assertEquals(e[1], r.value, "value of request " + r.requestId);
+            }
+        }
+        assertEquals(4, service.stats().rejected);
+    }
+
+    @Test
+    void badFrameLengthClosesOnlyThatConnection() throws IOException {
+        try (PricingClient healthy = new PricingClient(address);
+             SocketChannel rogue = SocketChannel.open(address)) {
+            ByteBuffer frame = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            frame.putInt(7).putLong(42L).putInt(0).flip();
+            while (frame.hasRemaining()) rogue.write(frame);
+
+            ByteBuffer in = ByteBuffer.allocate(64);
+            assertEquals(-1, rogue.read(in), "server should close the connection");
+
+            PricingClient.Response r = new PricingClient.Response();
+            healthy.send(1L, TradeType.CALL, 0, 1.1);
+            healthy.flush();
+            healthy.receive(r);
+            assertEquals(1L, r.requestId);
+            assertEquals(OK, r.status);
+            assertEquals(price(TradeType.CALL, slices[0], 1.1), r.value);
+        }
+
+        // New connections are still accepted.
+        try (PricingClient later = new PricingClient(address)) {
+            later.send(2L, TradeType.PUT, 1, 1.05);
+            later.flush();
+            assertEquals(OK, later.receive(new PricingClient.Response()).status);
+        }
+    }
+
+    // Through the batch methods the service prices with.
+    private double price(TradeType kind, MarketSlice slice, double K) {
+        double[] k = {K};
+        double[] v = new double[1];
+        switch (kind) {
+            case CALL: pricer.priceVanilla(slice, true, k, v); break;
+            case PUT: pricer.priceVanilla(slice, false, k, v); break;
+            case DIGITAL_CALL: pricer.priceDigitalCall(slice, k, v); break;
+            default: pricer.priceDigitalPut(slice, k, v); break;
+        }
+        return v[0];
+    }
+}
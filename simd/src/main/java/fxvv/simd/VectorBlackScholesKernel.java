@@ -0,0 +1,77 @@
+package main.java.fxvv.simd;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import main.java.fxvv.bs.BlackScholesKernel;
+import main.java.fxvv.bs.ScalarBlackScholesKernel;
+import main.java.fxvv.numerics.NormalDist;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.HornerAbramowitzStegunNormal;
+
+// GK batch pricing over SPECIES_PREFERRED lanes. Puts use the sign trick
+// V = s (fwd N(s d1) - strike N(s d2)) with s = -1, so calls and puts share one lane pass; the
+// last partial vector is masked. Expiry (T <= 0) falls back to the scalar intrinsic loop.
+public final class VectorBlackScholesKernel implements BlackScholesKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final VectorNormal normal;
+    private final ScalarBlackScholesKernel tail;
+    private final String name;
+
+    private VectorBlackScholesKernel(VectorNormal normal, NormalDist scalar, String name) {
+        this.normal = normal;
+        this.tail = new ScalarBlackScholesKernel(scalar);
+        this.name = name;
+    }
+
+    // Null for distributions without a lane-wise counterpart that agrees with the scalar CDF to a few ulps:
+    // TabulatedNormal, and the baseline AbramowitzStegunNormal, whose Math.pow form differs by ~1e-12.
+    public static VectorBlackScholesKernel create(NormalDist normal) {
+        if (SPECIES.length() < 2) return null;
+        if (normal instanceof HornerAbramowitzStegunNormal) {
+            return new VectorBlackScholesKernel(new VectorNormal(VectorNormal.Kind.ABRAMOWITZ_STEGUN, SPECIES),
+                    normal, "vector-as-" + SPECIES.length());
+        }
+        if (normal instanceof CodyNormal) {
+            return new VectorBlackScholesKernel(new VectorNormal(VectorNormal.Kind.CODY, SPECIES),
+                    normal, "vector-cody-" + SPECIES.length());
+        }
+        return null;
+    }
+
+    @Override
+    public void priceStrikes(boolean isCall, boolean otm, double F, double DFd, double T, double sigma,
+                             double[] strikes, double[] out) {
+        int n = strikes.length;
+        if (T <= 0.0) {
+            tail.priceStrikes(isCall, otm, F, DFd, T, sigma, strikes, out);
+            return;
+        }
+
+        double vs = sigma * Math.sqrt(T);
+        double fwd = DFd * F;
+        DoubleVector forward = DoubleVector.broadcast(SPECIES, F);
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        DoubleVector sign = isCall ? one : one.neg();
+
+        for (int i = 0; i < n; i += SPECIES.length()) {
+            // inactive lanes of the last vector price K = F and are never stored
+            VectorMask<Double> active = SPECIES.indexInRange(i, n);
+            DoubleVector K = forward.blend(DoubleVector.fromArray(SPECIES, strikes, i, active), active);
+            DoubleVector s = otm ? one.neg().blend(one, K.compare(VectorOperators.GE, F)) : sign;
+            DoubleVector d1 = forward.div(K).lanewise(VectorOperators.LOG).div(vs).add(0.5 * vs);
+            DoubleVector d2 = d1.sub(vs);
+            DoubleVector price = normal.cdf(d1.mul(s)).mul(fwd)
+                    .sub(normal.cdf(d2.mul(s)).mul(K.mul(DFd)));
+            price.mul(s).intoArray(out, i, active);
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+}
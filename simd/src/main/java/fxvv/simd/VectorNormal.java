@@ -0,0 +1,139 @@
+package main.java.fxvv.simd;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Lane-wise normal CDFs mirroring the scalar tiers: the Abramowitz-Stegun polynomial (as in
+// HornerAbramowitzStegunNormal) and Cody's erfc (as in CodyNormal). Cody's three ranges are computed
+// as masked blends, each only when some lane falls in it.
+final class VectorNormal {
+
+    enum Kind { ABRAMOWITZ_STEGUN, CODY }
+
+    private static final double INV_SQRT_2PI = 0.3989422804014327;
+    private static final double INV_SQRT_2 = 0.7071067811865476;
+    private static final double INV_SQRT_PI = 0.5641895835477563;
+    private static final double X_BIG = 26.543;
+    private static final double TWO_52 = 4503599627370496.0;
+
+    private static final double P = 0.2316419;
+    private static final double A1 = 0.319381530;
+    private static final double A2 = -0.356563782;
+    private static final double A3 = 1.781477937;
+    private static final double A4 = -1.821255978;
+    private static final double A5 = 1.330274429;
+
+    // Cody coefficients, identical to CodyNormal.
+    private static final double[] A = {
+            3.16112374387056560e00, 1.13864154151050156e02, 3.77485237685302021e02,
+            3.20937758913846947e03, 1.85777706184603153e-1
+    };
+    private static final double[] B = {
+            2.36012909523441209e01, 2.44024637934444173e02, 1.28261652607737228e03,
+            2.84423683343917062e03
+    };
+    private static final double[] C = {
+            5.64188496988670089e-1, 8.88314979438837594e00, 6.61191906371416295e01,
+            2.98635138197400131e02, 8.81952221241769090e02, 1.71204761263407058e03,
+            2.05107837782607147e03, 1.23033935479799725e03, 2.15311535474403846e-8
+    };
+    private static final double[] D = {
+            1.57449261107098347e01, 1.17693950891312499e02, 5.37181101862009858e02,
+            1.62138957456669019e03, 3.29079923573345963e03, 4.36261909014324716e03,
+            3.43936767414372164e03, 1.23033935480374942e03
+    };
+    private static final double[] PT = {
+            3.05326634961232344e-1, 3.60344899949804439e-1, 1.25781726111229246e-1,
+            1.60837851487422766e-2, 6.58749161529837803e-4, 1.63153871373020978e-2
+    };
+    private static final double[] QT = {
+            2.56852019228982242e00, 1.87295284992346725e00, 5.27905102951428412e-1,
+            6.05183413124413191e-2, 2.33520497626869185e-3
+    };
+
+    private final Kind kind;
+    private final VectorSpecies<Double> species;
+
+    VectorNormal(Kind kind, VectorSpecies<Double> species) {
+        this.kind = kind;
+        this.species = species;
+    }
+
+    DoubleVector cdf(DoubleVector x) {
+        return (kind == Kind.CODY) ? codyCdf(x) : asCdf(x);
+    }
+
+    private DoubleVector asCdf(DoubleVector x) {
+        DoubleVector L = x.abs();
+        DoubleVector k = L.mul(P).add(1.0);
+        k = DoubleVector.broadcast(species, 1.0).div(k);
+        DoubleVector poly = k.mul(A5).add(A4).mul(k).add(A3).mul(k).add(A2).mul(k).add(A1).mul(k);
+        DoubleVector tail = L.mul(L).mul(-0.5).lanewise(VectorOperators.EXP).mul(INV_SQRT_2PI).mul(poly);
+        DoubleVector upper = tail.neg().add(1.0);
+        return upper.blend(tail, x.compare(VectorOperators.LT, 0.0));
+    }
+
+    // N(x) = 0.5 * erfc(-x / sqrt(2))
+    private DoubleVector codyCdf(DoubleVector x) {
+        return erfc(x.mul(-INV_SQRT_2)).mul(0.5);
+    }
+
+    private DoubleVector erfc(DoubleVector z) {
+        DoubleVector y = z.abs();
+        VectorMask<Double> central = y.compare(VectorOperators.LE, 0.46875);
+        VectorMask<Double> tail = y.compare(VectorOperators.GT, 4.0);
+        VectorMask<Double> middle = central.or(tail).not();
+
+        DoubleVector result = DoubleVector.zero(species);
+        if (middle.anyTrue()) {
+            DoubleVector num = y.mul(C[8]);
+            DoubleVector den = y;
+            for (int i = 0; i < 7; i++) {
+                num = num.add(C[i]).mul(y);
+                den = den.add(D[i]).mul(y);
+            }
+            result = result.blend(num.add(C[7]).div(den.add(D[7])), middle);
+        }
+        if (tail.anyTrue()) {
+            DoubleVector yt = y.min(X_BIG);
+            DoubleVector ysq = DoubleVector.broadcast(species, 1.0).div(yt.mul(yt));
+            DoubleVector num = ysq.mul(PT[5]);
+            DoubleVector den = ysq;
+            for (int i = 0; i < 4; i++) {
+                num = num.add(PT[i]).mul(ysq);
+                den = den.add(QT[i]).mul(ysq);
+            }
+            DoubleVector r = ysq.mul(num.add(PT[4])).div(den.add(QT[4]));
+            r = r.neg().add(INV_SQRT_PI).div(yt);
+            r = r.blend(0.0, y.compare(VectorOperators.GE, X_BIG));
+            result = result.blend(r, tail);
+        }
+        if (!central.allTrue()) {
+            // exp(-y^2) split to keep the exponent exact; floor(16 y) via the 2^52 rounding trick
+            DoubleVector y16 = y.min(X_BIG).mul(16.0);
+            DoubleVector rounded = y16.add(TWO_52).sub(TWO_52);
+            rounded = rounded.sub(DoubleVector.broadcast(species, 1.0), rounded.compare(VectorOperators.GT, y16));
+            DoubleVector ysq = rounded.mul(1.0 / 16.0);
+            DoubleVector del = y.sub(ysq).mul(y.add(ysq));
+            DoubleVector scale = ysq.mul(ysq).neg().lanewise(VectorOperators.EXP)
+                    .mul(del.neg().lanewise(VectorOperators.EXP));
+            result = result.mul(scale);
+            result = result.blend(result.neg().add(2.0), z.compare(VectorOperators.LT, 0.0));
+        }
+        if (central.anyTrue()) {
+            // erf on the central region, erfc = 1 - erf
+            DoubleVector ysq = y.mul(y);
+            DoubleVector num = ysq.mul(A[4]);
+            DoubleVector den = ysq;
+            for (int i = 0; i < 3; i++) {
+                num = num.add(A[i]).mul(ysq);
+                den = den.add(B[i]).mul(ysq);
+            }
+            DoubleVector erf = z.mul(num.add(A[3])).div(den.add(B[3]));
+            result = result.blend(erf.neg().add(1.0), central);
+        }
+        return result;
+    }
+}
@@ -5,12 +5,13 @@ import main.java.fxvv.conventions.DeltaConvention;
 import main.java.fxvv.market.MarketSlice;
 import main.java.fxvv.market.MarketSliceBuilder;
 import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.metrics.PricingMetrics;
 import main.java.fxvv.numerics.LinearSolver;
 import main.java.fxvv.numerics.NormalDist;
 import main.java.fxvv.numerics.RootFinder;
-import main.java.fxvv.numerics.impl.AbramowitzStegunNormal;
-import main.java.fxvv.numerics.impl.BisectionRootFinder;
 import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.numerics.impl.NormalDistTier;
 import main.java.fxvv.pricer.SmilePricer;
 import main.java.fxvv.pricer.VannaVolgaPricer;
 
@@ -27,8 +28,9 @@ public class Main {
         double bf25 = 0.01;
 
         // --- Plug components here ---
-        NormalDist normal = new AbramowitzStegunNormal();
-        RootFinder rootFinder = new BisectionRootFinder();
+        NormalDistTier normalTier = parseNormalDistTier(args);
+        NormalDist normal = normalTier.create();
+        RootFinder rootFinder = new NewtonRootFinder();
         LinearSolver solver3 = new GaussianElimination3();
         DeltaConvention conv = parseDeltaConvention(args);
 
@@ -39,6 +41,7 @@ public class Main {
         SmilePricer pricer = new VannaVolgaPricer(bs, solver3);
 
         System.out.printf("Delta convention: %s%n", conv);
+        System.out.printf("Normal CDF: %s%n", normalTier);
         System.out.printf("MarketSlice(T=%.4f)%n", slice.T);
         System.out.printf("S=%.6f rd=%.4f rf=%.4f%n", slice.S, slice.rd, slice.rf);
         System.out.printf("sigmaATM=%.4f sigma25P=%.4f sigma25C=%.4f%n", slice.sigmaATM, slice.sigma25P, slice.sigma25C);
@@ -54,6 +57,10 @@ public class Main {
         System.out.printf("VV Put  (K=%.4f): %.8f%n", K, vvPut);
         System.out.printf("VV Digital Call (K=%.4f): %.8f%n", K, dCall);
         System.out.printf("VV Digital Put  (K=%.4f): %.8f%n", K, dPut);
+
+        if (PricingMetrics.ENABLED) {
+            System.out.printf("%n%s", PricingMetrics.snapshot());
+        }
     }
 
     private static DeltaConvention parseDeltaConvention(String[] args) {
@@ -73,4 +80,22 @@ public class Main {
             );
         }
     }
+
+    private static NormalDistTier parseNormalDistTier(String[] args) {
+        if (args == null || args.length < 2 || args[1] == null || args[1].trim().isEmpty()) {
+            return NormalDistTier.ABRAMOWITZ_STEGUN;
+        }
+
+        String raw = args[1].trim();
+        String normalized = raw.toUpperCase().replace('-', '_');
+        try {
+            return NormalDistTier.valueOf(normalized);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(
+                    "Unknown normal CDF tier '" + raw + "'. Supported: "
+                            + "ABRAMOWITZ_STEGUN, ABRAMOWITZ_STEGUN_HORNER, CODY, TABULATED.",
+                    ex
+            );
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package main.java.fxvv.bs;
+
+// Batch GK pricing across strikes at one vol, in forward space. Implementations: the scalar loop in
+// ScalarBlackScholesKernel and, when the optional simd module and jdk.incubator.vector are present,
+// a Vector API kernel; BlackScholesKernels picks one.
+public interface BlackScholesKernel {
+
+    // out[i] = price at strikes[i]. With otm, calls for strikes at or above F and puts below; otherwise
+    // isCall throughout.
+    void priceStrikes(boolean isCall, boolean otm, double F, double DFd, double T, double sigma,
+                      double[] strikes, double[] out);
+
+    String name();
+}
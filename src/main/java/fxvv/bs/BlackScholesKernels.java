@@ -0,0 +1,36 @@
+package main.java.fxvv.bs;
+
+import main.java.fxvv.numerics.NormalDist;
+
+// Picks the batch kernel for a NormalDist. The Vector API kernel lives in the separate simd module
+// (compiled with --add-modules jdk.incubator.vector) and is loaded reflectively, so the core library
+// has no incubator dependency; it is used only when the module is resolved at runtime, the simd
+// classes are on the class path, it supports the given NormalDist, and -Dfxvv.simd is not false.
+public final class BlackScholesKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "main.java.fxvv.simd.VectorBlackScholesKernel";
+
+    private BlackScholesKernels() {}
+
+    public static BlackScholesKernel select(NormalDist normal) {
+        BlackScholesKernel vector = vectorKernel(normal);
+        return (vector != null) ? vector : new ScalarBlackScholesKernel(normal);
+    }
+
+    public static boolean vectorAvailable() {
+        return !"false".equalsIgnoreCase(System.getProperty("fxvv.simd"))
+                && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    // The simd kernel exposes a static create(NormalDist) returning null for unsupported distributions.
+    private static BlackScholesKernel vectorKernel(NormalDist normal) {
+        if (!vectorAvailable()) return null;
+        try {
+            Class<?> type = Class.forName(VECTOR_KERNEL);
+            return (BlackScholesKernel) type.getMethod("create", NormalDist.class).invoke(null, normal);
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return null;
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package main.java.fxvv.bs;
 
 import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.metrics.PricingMetrics;
 import main.java.fxvv.numerics.NormalDist;
 
 public class GKBlackScholes {
 
     private final NormalDist N;
+    private final BlackScholesKernel kernel;
 
     public GKBlackScholes(NormalDist normal) {
+        this(normal, BlackScholesKernels.select(normal));
+    }
+
+    public GKBlackScholes(NormalDist normal, BlackScholesKernel kernel) {
         this.N = normal;
+        this.kernel = kernel;
+    }
+
+    public NormalDist normal() {
+        return N;
+    }
+
+    public BlackScholesKernel kernel() {
+        return kernel;
     }
 
     public static double forward(double S, double rd, double rf, double T) {
@@ -20,6 +35,7 @@ public class GKBlackScholes {
     }
 
     public double price(boolean isCall, double S, double K, double T, double rd, double rf, double sigma) {
+        PricingMetrics.increment(PricingMetrics.Counter.BS_PRICE);
         if (T <= 0.0) return isCall ? Math.max(S - K, 0.0) : Math.max(K - S, 0.0);
 
         double F = forward(S, rd, rf, T);
@@ -33,6 +49,81 @@ public class GKBlackScholes {
         return DFd * (K * N.cdf(-d2) - F * N.cdf(-d1));
     }
 
+    // Forward-space price for callers that already hold F = forward(S, rd, rf, T) and DFd = df(rd, T).
+    public double priceForward(boolean isCall, double F, double DFd, double K, double T, double sigma) {
+        PricingMetrics.increment(PricingMetrics.Counter.BS_PRICE);
+        if (T <= 0.0) return isCall ? Math.max(F - K, 0.0) : Math.max(K - F, 0.0);
+
+        double vs = sigma * Math.sqrt(T);
+        double d1 = Math.log(F / K) / vs + 0.5 * vs;
+        double d2 = d1 - vs;
+
+        if (isCall) return DFd * (F * N.cdf(d1) - K * N.cdf(d2));
+        return DFd * (K * N.cdf(-d2) - F * N.cdf(-d1));
+    }
+
+    // Fused kernel: one strike, several vols. log(F/K) and sqrt(T) are evaluated once; out[i] prices sigmas[i].
+    public double[] priceVols(boolean isCall, double F, double DFd, double K, double T, double[] sigmas, double[] out) {
+        int n = sigmas.length;
+        PricingMetrics.add(PricingMetrics.Counter.BS_FUSED_PRICE, n);
+        if (T <= 0.0) {
+            double intrinsic = isCall ? Math.max(F - K, 0.0) : Math.max(K - F, 0.0);
+            for (int i = 0; i < n; i++) out[i] = intrinsic;
+            return out;
+        }
+
+        double lnFK = Math.log(F / K);
+        double sqrtT = Math.sqrt(T);
+        double fwd = DFd * F;
+        double strike = DFd * K;
+
+        for (int i = 0; i < n; i++) {
+            double vs = sigmas[i] * sqrtT;
+            double d1 = lnFK / vs + 0.5 * vs;
+            double d2 = d1 - vs;
+            out[i] = isCall ? fwd * N.cdf(d1) - strike * N.cdf(d2)
+                            : strike * N.cdf(-d2) - fwd * N.cdf(-d1);
+        }
+        return out;
+    }
+
+    // Batch across strikes at one vol through the selected kernel; see BlackScholesKernel.priceStrikes.
+    public void priceStrikes(boolean isCall, boolean otm, double F, double DFd, double T, double sigma,
+                             double[] strikes, double[] out) {
+        PricingMetrics.add(PricingMetrics.Counter.BS_FUSED_PRICE, strikes.length);
+        kernel.priceStrikes(isCall, otm, F, DFd, T, sigma, strikes, out);
+    }
+
+    // Fused call prices and their strike sensitivity at fixed vol for several vols:
+    // prices[i] = call at sigmas[i], digitals[i] = -dC/dK = DFd * N(d2_i).
+    public void callAndDigitalVols(double F, double DFd, double K, double T, double[] sigmas,
+                                   double[] prices, double[] digitals) {
+        int n = sigmas.length;
+        PricingMetrics.add(PricingMetrics.Counter.BS_FUSED_PRICE, n);
+        if (T <= 0.0) {
+            double intrinsic = Math.max(F - K, 0.0);
+            double digital = (F > K) ? DFd : 0.0;
+            for (int i = 0; i < n; i++) {
+                prices[i] = intrinsic;
+                digitals[i] = digital;
+            }
+            return;
+        }
+
+        double lnFK = Math.log(F / K);
+        double sqrtT = Math.sqrt(T);
+        double fwd = DFd * F;
+        double strike = DFd * K;
+
+        for (int i = 0; i < n; i++) {
+            double vs = sigmas[i] * sqrtT;
+            double d1 = lnFK / vs + 0.5 * vs;
+            double nd2 = N.cdf(d1 - vs);
+            prices[i] = fwd * N.cdf(d1) - strike * nd2;
+            digitals[i] = DFd * nd2;
+        }
+    }
+
     public static double delta(DeltaConvention conv, boolean isCall,
                                double S, double K, double T, double rd, double rf, double sigma) {
         throw new UnsupportedOperationException("Use GKBlackScholes.deltaInstance(...) with an injected NormalDist.");
@@ -40,6 +131,7 @@ public class GKBlackScholes {
 
     public double deltaInstance(DeltaConvention conv, boolean isCall,
                                 double S, double K, double T, double rd, double rf, double sigma) {
+        PricingMetrics.increment(PricingMetrics.Counter.BS_DELTA);
         if (T <= 0.0) {
             if (isCall) return (S > K) ? 1.0 : 0.0;
             return (S < K) ? -1.0 : 0.0;
@@ -73,4 +165,60 @@ public class GKBlackScholes {
                 throw new IllegalArgumentException("Unknown delta convention.");
         }
     }
+
+    // d(delta)/dK under the given convention; used by derivative-aware delta->strike inversion.
+    public double deltaDerivativeK(DeltaConvention conv, boolean isCall,
+                                   double S, double K, double T, double rd, double rf, double sigma) {
+        if (T <= 0.0) return 0.0;
+
+        double F = forward(S, rd, rf, T);
+        double vs = sigma * Math.sqrt(T);
+        double d1 = (Math.log(F / K) + 0.5 * sigma * sigma * T) / vs;
+        double d2 = d1 - vs;
+
+        switch (conv) {
+            case SPOT_PREM_EXCLUDED:
+                // dd1/dK = -1/(K vs), identical for calls and puts
+                return -df(rf, T) * N.pdf(d1) / (K * vs);
+
+            case FWD_PREM_EXCLUDED:
+                return -N.pdf(d1) / (K * vs);
+
+            case SPOT_PREM_INCLUDED:
+                // Call: DFd/S * (N(d2) - n(d2)/vs), Put: -DFd/S * (N(-d2) + n(d2)/vs)
+                double scale = df(rd, T) / S;
+                double density = N.pdf(d2) / vs;
+                return isCall ? scale * (N.cdf(d2) - density)
+                              : -scale * (N.cdf(-d2) + density);
+
+            default:
+                throw new IllegalArgumentException("Unknown delta convention.");
+        }
+    }
+
+    // d2(delta)/dK2 under the given convention; enables Halley steps in the strike inversion.
+    public double deltaSecondDerivativeK(DeltaConvention conv, boolean isCall,
+                                         double S, double K, double T, double rd, double rf, double sigma) {
+        if (T <= 0.0) return 0.0;
+
+        double F = forward(S, rd, rf, T);
+        double vs = sigma * Math.sqrt(T);
+        double d1 = (Math.log(F / K) + 0.5 * sigma * sigma * T) / vs;
+        double d2 = d1 - vs;
+
+        switch (conv) {
+            case SPOT_PREM_EXCLUDED:
+                return df(rf, T) * N.pdf(d1) / (K * K * vs) * (1.0 - d1 / vs);
+
+            case FWD_PREM_EXCLUDED:
+                return N.pdf(d1) / (K * K * vs) * (1.0 - d1 / vs);
+
+            case SPOT_PREM_INCLUDED:
+                // Call and put differ by DFd*K/S, so their second derivatives coincide.
+                return -df(rd, T) / S * N.pdf(d2) / (K * vs) * (1.0 + d2 / vs);
+
+            default:
+                throw new IllegalArgumentException("Unknown delta convention.");
+        }
+    }
 }
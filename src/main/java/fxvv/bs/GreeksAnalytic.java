@@ -0,0 +1,120 @@
+package main.java.fxvv.bs;
+
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.numerics.NormalDist;
+
+// Closed-form Garman-Kohlhagen Greeks; GreeksFD remains available as a numerical cross-check.
+public class GreeksAnalytic {
+
+    private static final double MIN_SIGMA = 1e-8;
+
+    private final NormalDist N;
+
+    public GreeksAnalytic(NormalDist normal) {
+        this.N = normal;
+    }
+
+    // Spot delta, premium excluded.
+    public double delta(boolean isCall, double S, double K, double T, double rd, double rf, double sigma) {
+        if (T <= 0.0) {
+            if (isCall) return (S > K) ? 1.0 : 0.0;
+            return (S < K) ? -1.0 : 0.0;
+        }
+        double d1 = d1(S, K, T, rd, rf, sigma);
+        double DFf = GKBlackScholes.df(rf, T);
+        return isCall ? DFf * N.cdf(d1) : -DFf * N.cdf(-d1);
+    }
+
+    public double gamma(double S, double K, double T, double rd, double rf, double sigma) {
+        if (T <= 0.0) return 0.0;
+        double s = Math.max(MIN_SIGMA, sigma);
+        double d1 = d1(S, K, T, rd, rf, s);
+        return GKBlackScholes.df(rf, T) * N.pdf(d1) / (S * s * Math.sqrt(T));
+    }
+
+    public double vega(double S, double K, double T, double rd, double rf, double sigma) {
+        if (T <= 0.0) return 0.0;
+        double d1 = d1(S, K, T, rd, rf, Math.max(MIN_SIGMA, sigma));
+        return S * GKBlackScholes.df(rf, T) * N.pdf(d1) * Math.sqrt(T);
+    }
+
+    // d(vega)/dS
+    public double vanna(double S, double K, double T, double rd, double rf, double sigma) {
+        if (T <= 0.0) return 0.0;
+        double s = Math.max(MIN_SIGMA, sigma);
+        double d1 = d1(S, K, T, rd, rf, s);
+        double d2 = d1 - s * Math.sqrt(T);
+        return -GKBlackScholes.df(rf, T) * N.pdf(d1) * d2 / s;
+    }
+
+    // d(vega)/d(sigma)
+    public double volga(double S, double K, double T, double rd, double rf, double sigma) {
+        if (T <= 0.0) return 0.0;
+        double s = Math.max(MIN_SIGMA, sigma);
+        double sqrtT = Math.sqrt(T);
+        double d1 = d1(S, K, T, rd, rf, s);
+        double d2 = d1 - s * sqrtT;
+        return S * GKBlackScholes.df(rf, T) * N.pdf(d1) * sqrtT * d1 * d2 / s;
+    }
+
+    // Calendar theta, dV/dt = -dV/dT, per year.
+    public double theta(boolean isCall, double S, double K, double T, double rd, double rf, double sigma) {
+        if (T <= 0.0) return 0.0;
+        double s = Math.max(MIN_SIGMA, sigma);
+        double sqrtT = Math.sqrt(T);
+        double d1 = d1(S, K, T, rd, rf, s);
+        double d2 = d1 - s * sqrtT;
+        double DFf = GKBlackScholes.df(rf, T);
+        double DFd = GKBlackScholes.df(rd, T);
+
+        double decay = -S * DFf * N.pdf(d1) * s / (2.0 * sqrtT);
+        if (isCall) return decay + rf * S * DFf * N.cdf(d1) - rd * K * DFd * N.cdf(d2);
+        return decay - rf * S * DFf * N.cdf(-d1) + rd * K * DFd * N.cdf(-d2);
+    }
+
+    // Vega, vanna and volga from one set of intermediates, written to out[0..2] (VV ordering).
+    public double[] vegaVannaVolga(double S, double K, double T, double rd, double rf, double sigma, double[] out) {
+        PricingMetrics.increment(PricingMetrics.Counter.GREEKS_ANALYTIC_CALL);
+        if (T <= 0.0) {
+            out[0] = 0.0; out[1] = 0.0; out[2] = 0.0;
+            return out;
+        }
+        double s = Math.max(MIN_SIGMA, sigma);
+        double sqrtT = Math.sqrt(T);
+        double d1 = d1(S, K, T, rd, rf, s);
+        double d2 = d1 - s * sqrtT;
+        double discountedPdf = GKBlackScholes.df(rf, T) * N.pdf(d1);
+
+        double vega = S * discountedPdf * sqrtT;
+        out[0] = vega;
+        out[1] = -discountedPdf * d2 / s;
+        out[2] = vega * d1 * d2 / s;
+        return out;
+    }
+
+    // d/dK of (vega, vanna, volga), same ordering; with dd1/dK = dd2/dK = -1/(K sigma sqrt(T)).
+    public double[] vegaVannaVolgaStrikeDerivative(double S, double K, double T, double rd, double rf, double sigma,
+                                                   double[] out) {
+        if (T <= 0.0) {
+            out[0] = 0.0; out[1] = 0.0; out[2] = 0.0;
+            return out;
+        }
+        double s = Math.max(MIN_SIGMA, sigma);
+        double sqrtT = Math.sqrt(T);
+        double d1 = d1(S, K, T, rd, rf, s);
+        double d2 = d1 - s * sqrtT;
+        double discountedPdf = GKBlackScholes.df(rf, T) * N.pdf(d1);
+
+        double vega = S * discountedPdf * sqrtT;
+        double scale = 1.0 / (K * s * s * sqrtT);
+        out[0] = vega * d1 * s * scale;
+        out[1] = discountedPdf * (1.0 - d1 * d2) * scale;
+        out[2] = vega * (d1 * d1 * d2 - d1 - d2) * scale;
+        return out;
+    }
+
+    private static double d1(double S, double K, double T, double rd, double rf, double sigma) {
+        double vs = sigma * Math.sqrt(T);
+        return (Math.log(S / K) + (rd - rf) * T + 0.5 * sigma * sigma * T) / vs;
+    }
+}
@@ -1,6 +1,7 @@
 package main.java.fxvv.bs;
 
 import java.util.function.DoubleUnaryOperator;
+import main.java.fxvv.metrics.PricingMetrics;
 
 public class GreeksFD {
 
@@ -14,6 +15,7 @@ public class GreeksFD {
     private GreeksFD() {}
 
     public static double vegaFD(GKBlackScholes bs, boolean isCall, double S, double K, double T, double rd, double rf, double sigma) {
+        PricingMetrics.increment(PricingMetrics.Counter.GREEKS_FD_CALL);
         double safeSigma = Math.max(MIN_SIGMA, sigma);
         DoubleUnaryOperator priceBySigma = (x) -> bs.price(isCall, S, K, T, rd, rf, x);
         double h0 = Math.max(5e-6, Math.abs(safeSigma) * 5e-3);
@@ -21,6 +23,7 @@ public class GreeksFD {
     }
 
     public static double volgaFD(GKBlackScholes bs, boolean isCall, double S, double K, double T, double rd, double rf, double sigma) {
+        PricingMetrics.increment(PricingMetrics.Counter.GREEKS_FD_CALL);
         double safeSigma = Math.max(MIN_SIGMA, sigma);
         DoubleUnaryOperator priceBySigma = (x) -> bs.price(isCall, S, K, T, rd, rf, x);
         double h0 = Math.max(5e-6, Math.abs(safeSigma) * 5e-3);
@@ -28,6 +31,7 @@ public class GreeksFD {
     }
 
     public static double vannaFD(GKBlackScholes bs, boolean isCall, double S, double K, double T, double rd, double rf, double sigma) {
+        PricingMetrics.increment(PricingMetrics.Counter.GREEKS_FD_CALL);
         double safeSpot = Math.max(MIN_SPOT, S);
         DoubleUnaryOperator vegaBySpot = (x) -> vegaFD(bs, isCall, x, K, T, rd, rf, sigma);
         double hS = Math.max(1e-6, Math.abs(safeSpot) * 1e-4);
@@ -41,6 +45,7 @@ public class GreeksFD {
         for (int i = 0; i < MAX_REFINEMENTS; i++) {
             double hNext = boundedStep(x, h * 0.5, lowerBound);
             if (hNext >= h) break;
+            PricingMetrics.increment(PricingMetrics.Counter.GREEKS_FD_REFINEMENT);
             double curr = firstDerivative(f, x, hNext, lowerBound);
             if (isStable(prev, curr)) return curr;
             prev = curr;
@@ -56,6 +61,7 @@ public class GreeksFD {
         for (int i = 0; i < MAX_REFINEMENTS; i++) {
             double hNext = boundedStep(x, h * 0.5, lowerBound);
             if (hNext >= h) break;
+            PricingMetrics.increment(PricingMetrics.Counter.GREEKS_FD_REFINEMENT);
             double curr = secondDerivative(f, x, hNext, lowerBound);
             if (isStable(prev, curr)) return curr;
             prev = curr;
@@ -0,0 +1,95 @@
+package main.java.fxvv.bs;
+
+import main.java.fxvv.numerics.NormalDist;
+
+// Black implied volatility in the spirit of Jaeckel's "Let's be rational": the price is mapped to the
+// out-of-the-money option, seeded with the Corrado-Miller rational approximation and polished with
+// third-order Householder steps (Newton, then bisection, as fallbacks) inside a maintained bracket.
+public class ImpliedVolSolver {
+
+    private static final int MAX_ITER = 50;
+    private static final double REL_TOL = 1e-14;
+    private static final double MAX_TOTAL_VOL = 10.0;
+    private static final double INV_SQRT_PI = 0.5641895835477563;
+    private static final double SQRT_2PI = 2.5066282746310002;
+
+    private final NormalDist N;
+
+    public ImpliedVolSolver(NormalDist normal) {
+        this.N = normal;
+    }
+
+    public double impliedVol(boolean isCall, double price, double S, double K, double T, double rd, double rf) {
+        return impliedVolForward(isCall, price, GKBlackScholes.forward(S, rd, rf, T), GKBlackScholes.df(rd, T), K, T);
+    }
+
+    // Returns 0 for prices at (or below) intrinsic and NaN for prices above the no-arbitrage upper bound.
+    public double impliedVolForward(boolean isCall, double price, double F, double DFd, double K, double T) {
+        if (!(T > 0.0) || !(K > 0.0) || !(F > 0.0)) {
+            throw new IllegalArgumentException("ImpliedVolSolver: F, K and T must be positive.");
+        }
+
+        // Undiscounted OTM price: calls above the forward, puts below, via parity if needed.
+        double undiscounted = price / DFd;
+        boolean otmCall = K >= F;
+        double otm = (isCall == otmCall) ? undiscounted
+                                         : undiscounted + (otmCall ? (F - K) : (K - F));
+        double upper = otmCall ? F : K;
+
+        if (!(otm > 0.0)) return 0.0;
+        if (otm >= upper) return Double.NaN;
+
+        double s = solveTotalVol(otmCall, otm, F, K);
+        return s / Math.sqrt(T);
+    }
+
+    private double solveTotalVol(boolean call, double target, double F, double K) {
+        double x = Math.log(F / K);
+        double lo = 0.0, hi = MAX_TOTAL_VOL;
+        double s = initialGuess(call, target, F, K);
+
+        for (int i = 0; i < MAX_ITER; i++) {
+            double d1 = x / s + 0.5 * s;
+            double d2 = d1 - s;
+            double model = call ? F * N.cdf(d1) - K * N.cdf(d2)
+                                : K * N.cdf(-d2) - F * N.cdf(-d1);
+            double f = model - target;
+
+            // The price is increasing in total vol.
+            if (f > 0.0) hi = s; else lo = s;
+
+            double vega = F * N.pdf(d1);
+            double next = Double.NaN;
+            if (vega > 0.0) {
+                double nu = -f / vega;
+                double h2 = d1 * d2 / s;
+                double h3 = (d1 * d2 * d1 * d2 - d1 * d1 - d2 * d2 - d1 * d2) / (s * s);
+                next = s + nu * (1.0 + 0.5 * h2 * nu) / (1.0 + nu * (h2 + h3 * nu / 6.0));
+                if (!(next > lo && next < hi)) {
+                    next = s + nu; // far from the root the higher-order terms can overshoot; try Newton
+                }
+            }
+            if (!(next > lo && next < hi)) {
+                next = 0.5 * (lo + hi);
+            }
+
+            if (Math.abs(next - s) <= REL_TOL * s) return next;
+            s = next;
+        }
+        return s;
+    }
+
+    // Corrado-Miller approximation on the undiscounted call-equivalent price.
+    private static double initialGuess(boolean call, double otm, double F, double K) {
+        double c = call ? otm : otm + (F - K);
+        double halfIntrinsic = 0.5 * (F - K);
+        double a = c - halfIntrinsic;
+        double disc = a * a - (F - K) * (F - K) * INV_SQRT_PI * INV_SQRT_PI;
+        double s = SQRT_2PI / (F + K) * (a + Math.sqrt(Math.max(disc, 0.0)));
+        if (!(s > 1e-4 && s < MAX_TOTAL_VOL)) {
+            // Deep OTM/extreme inputs: fall back to the ATM Brenner-Subrahmanyam scale, bounded.
+            s = Math.min(MAX_TOTAL_VOL * 0.5, Math.max(1e-2, SQRT_2PI * otm / Math.sqrt(F * K)));
+        }
+        return s;
+    }
+}
@@ -0,0 +1,43 @@
+package main.java.fxvv.bs;
+
+import main.java.fxvv.numerics.NormalDist;
+
+public class ScalarBlackScholesKernel implements BlackScholesKernel {
+
+    private final NormalDist N;
+
+    public ScalarBlackScholesKernel(NormalDist normal) {
+        this.N = normal;
+    }
+
+    @Override
+    public void priceStrikes(boolean isCall, boolean otm, double F, double DFd, double T, double sigma,
+                             double[] strikes, double[] out) {
+        int n = strikes.length;
+        if (T <= 0.0) {
+            for (int i = 0; i < n; i++) {
+                double K = strikes[i];
+                boolean call = otm ? K >= F : isCall;
+                out[i] = call ? Math.max(F - K, 0.0) : Math.max(K - F, 0.0);
+            }
+            return;
+        }
+
+        double vs = sigma * Math.sqrt(T);
+        double fwd = DFd * F;
+        for (int i = 0; i < n; i++) {
+            double K = strikes[i];
+            boolean call = otm ? K >= F : isCall;
+            double d1 = Math.log(F / K) / vs + 0.5 * vs;
+            double d2 = d1 - vs;
+            double strike = DFd * K;
+            out[i] = call ? fwd * N.cdf(d1) - strike * N.cdf(d2)
+                          : strike * N.cdf(-d2) - fwd * N.cdf(-d1);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
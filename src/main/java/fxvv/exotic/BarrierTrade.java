@@ -0,0 +1,47 @@
+package main.java.fxvv.exotic;
+
+// Continuously monitored single-barrier trade expiring on the slice it is priced on. Vanilla-style payoffs are
+// per unit of foreign notional; touch payoffs pay `cash` domestic units at expiry (not at hit).
+public class BarrierTrade {
+    public final BarrierType type;
+    public final boolean up;     // barrier above spot (hit from below) or below it
+    public final boolean isCall; // KNOCK_OUT / KNOCK_IN only
+    public final double strike;  // KNOCK_OUT / KNOCK_IN only
+    public final double barrier;
+    public final double cash;    // ONE_TOUCH / NO_TOUCH only
+
+    public BarrierTrade(BarrierType type, boolean up, boolean isCall, double strike, double barrier, double cash) {
+        if (!(barrier > 0.0)) {
+            throw new IllegalArgumentException("BarrierTrade: barrier must be positive.");
+        }
+        boolean touch = type == BarrierType.ONE_TOUCH || type == BarrierType.NO_TOUCH;
+        if (!touch && !(strike > 0.0)) {
+            throw new IllegalArgumentException("BarrierTrade: strike must be positive.");
+        }
+        if (touch && !Double.isFinite(cash)) {
+            throw new IllegalArgumentException("BarrierTrade: cash must be finite.");
+        }
+        this.type = type;
+        this.up = up;
+        this.isCall = isCall;
+        this.strike = touch ? 0.0 : strike;
+        this.barrier = barrier;
+        this.cash = touch ? cash : 0.0;
+    }
+
+    public static BarrierTrade knockOut(boolean isCall, double strike, double barrier, boolean up) {
+        return new BarrierTrade(BarrierType.KNOCK_OUT, up, isCall, strike, barrier, 0.0);
+    }
+
+    public static BarrierTrade knockIn(boolean isCall, double strike, double barrier, boolean up) {
+        return new BarrierTrade(BarrierType.KNOCK_IN, up, isCall, strike, barrier, 0.0);
+    }
+
+    public static BarrierTrade oneTouch(double barrier, boolean up, double cash) {
+        return new BarrierTrade(BarrierType.ONE_TOUCH, up, false, 0.0, barrier, cash);
+    }
+
+    public static BarrierTrade noTouch(double barrier, boolean up, double cash) {
+        return new BarrierTrade(BarrierType.NO_TOUCH, up, false, 0.0, barrier, cash);
+    }
+}
@@ -0,0 +1,8 @@
+package main.java.fxvv.exotic;
+
+public enum BarrierType {
+    KNOCK_OUT, // vanilla payoff unless the barrier is touched
+    KNOCK_IN,  // vanilla payoff only if the barrier is touched
+    ONE_TOUCH, // cash at expiry if the barrier is touched
+    NO_TOUCH   // cash at expiry if the barrier is never touched
+}
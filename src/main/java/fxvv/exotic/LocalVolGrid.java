@@ -0,0 +1,130 @@
+package main.java.fxvv.exotic;
+
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+
+// Dupire local variance implied by the VV smile of one slice, tabulated per Monte Carlo time step on a uniform
+// grid in log-moneyness y = ln(S_t / F_t).
+//
+// A single slice carries no term structure, so the smile is held constant in log-forward-moneyness:
+// w(y, t) = (t / T) v(y) T with v(y) the squared VV implied vol at K = F e^y. Dupire in total variance then
+// reduces to sigma_loc^2(y, t) = v / g with
+//     g = 1 - y v'/v + y^2 v'^2 / (4 v^2) - t v'^2 / (4 v) - t^2 v'^2 / 16 + t v'' / 2,
+// whose t -> 0 limit (1 - y v' / (2 v))^2 is finite. Every European on the slice's expiry is then repriced at
+// its VV value up to grid and time-step error. Where the VV wings imply a negative density (g <= 0) the
+// denominator is floored and the local vol capped, so far-wing paths stay finite.
+public final class LocalVolGrid {
+
+    private static final int DEFAULT_POINTS = 201;
+    private static final double DEFAULT_STD_DEVS = 6.0;
+    private static final double MIN_DENOMINATOR = 0.05;
+    private static final double VOL_CAP = 4.0;   // local vol in [implied min / cap, implied max * cap]
+
+    final MarketSlice slice;
+    final int steps;
+    final double dt;
+    final int points;
+    final double y0;
+    final double invDy;
+    final double[] variance; // row-major [step][point], local variance over the step midpoint
+
+    public LocalVolGrid(VannaVolgaPricer pricer, MarketSlice slice, int steps) {
+        this(pricer, slice, steps, DEFAULT_POINTS, DEFAULT_STD_DEVS);
+    }
+
+    // points nodes spanning +/- stdDevs ATM standard deviations in y; flat beyond.
+    public LocalVolGrid(VannaVolgaPricer pricer, MarketSlice slice, int steps, int points, double stdDevs) {
+        if (steps <= 0) {
+            throw new IllegalArgumentException("LocalVolGrid: steps must be positive.");
+        }
+        if (points < 5) {
+            throw new IllegalArgumentException("LocalVolGrid: at least 5 points are required.");
+        }
+        if (!(stdDevs > 0.0) || !(slice.T > 0.0)) {
+            throw new IllegalArgumentException("LocalVolGrid: stdDevs and the slice expiry must be positive.");
+        }
+        this.slice = slice;
+        this.steps = steps;
+        this.dt = slice.T / steps;
+        this.points = points;
+
+        double span = stdDevs * slice.sigmaATM * Math.sqrt(slice.T);
+        double dy = 2.0 * span / (points - 1);
+        this.y0 = -span;
+        this.invDy = 1.0 / dy;
+
+        double[] strikes = new double[points];
+        for (int i = 0; i < points; i++) strikes[i] = slice.F * Math.exp(y0 + i * dy);
+        double[] vol = new double[points];
+        pricer.impliedVols(slice, strikes, vol);
+        fillInvalid(vol);
+
+        double minVol = Double.POSITIVE_INFINITY, maxVol = 0.0;
+        for (double s : vol) {
+            minVol = Math.min(minVol, s);
+            maxVol = Math.max(maxVol, s);
+        }
+        double minVar = sq(minVol / VOL_CAP), maxVar = sq(maxVol * VOL_CAP);
+
+        // v and its y-derivatives once; only the t terms of g change per step.
+        double[] v = new double[points], v1 = new double[points], v2 = new double[points];
+        for (int i = 0; i < points; i++) v[i] = vol[i] * vol[i];
+        for (int i = 1; i < points - 1; i++) {
+            v1[i] = (v[i + 1] - v[i - 1]) * 0.5 * invDy;
+            v2[i] = (v[i + 1] - 2.0 * v[i] + v[i - 1]) * invDy * invDy;
+        }
+        v1[0] = v1[1]; v2[0] = v2[1];
+        v1[points - 1] = v1[points - 2]; v2[points - 1] = v2[points - 2];
+
+        this.variance = new double[steps * points];
+        for (int j = 0; j < steps; j++) {
+            double t = (j + 0.5) * dt;
+            int row = j * points;
+            for (int i = 0; i < points; i++) {
+                double y = y0 + i * dy;
+                double a = y * v1[i] / v[i];
+                double b = v1[i] * v1[i];
+                double g = 1.0 - a + 0.25 * a * a - t * b / (4.0 * v[i]) - t * t * b / 16.0 + 0.5 * t * v2[i];
+                double lv = v[i] / Math.max(g, MIN_DENOMINATOR);
+                variance[row + i] = Math.min(maxVar, Math.max(minVar, lv));
+            }
+        }
+    }
+
+    public MarketSlice slice() {
+        return slice;
+    }
+
+    public int steps() {
+        return steps;
+    }
+
+    // Local variance over step j at log-moneyness y, linear between nodes.
+    public double localVariance(int step, double y) {
+        int row = step * points;
+        double u = (y - y0) * invDy;
+        if (!(u > 0.0)) return variance[row];
+        if (u >= points - 1) return variance[row + points - 1];
+        int i = (int) u;
+        double f = u - i;
+        return variance[row + i] + f * (variance[row + i + 1] - variance[row + i]);
+    }
+
+    // VV implied vols can fail to invert deep in the wings; carry the nearest valid node outwards.
+    private static void fillInvalid(double[] vol) {
+        int mid = vol.length / 2;
+        if (!(vol[mid] > 0.0)) {
+            throw new IllegalStateException("LocalVolGrid: VV implied vol at the forward is not finite.");
+        }
+        for (int i = mid + 1; i < vol.length; i++) {
+            if (!(vol[i] > 0.0) || !Double.isFinite(vol[i])) vol[i] = vol[i - 1];
+        }
+        for (int i = mid - 1; i >= 0; i--) {
+            if (!(vol[i] > 0.0) || !Double.isFinite(vol[i])) vol[i] = vol[i + 1];
+        }
+    }
+
+    private static double sq(double x) {
+        return x * x;
+    }
+}
@@ -0,0 +1,285 @@
+package main.java.fxvv.exotic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+
+// Prices barrier and touch trades on one slice by Monte Carlo under the LocalVolGrid implied by the VV smile.
+//
+// Paths are simulated in x = ln(S_t / F_t), a martingale in e^x, with log-Euler steps
+// x += -var/2 dt + sqrt(var dt) z, so the forward is matched exactly in expectation. Paths come in antithetic
+// pairs and are generated in fixed-size blocks, each with its own SplittableRandom split off the seed in block
+// order; blocks run on the pool and their sums are reduced in block order, so a result depends only on the seed
+// and path count, never on the parallelism. Each worker reuses one primitive path buffer across its blocks and
+// every trade on the slice is evaluated against the same paths.
+//
+// Continuous monitoring uses the Brownian-bridge correction in expectation: between two monitoring dates on the
+// live side of the barrier (b_j - x_j, b_j+1 - x_j+1 of equal sign) the path survives with probability
+// 1 - exp(-2 (b_j - x_j)(b_j+1 - x_j+1) / (var dt)), exact for the linear-in-t barrier b_t = ln(B / F_t), and the
+// payoff is weighted by the product instead of sampling a hit. Steps far from the barrier skip the exp.
+public class MonteCarloEngine {
+
+    private static final int DEFAULT_STEPS_PER_YEAR = 252;
+    private static final int MIN_STEPS = 4;
+    private static final int BLOCK_PATHS = 1024; // even: antithetic pairs never straddle blocks
+    private static final double BRIDGE_CUTOFF = 40.0; // exp(-40) ~ 4e-18, below double resolution of 1 - p
+
+    private final VannaVolgaPricer pricer;
+    private final int stepsPerYear;
+    private final ForkJoinPool pool;
+
+    public MonteCarloEngine(VannaVolgaPricer pricer) {
+        this(pricer, DEFAULT_STEPS_PER_YEAR);
+    }
+
+    public MonteCarloEngine(VannaVolgaPricer pricer, int stepsPerYear) {
+        this(pricer, stepsPerYear, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloEngine(VannaVolgaPricer pricer, int stepsPerYear, ForkJoinPool pool) {
+        if (stepsPerYear <= 0) {
+            throw new IllegalArgumentException("MonteCarloEngine: stepsPerYear must be positive.");
+        }
+        this.pricer = pricer;
+        this.stepsPerYear = stepsPerYear;
+        this.pool = pool;
+    }
+
+    public int steps(MarketSlice slice) {
+        return Math.max(MIN_STEPS, (int) Math.ceil(slice.T * stepsPerYear));
+    }
+
+    public LocalVolGrid localVol(MarketSlice slice) {
+        return new LocalVolGrid(pricer, slice, steps(slice));
+    }
+
+    public MonteCarloResult price(MarketSlice slice, BarrierTrade[] trades, int paths, long seed) {
+        return price(localVol(slice), trades, paths, seed);
+    }
+
+    // Reuse one grid across seeds or trade lists on the same slice; paths is rounded up to an even count.
+    public MonteCarloResult price(LocalVolGrid grid, BarrierTrade[] trades, int paths, long seed) {
+        if (paths <= 0) {
+            throw new IllegalArgumentException("MonteCarloEngine: paths must be positive.");
+        }
+        paths += paths & 1;
+        int blocks = (paths + BLOCK_PATHS - 1) / BLOCK_PATHS;
+        int n = trades.length;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) streams[b] = root.split();
+
+        Setup setup = new Setup(grid, trades);
+        double[] sums = new double[blocks * n];   // per block and trade: sum of pair averages
+        double[] sumSqs = new double[blocks * n]; // and of their squares
+
+        int tasks = Math.min(blocks, 4 * pool.getParallelism());
+        List<BlockRange> work = new ArrayList<>(tasks);
+        for (int k = 0; k < tasks; k++) {
+            work.add(new BlockRange(setup, streams, paths, blocks * k / tasks, blocks * (k + 1) / tasks, sums, sumSqs));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(work);
+            }
+        });
+        PricingMetrics.add(PricingMetrics.Counter.MC_PATH, paths);
+
+        double DFd = grid.slice.DFd;
+        int pairs = paths / 2;
+        double[] pv = new double[n];
+        double[] stdError = new double[n];
+        for (int t = 0; t < n; t++) {
+            double sum = 0.0, sumSq = 0.0;
+            for (int b = 0; b < blocks; b++) {
+                sum += sums[b * n + t];
+                sumSq += sumSqs[b * n + t];
+            }
+            double mean = sum / pairs;
+            double variance = (pairs > 1) ? Math.max(0.0, (sumSq - pairs * mean * mean) / (pairs - 1)) : 0.0;
+            pv[t] = DFd * mean;
+            stdError[t] = DFd * Math.sqrt(variance / pairs);
+        }
+        return new MonteCarloResult(pv, stdError, paths, grid.steps, seed);
+    }
+
+    // Per-call constants shared read-only by all blocks.
+    private static final class Setup {
+        final LocalVolGrid grid;
+        final BarrierTrade[] trades;
+        final double[] lnF;       // ln F_t at each monitoring date, steps + 1
+        final double[] lnBarrier;
+        final double F_T;
+
+        Setup(LocalVolGrid grid, BarrierTrade[] trades) {
+            MarketSlice s = grid.slice;
+            this.grid = grid;
+            this.trades = trades;
+            this.lnF = new double[grid.steps + 1];
+            for (int j = 0; j <= grid.steps; j++) lnF[j] = Math.log(s.S) + (s.rd - s.rf) * (j * grid.dt);
+            this.lnBarrier = new double[trades.length];
+            for (int t = 0; t < trades.length; t++) lnBarrier[t] = Math.log(trades[t].barrier);
+            this.F_T = s.F;
+        }
+    }
+
+    private static final class BlockRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Setup setup;
+        private final SplittableRandom[] streams;
+        private final int paths;
+        private final int from, to;
+        private final double[] sums, sumSqs; // each task writes only its own blocks' rows
+
+        BlockRange(Setup setup, SplittableRandom[] streams, int paths, int from, int to,
+                   double[] sums, double[] sumSqs) {
+            this.setup = setup;
+            this.streams = streams;
+            this.paths = paths;
+            this.from = from;
+            this.to = to;
+            this.sums = sums;
+            this.sumSqs = sumSqs;
+        }
+
+        @Override
+        protected void compute() {
+            int steps = setup.grid.steps;
+            int stride = steps + 1;
+            // Path-major: x[p * stride + j], and the local variance used over step j at var[p * steps + j].
+            double[] x = new double[BLOCK_PATHS * stride];
+            double[] var = new double[BLOCK_PATHS * steps];
+            // Per-path envelope: highest and lowest ln S over the monitoring dates, largest step variance.
+            Envelope env = new Envelope();
+            double[] payoff = new double[BLOCK_PATHS];
+            for (int b = from; b < to; b++) {
+                int count = Math.min(BLOCK_PATHS, paths - b * BLOCK_PATHS);
+                simulate(streams[b], count, x, var, env);
+                evaluate(b, count, x, var, env, payoff);
+            }
+        }
+
+        private void simulate(SplittableRandom random, int count, double[] x, double[] var, Envelope env) {
+            LocalVolGrid grid = setup.grid;
+            double[] lnF = setup.lnF;
+            int steps = grid.steps;
+            int stride = steps + 1;
+            double dt = grid.dt;
+            for (int p = 0; p < count; p += 2) {
+                int a = p * stride, b = a + stride;
+                int va = p * steps, vb = va + steps;
+                double xa = 0.0, xb = 0.0;
+                double hiA = lnF[0], loA = lnF[0], hiB = lnF[0], loB = lnF[0];
+                double maxA = 0.0, maxB = 0.0;
+                x[a] = 0.0;
+                x[b] = 0.0;
+                for (int j = 0; j < steps; j++) {
+                    double z = random.nextGaussian();
+                    double sa = grid.localVariance(j, xa);
+                    double sb = grid.localVariance(j, xb);
+                    xa += -0.5 * sa * dt + Math.sqrt(sa * dt) * z;
+                    xb += -0.5 * sb * dt - Math.sqrt(sb * dt) * z;
+                    x[a + j + 1] = xa;
+                    x[b + j + 1] = xb;
+                    var[va + j] = sa;
+                    var[vb + j] = sb;
+                    double lnSa = lnF[j + 1] + xa, lnSb = lnF[j + 1] + xb;
+                    hiA = Math.max(hiA, lnSa); loA = Math.min(loA, lnSa); maxA = Math.max(maxA, sa);
+                    hiB = Math.max(hiB, lnSb); loB = Math.min(loB, lnSb); maxB = Math.max(maxB, sb);
+                }
+                env.hi[p] = hiA; env.lo[p] = loA; env.maxVar[p] = maxA;
+                env.hi[p + 1] = hiB; env.lo[p + 1] = loB; env.maxVar[p + 1] = maxB;
+            }
+        }
+
+        private void evaluate(int block, int count, double[] x, double[] var, Envelope env, double[] payoff) {
+            BarrierTrade[] trades = setup.trades;
+            int n = trades.length;
+            int steps = setup.grid.steps;
+            int stride = steps + 1;
+            for (int t = 0; t < n; t++) {
+                BarrierTrade trade = trades[t];
+                double lnB = setup.lnBarrier[t];
+                boolean touch = trade.type == BarrierType.ONE_TOUCH || trade.type == BarrierType.NO_TOUCH;
+                for (int p = 0; p < count; p++) {
+                    double S_T = setup.F_T * Math.exp(x[p * stride + steps]);
+                    if (!touch && vanilla(trade, S_T) == 0.0) {
+                        payoff[p] = 0.0; // nothing to knock in or out
+                        continue;
+                    }
+                    // Closest approach over the whole path decides most paths without the per-step walk.
+                    double gap = trade.up ? lnB - env.hi[p] : env.lo[p] - lnB;
+                    double alive;
+                    if (gap <= 0.0) {
+                        alive = 0.0;
+                    } else if (2.0 * gap * gap >= BRIDGE_CUTOFF * env.maxVar[p] * setup.grid.dt) {
+                        alive = 1.0;
+                    } else {
+                        alive = survival(trade, lnB, x, p * stride, var, p * steps, steps);
+                    }
+                    payoff[p] = payoff(trade, S_T, alive);
+                }
+                double sum = 0.0, sumSq = 0.0;
+                for (int p = 0; p < count; p += 2) {
+                    double pair = 0.5 * (payoff[p] + payoff[p + 1]);
+                    sum += pair;
+                    sumSq += pair * pair;
+                }
+                sums[block * n + t] = sum;
+                sumSqs[block * n + t] = sumSq;
+            }
+        }
+
+        // Probability that the continuous path never touches the barrier, given its monitoring dates.
+        private double survival(BarrierTrade trade, double lnB, double[] x, int xo, double[] var, int vo, int steps) {
+            double dt = setup.grid.dt;
+            double[] lnF = setup.lnF;
+            double sign = trade.up ? 1.0 : -1.0; // distance to the barrier, positive on the live side
+            double d0 = sign * (lnB - lnF[0] - x[xo]);
+            if (d0 <= 0.0) return 0.0;
+            double alive = 1.0;
+            for (int j = 0; j < steps; j++) {
+                double d1 = sign * (lnB - lnF[j + 1] - x[xo + j + 1]);
+                if (d1 <= 0.0) return 0.0;
+                double a = 2.0 * d0 * d1 / (var[vo + j] * dt);
+                if (a < BRIDGE_CUTOFF) alive *= 1.0 - Math.exp(-a);
+                d0 = d1;
+            }
+            return alive;
+        }
+
+        private static final class Envelope {
+            final double[] hi = new double[BLOCK_PATHS];
+            final double[] lo = new double[BLOCK_PATHS];
+            final double[] maxVar = new double[BLOCK_PATHS];
+        }
+
+        private static double payoff(BarrierTrade trade, double S_T, double alive) {
+            switch (trade.type) {
+                case KNOCK_OUT:
+                    return vanilla(trade, S_T) * alive;
+                case KNOCK_IN:
+                    return vanilla(trade, S_T) * (1.0 - alive);
+                case ONE_TOUCH:
+                    return trade.cash * (1.0 - alive);
+                case NO_TOUCH:
+                    return trade.cash * alive;
+                default:
+                    throw new IllegalStateException("MonteCarloEngine: unknown barrier type " + trade.type);
+            }
+        }
+
+        private static double vanilla(BarrierTrade trade, double S_T) {
+            return trade.isCall ? Math.max(S_T - trade.strike, 0.0) : Math.max(trade.strike - S_T, 0.0);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package main.java.fxvv.exotic;
+
+public final class MonteCarloResult {
+
+    private final double[] pv;
+    private final double[] stdError;
+    public final int paths;
+    public final int steps;
+    public final long seed;
+
+    MonteCarloResult(double[] pv, double[] stdError, int paths, int steps, long seed) {
+        this.pv = pv;
+        this.stdError = stdError;
+        this.paths = paths;
+        this.steps = steps;
+        this.seed = seed;
+    }
+
+    // PV of trades[i] as passed to MonteCarloEngine.price.
+    public double pv(int i) {
+        return pv[i];
+    }
+
+    // One standard error of pv(i), from the spread of antithetic pair averages.
+    public double stdError(int i) {
+        return stdError[i];
+    }
+
+    public int tradeCount() {
+        return pv.length;
+    }
+}
@@ -0,0 +1,97 @@
+package main.java.fxvv.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Allocation-free decimal parsing straight from a byte buffer. Mantissas of up to 18 digits with a
+// small decimal exponent take the exact fast path (both operands exact doubles, one correctly rounded
+// multiply or divide); anything else falls back to Double.parseDouble.
+final class AsciiNumbers {
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_DIGITS = 18;
+
+    private AsciiNumbers() {}
+
+    static double parseDouble(ByteBuffer buf, int from, int to) {
+        int i = from;
+        if (i >= to) throw new NumberFormatException("empty number");
+
+        boolean negative = false;
+        byte c = buf.get(i);
+        if (c == '-' || c == '+') {
+            negative = (c == '-');
+            i++;
+        }
+
+        long mantissa = 0L;
+        int digits = 0;
+        int exp10 = 0;
+        boolean seenDigit = false;
+        boolean seenDot = false;
+
+        for (; i < to; i++) {
+            c = buf.get(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (digits < MAX_DIGITS) {
+                    if (mantissa != 0L || c != '0') {
+                        mantissa = mantissa * 10L + (c - '0');
+                        digits++;
+                    }
+                    if (seenDot) exp10--;
+                } else {
+                    return slowParse(buf, from, to);
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                break;
+            }
+        }
+        if (!seenDigit) return slowParse(buf, from, to);
+
+        if (i < to) {
+            c = buf.get(i);
+            if (c != 'e' && c != 'E') return slowParse(buf, from, to);
+            i++;
+            boolean expNegative = false;
+            if (i < to && (buf.get(i) == '-' || buf.get(i) == '+')) {
+                expNegative = buf.get(i) == '-';
+                i++;
+            }
+            if (i >= to) return slowParse(buf, from, to);
+            int e = 0;
+            for (; i < to; i++) {
+                c = buf.get(i);
+                if (c < '0' || c > '9' || e > 10000) return slowParse(buf, from, to);
+                e = e * 10 + (c - '0');
+            }
+            exp10 += expNegative ? -e : e;
+        }
+
+        double value;
+        if (mantissa == 0L) {
+            value = 0.0;
+        } else if (mantissa <= MAX_EXACT_MANTISSA && exp10 >= -22 && exp10 <= 22) {
+            value = (exp10 >= 0) ? mantissa * POW10[exp10] : mantissa / POW10[-exp10];
+        } else {
+            return slowParse(buf, from, to);
+        }
+        return negative ? -value : value;
+    }
+
+    private static double slowParse(ByteBuffer buf, int from, int to) {
+        return Double.parseDouble(ascii(buf, from, to));
+    }
+
+    static String ascii(ByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
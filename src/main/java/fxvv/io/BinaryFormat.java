@@ -0,0 +1,120 @@
+package main.java.fxvv.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Compact little-endian record format for quotes and trades:
+//   header  : int magic, int version
+//   pair    : byte TAG_PAIR, short pairId, byte length, ASCII name (written before first use of the id)
+//   quote   : byte TAG_QUOTE, short pairId, double T, sigmaATM, rr25, bf25, S, rd, rf
+//   trade   : byte TAG_TRADE, short pairId, double expiry, double strike, byte TradeType ordinal   (notional 1)
+//           | byte TAG_TRADE_NOTIONAL, short pairId, double expiry, double strike, byte TradeType ordinal,
+//             double signed notional
+final class BinaryFormat {
+
+    static final int QUOTES_MAGIC = 0x51565846; // "FXVQ"
+    static final int TRADES_MAGIC = 0x54565846; // "FXVT"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+
+    static final byte TAG_PAIR = 1;
+    static final byte TAG_QUOTE = 2;
+    static final byte TAG_TRADE = 3;
+    static final byte TAG_TRADE_NOTIONAL = 4;
+
+    static final int MAX_PAIRS = 1 << 15;
+    static final int MAX_PAIR_NAME = 255;
+    static final int MAX_RECORD_BYTES = 4 + MAX_PAIR_NAME; // a pair definition is the longest record
+
+    private BinaryFormat() {}
+
+    // Reads the first 4 bytes; 0 when the file is shorter.
+    static int magic(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer b = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (b.hasRemaining() && ch.read(b) >= 0) { }
+            return b.hasRemaining() ? 0 : b.getInt(0);
+        }
+    }
+
+    // Streams records after the header, handing each tagged record to the visitor with the buffer
+    // positioned just past the tag. Pair definitions are resolved here.
+    static long read(Path path, int expectedMagic, RecordVisitor visitor) throws IOException {
+        try (MappedInput in = new MappedInput(path)) {
+            MappedByteBuffer buf = in.buffer();
+            String file = path.getFileName().toString();
+            if (in.size() < HEADER_BYTES || buf.getInt(0) != expectedMagic) {
+                throw new IllegalArgumentException(file + ": not a " + describe(expectedMagic) + " file.");
+            }
+            int version = buf.getInt(4);
+            if (version != VERSION) {
+                throw new IllegalArgumentException(file + ": unsupported format version " + version + ".");
+            }
+
+            String[] pairs = new String[64];
+            long records = 0L;
+            buf.position(HEADER_BYTES);
+            while (in.base() + buf.position() < in.size()) {
+                if (buf.remaining() < MAX_RECORD_BYTES && !in.atTail()) {
+                    buf = in.remap(in.base() + buf.position());
+                }
+                long offset = in.base() + buf.position();
+                byte tag = buf.get();
+                if (tag == TAG_PAIR) {
+                    requireBytes(buf, 3, file, offset);
+                    int id = buf.getShort() & 0xFFFF;
+                    byte[] name = new byte[buf.get() & 0xFF];
+                    requireBytes(buf, name.length, file, offset);
+                    buf.get(name);
+                    if (id >= pairs.length) pairs = Arrays.copyOf(pairs, Math.max(id + 1, pairs.length * 2));
+                    pairs[id] = new String(name, StandardCharsets.US_ASCII);
+                    continue;
+                }
+                requireBytes(buf, 2 + payloadBytes(tag, file, offset), file, offset);
+                int id = buf.getShort() & 0xFFFF;
+                String pair = (id < pairs.length) ? pairs[id] : null;
+                if (pair == null) {
+                    throw new IllegalArgumentException(file + ": record " + (records + 1) + " uses undefined pair id " + id);
+                }
+                visitor.visit(tag, pair, buf);
+                records++;
+            }
+            return records;
+        }
+    }
+
+    // Bytes after the tag and pair id of a quote or trade record.
+    private static int payloadBytes(byte tag, String file, long offset) {
+        switch (tag) {
+            case TAG_QUOTE:
+                return 56;
+            case TAG_TRADE:
+                return 17;
+            case TAG_TRADE_NOTIONAL:
+                return 25;
+            default:
+                throw new IllegalArgumentException(file + ": unknown record tag " + tag + " at offset " + offset + ".");
+        }
+    }
+
+    private static void requireBytes(ByteBuffer buf, int bytes, String file, long offset) {
+        if (buf.remaining() < bytes) {
+            throw new IllegalArgumentException(file + ": truncated record at offset " + offset + ".");
+        }
+    }
+
+    static String describe(int magic) {
+        return (magic == QUOTES_MAGIC) ? "binary quote" : "binary trade";
+    }
+
+    interface RecordVisitor {
+        void visit(byte tag, String pair, ByteBuffer buf);
+    }
+}
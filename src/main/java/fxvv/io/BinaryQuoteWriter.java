@@ -0,0 +1,24 @@
+package main.java.fxvv.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import main.java.fxvv.market.QuoteSink;
+import main.java.fxvv.market.SmileQuote;
+
+// Writes quotes in BinaryFormat; as a QuoteSink it converts a CSV file in one pass:
+// QuoteReader.read(csv, writer).
+public final class BinaryQuoteWriter extends BinaryRecordWriter implements QuoteSink {
+
+    public BinaryQuoteWriter(Path path) throws IOException {
+        super(path, BinaryFormat.QUOTES_MAGIC);
+    }
+
+    @Override
+    public void accept(String pair, double S, double rd, double rf, SmileQuote q) {
+        ByteBuffer buf = begin(pair);
+        buf.put(BinaryFormat.TAG_QUOTE).putShort(pairId(pair))
+                .putDouble(q.T).putDouble(q.sigmaATM).putDouble(q.rr25).putDouble(q.bf25)
+                .putDouble(S).putDouble(rd).putDouble(rf);
+    }
+}
@@ -0,0 +1,78 @@
+package main.java.fxvv.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+// Buffered writer shared by the quote and trade writers: emits the header, assigns pair ids on first
+// use and flushes whole records through a direct buffer.
+abstract class BinaryRecordWriter implements AutoCloseable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final Map<String, Integer> pairIds = new HashMap<>();
+
+    BinaryRecordWriter(Path path, int magic) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buf.putInt(magic).putInt(BinaryFormat.VERSION);
+    }
+
+    // Returns a buffer with room for one record, after writing the pair definition if needed.
+    final ByteBuffer begin(String pair) {
+        Integer id = pairIds.get(pair);
+        if (id == null) {
+            byte[] name = pair.getBytes(StandardCharsets.US_ASCII);
+            if (name.length > BinaryFormat.MAX_PAIR_NAME) {
+                throw new IllegalArgumentException("BinaryFormat: pair name too long: " + pair);
+            }
+            if (pairIds.size() >= BinaryFormat.MAX_PAIRS) {
+                throw new IllegalArgumentException("BinaryFormat: more than " + BinaryFormat.MAX_PAIRS + " pairs.");
+            }
+            id = pairIds.size();
+            pairIds.put(pair, id);
+            ensure(BinaryFormat.MAX_RECORD_BYTES);
+            buf.put(BinaryFormat.TAG_PAIR).putShort((short) (int) id).put((byte) name.length).put(name);
+        }
+        ensure(BinaryFormat.MAX_RECORD_BYTES);
+        return buf;
+    }
+
+    final short pairId(String pair) {
+        return (short) (int) pairIds.get(pair);
+    }
+
+    private void ensure(int bytes) {
+        if (buf.remaining() < bytes) flush();
+    }
+
+    private void flush() {
+        buf.flip();
+        try {
+            while (buf.hasRemaining()) channel.write(buf);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buf.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package main.java.fxvv.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import main.java.fxvv.portfolio.Trade;
+
+public final class BinaryTradeWriter extends BinaryRecordWriter implements Consumer<Trade> {
+
+    public BinaryTradeWriter(Path path) throws IOException {
+        super(path, BinaryFormat.TRADES_MAGIC);
+    }
+
+    @Override
+    public void accept(Trade t) {
+        ByteBuffer buf = begin(t.pair);
+        buf.put(BinaryFormat.TAG_TRADE_NOTIONAL).putShort(pairId(t.pair))
+                .putDouble(t.expiry).putDouble(t.strike).put((byte) t.type.ordinal()).putDouble(t.notional);
+    }
+}
@@ -0,0 +1,130 @@
+package main.java.fxvv.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+// Line/field cursor over a memory-mapped CSV file. Fields are exposed as byte ranges of the mapped
+// buffer; blank lines and lines starting with '#' are skipped, a trailing '\r' is ignored.
+final class CsvCursor implements AutoCloseable {
+
+    private final MappedInput in;
+    private final String file;
+    private MappedByteBuffer buf;
+
+    private int next;      // buffer index of the next line start
+    private int lineEnd;   // exclusive, '\r' stripped
+    private int cursor;    // next field start, lineEnd + 1 once the line is exhausted
+    private long lineNumber;
+
+    int fieldStart;
+    int fieldEnd;
+
+    CsvCursor(Path path) throws IOException {
+        this(path, MappedInput.DEFAULT_WINDOW);
+    }
+
+    CsvCursor(Path path, long window) throws IOException {
+        this.in = new MappedInput(path, window);
+        this.file = path.getFileName().toString();
+        this.buf = in.buffer();
+    }
+
+    MappedByteBuffer buffer() {
+        return buf;
+    }
+
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    boolean nextLine() throws IOException {
+        while (true) {
+            if (in.base() + next >= in.size()) return false;
+
+            int limit = buf.limit();
+            int nl = indexOfNewline(next, limit);
+            if (nl < 0 && !in.atTail()) {
+                buf = in.remap(in.base() + next);
+                next = 0;
+                limit = buf.limit();
+                nl = indexOfNewline(0, limit);
+                if (nl < 0 && !in.atTail()) {
+                    throw new IOException(file + ": line " + (lineNumber + 1) + " exceeds the mapping window.");
+                }
+            }
+
+            int start = next;
+            int end = (nl < 0) ? limit : nl;
+            next = (nl < 0) ? limit : nl + 1;
+            lineNumber++;
+            if (end > start && buf.get(end - 1) == '\r') end--;
+            if (end == start || buf.get(start) == '#') continue;
+
+            lineEnd = end;
+            cursor = start;
+            return true;
+        }
+    }
+
+    boolean nextField() {
+        if (cursor > lineEnd) return false;
+        int i = cursor;
+        while (i < lineEnd && buf.get(i) != ',') i++;
+        int from = cursor, to = i;
+        while (from < to && buf.get(from) == ' ') from++;
+        while (to > from && buf.get(to - 1) == ' ') to--;
+        fieldStart = from;
+        fieldEnd = to;
+        cursor = i + 1;
+        return true;
+    }
+
+    void requireField(String name) {
+        if (!nextField()) throw error("missing field " + name);
+    }
+
+    double doubleField(String name) {
+        requireField(name);
+        try {
+            return AsciiNumbers.parseDouble(buf, fieldStart, fieldEnd);
+        } catch (NumberFormatException ex) {
+            throw error("field " + name + " is not a number: '" + fieldText() + "'");
+        }
+    }
+
+    // As doubleField, or missing when the line has no further field.
+    double doubleField(String name, double missing) {
+        return (cursor > lineEnd) ? missing : doubleField(name);
+    }
+
+    boolean fieldEqualsIgnoreCase(String ascii) {
+        if (fieldEnd - fieldStart != ascii.length()) return false;
+        for (int i = 0; i < ascii.length(); i++) {
+            if (Character.toUpperCase((char) buf.get(fieldStart + i)) != Character.toUpperCase(ascii.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String fieldText() {
+        return AsciiNumbers.ascii(buf, fieldStart, fieldEnd);
+    }
+
+    IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(file + ": line " + lineNumber + ": " + message);
+    }
+
+    private int indexOfNewline(int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buf.get(i) == '\n') return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,68 @@
+package main.java.fxvv.io;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Read-only view of a file through a sliding memory-mapped window, so files larger than one
+// MappedByteBuffer (2 GB) stream without copying through the heap.
+final class MappedInput implements AutoCloseable {
+
+    static final long DEFAULT_WINDOW = 1L << 28;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long window;
+
+    private long base; // file offset of buffer index 0
+    private MappedByteBuffer buffer;
+
+    MappedInput(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW);
+    }
+
+    MappedInput(Path path, long window) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.window = Math.min(window, Integer.MAX_VALUE);
+        map(0L);
+    }
+
+    long size() {
+        return size;
+    }
+
+    long base() {
+        return base;
+    }
+
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    // True when the current window reaches the end of the file.
+    boolean atTail() {
+        return base + buffer.limit() >= size;
+    }
+
+    // Remaps so that the window starts at the given file offset; returns the new buffer.
+    MappedByteBuffer remap(long offset) throws IOException {
+        map(offset);
+        return buffer;
+    }
+
+    private void map(long offset) throws IOException {
+        long length = Math.min(window, size - offset);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        base = offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
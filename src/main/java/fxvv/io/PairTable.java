@@ -0,0 +1,59 @@
+package main.java.fxvv.io;
+
+import java.nio.ByteBuffer;
+
+// Interns pair names straight from bytes: a String is allocated only the first time a pair is seen.
+// One table per reader; not thread-safe.
+final class PairTable {
+
+    private String[] names = new String[64];
+    private byte[][] bytes = new byte[64][];
+    private int size;
+
+    String intern(ByteBuffer buf, int from, int to) {
+        int mask = names.length - 1;
+        int slot = hash(buf, from, to) & mask;
+        while (names[slot] != null) {
+            if (matches(bytes[slot], buf, from, to)) return names[slot];
+            slot = (slot + 1) & mask;
+        }
+
+        String name = AsciiNumbers.ascii(buf, from, to);
+        byte[] key = new byte[to - from];
+        buf.get(from, key);
+        names[slot] = name;
+        bytes[slot] = key;
+        if (++size * 2 > names.length) grow();
+        return name;
+    }
+
+    private void grow() {
+        String[] oldNames = names;
+        byte[][] oldBytes = bytes;
+        names = new String[oldNames.length * 2];
+        bytes = new byte[oldNames.length * 2][];
+        int mask = names.length - 1;
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] == null) continue;
+            ByteBuffer key = ByteBuffer.wrap(oldBytes[i]);
+            int slot = hash(key, 0, oldBytes[i].length) & mask;
+            while (names[slot] != null) slot = (slot + 1) & mask;
+            names[slot] = oldNames[i];
+            bytes[slot] = oldBytes[i];
+        }
+    }
+
+    private static int hash(ByteBuffer buf, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) h = 31 * h + buf.get(i);
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(byte[] key, ByteBuffer buf, int from, int to) {
+        if (key.length != to - from) return false;
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != buf.get(from + i)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package main.java.fxvv.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import main.java.fxvv.market.QuoteSink;
+import main.java.fxvv.market.SmileQuote;
+
+// Streams smile quotes from a memory-mapped file into a QuoteSink. Accepts CSV rows
+//   pair,T,sigmaATM,rr25,bf25,S,rd,rf
+// (optional header line starting with "pair", '#' comments) or the BinaryFormat quote file, detected
+// by its magic number. Numbers are parsed in place; only the first occurrence of a pair allocates.
+public final class QuoteReader {
+
+    private static final String[] FIELDS = {"T", "sigmaATM", "rr25", "bf25", "S", "rd", "rf"};
+
+    private QuoteReader() {}
+
+    // Returns the number of quotes delivered.
+    public static long read(Path path, QuoteSink sink) throws IOException {
+        if (BinaryFormat.magic(path) == BinaryFormat.QUOTES_MAGIC) {
+            return BinaryFormat.read(path, BinaryFormat.QUOTES_MAGIC, (tag, pair, buf) -> binaryQuote(tag, pair, buf, sink));
+        }
+        return readCsv(path, sink);
+    }
+
+    private static long readCsv(Path path, QuoteSink sink) throws IOException {
+        PairTable pairs = new PairTable();
+        double[] v = new double[FIELDS.length];
+        long count = 0L;
+
+        try (CsvCursor csv = new CsvCursor(path)) {
+            boolean first = true;
+            while (csv.nextLine()) {
+                csv.requireField("pair");
+                boolean header = first && csv.fieldEqualsIgnoreCase("pair");
+                first = false;
+                if (header) continue;
+                String pair = pairs.intern(csv.buffer(), csv.fieldStart, csv.fieldEnd);
+
+                for (int i = 0; i < FIELDS.length; i++) v[i] = csv.doubleField(FIELDS[i]);
+                if (csv.nextField()) throw csv.error("expected " + (FIELDS.length + 1) + " fields");
+
+                sink.accept(pair, v[4], v[5], v[6], new SmileQuote(v[0], v[1], v[2], v[3]));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void binaryQuote(byte tag, String pair, ByteBuffer buf, QuoteSink sink) {
+        if (tag != BinaryFormat.TAG_QUOTE) {
+            throw new IllegalArgumentException("QuoteReader: unexpected record tag " + tag);
+        }
+        double T = buf.getDouble();
+        double sigmaATM = buf.getDouble();
+        double rr25 = buf.getDouble();
+        double bf25 = buf.getDouble();
+        double S = buf.getDouble();
+        double rd = buf.getDouble();
+        double rf = buf.getDouble();
+        sink.accept(pair, S, rd, rf, new SmileQuote(T, sigmaATM, rr25, bf25));
+    }
+}
@@ -0,0 +1,290 @@
+package main.java.fxvv.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.SliceBook;
+import main.java.fxvv.market.VolSurface;
+import main.java.fxvv.market.VolSurfaceBuilder;
+import main.java.fxvv.pricer.SliceCacheSource;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+
+// Versioned little-endian snapshot of calibrated surfaces and their VV slice caches, so a restarted process
+// serves prices without recalibrating slices or re-solving pillar matrices, strike grids and weights:
+//   header : int magic, int version, int pairs, int slices, short length, ASCII VannaVolgaPricer.cacheSignature()
+//   pair   : byte length, ASCII name, double S, int first slice, int slice count   (per pair)
+//   slice  : double S, rd, rf, T, sigmaATM, sigma25P, sigma25C, K_ATM, K_25P, K_25C,
+//            long image offset, int image length (0 = no cache), int reserved      (per slice, SLICE_BYTES)
+//   images : VannaVolgaPricer.exportCache images, back to back
+//
+// open() maps only the header and tables. Slices are materialized by surfaces() and their cache images mapped
+// from the file on first use: attached to a pricer via restoreFrom, a slice cache is read back the first time
+// the slice is priced, and slices never priced cost nothing beyond their table entry.
+public final class SliceSnapshot implements SliceCacheSource, AutoCloseable {
+
+    static final int MAGIC = 0x53565846; // "FXVS"
+    static final int VERSION = 2;
+    static final int SLICE_BYTES = 96;
+
+    private static final int FIXED_HEADER_BYTES = 18;
+
+    private final String file;
+    private final FileChannel channel;
+    private final String signature;
+    private final String[] pairs;
+    private final double[] spots;
+    private final int[] firstSlice;
+    private final int[] sliceCount;
+    private final ByteBuffer sliceTable;
+
+    // Slices handed out by surfaces() to their table index. Weak keys (MarketSlice keeps identity equality), so
+    // neither this map nor the pricer's weak slice caches keep a dropped surface alive.
+    private final Map<MarketSlice, Integer> issued = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private SliceSnapshot(Path path) throws IOException {
+        this.file = path.getFileName().toString();
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, FIXED_HEADER_BYTES))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (size < FIXED_HEADER_BYTES || head.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException(file + ": not a slice snapshot file.");
+            }
+            int version = head.getInt(4);
+            if (version != VERSION) {
+                throw new IllegalArgumentException(file + ": unsupported snapshot version " + version + ".");
+            }
+            int pairCount = head.getInt(8);
+            int slices = head.getInt(12);
+            int sigLength = head.getShort(16) & 0xFFFF;
+            if (pairCount < 0 || slices < 0) {
+                throw new IllegalArgumentException(file + ": negative pair or slice count.");
+            }
+
+            // Pair names are variable length, so map generously and walk.
+            long tablesEnd = Math.min(size, FIXED_HEADER_BYTES + sigLength + pairCount * (1L + 255 + 16)
+                    + (long) slices * SLICE_BYTES);
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, tablesEnd);
+            buf.order(ByteOrder.LITTLE_ENDIAN).position(FIXED_HEADER_BYTES);
+            if (buf.remaining() < sigLength) {
+                throw new IllegalArgumentException(file + ": truncated header.");
+            }
+            byte[] sig = new byte[sigLength];
+            buf.get(sig);
+            this.signature = new String(sig, StandardCharsets.US_ASCII);
+
+            this.pairs = new String[pairCount];
+            this.spots = new double[pairCount];
+            this.firstSlice = new int[pairCount];
+            this.sliceCount = new int[pairCount];
+            for (int p = 0; p < pairCount; p++) {
+                if (!buf.hasRemaining() || buf.remaining() < 1 + (buf.get(buf.position()) & 0xFF) + 16) {
+                    throw new IllegalArgumentException(file + ": truncated pair table.");
+                }
+                byte[] name = new byte[buf.get() & 0xFF];
+                buf.get(name);
+                pairs[p] = new String(name, StandardCharsets.US_ASCII);
+                spots[p] = buf.getDouble();
+                firstSlice[p] = buf.getInt();
+                sliceCount[p] = buf.getInt();
+                if (firstSlice[p] < 0 || sliceCount[p] < 0 || (long) firstSlice[p] + sliceCount[p] > slices) {
+                    throw new IllegalArgumentException(file + ": pair " + pairs[p] + " spans slices " + firstSlice[p]
+                            + ".." + ((long) firstSlice[p] + sliceCount[p]) + " of a " + slices + "-slice table.");
+                }
+            }
+            if (buf.remaining() < (long) slices * SLICE_BYTES) {
+                throw new IllegalArgumentException(file + ": truncated slice table.");
+            }
+            this.sliceTable = buf.slice(buf.position(), slices * SLICE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            for (int i = 0; i < slices; i++) {
+                long offset = imageOffset(i);
+                int length = imageLength(i);
+                if (length < 0 || (length > 0 && (offset < 0 || offset > size - length))) {
+                    throw new IllegalArgumentException(file + ": cache image of slice " + i + " (offset " + offset
+                            + ", length " + length + ") lies outside the " + size + "-byte file.");
+                }
+            }
+        } catch (RuntimeException | IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public static SliceSnapshot open(Path path) throws IOException {
+        return new SliceSnapshot(path);
+    }
+
+    // Writes every pillar slice of surfaces, with its cache image when pricer (may be null) has built one;
+    // warm the slices first to persist all of them. Returns the number of slices written.
+    public static int write(Path path, Map<String, VolSurface> surfaces, VannaVolgaPricer pricer) throws IOException {
+        byte[] sig = (pricer == null) ? new byte[0] : pricer.cacheSignature().getBytes(StandardCharsets.US_ASCII);
+        List<MarketSlice> slices = new ArrayList<>();
+        List<ByteBuffer> images = new ArrayList<>();
+        int pairBytes = 0;
+        for (VolSurface surface : surfaces.values()) {
+            int nameBytes = surface.pair.getBytes(StandardCharsets.US_ASCII).length;
+            if (nameBytes > 255) {
+                throw new IllegalArgumentException("SliceSnapshot: pair name too long: " + surface.pair);
+            }
+            pairBytes += 1 + nameBytes + 16;
+            for (int i = 0; i < surface.size(); i++) {
+                MarketSlice s = surface.slice(i);
+                slices.add(s);
+                images.add((pricer == null) ? null : pricer.exportCache(s));
+            }
+        }
+
+        int tablesBytes = FIXED_HEADER_BYTES + sig.length + pairBytes + slices.size() * SLICE_BYTES;
+        ByteBuffer tables = ByteBuffer.allocate(tablesBytes).order(ByteOrder.LITTLE_ENDIAN);
+        tables.putInt(MAGIC).putInt(VERSION).putInt(surfaces.size()).putInt(slices.size())
+                .putShort((short) sig.length).put(sig);
+        int first = 0;
+        for (VolSurface surface : surfaces.values()) {
+            byte[] name = surface.pair.getBytes(StandardCharsets.US_ASCII);
+            tables.put((byte) name.length).put(name).putDouble(surface.S).putInt(first).putInt(surface.size());
+            first += surface.size();
+        }
+        long offset = tablesBytes;
+        for (int i = 0; i < slices.size(); i++) {
+            MarketSlice s = slices.get(i);
+            ByteBuffer image = images.get(i);
+            int length = (image == null) ? 0 : image.remaining();
+            tables.putDouble(s.S).putDouble(s.rd).putDouble(s.rf).putDouble(s.T)
+                    .putDouble(s.sigmaATM).putDouble(s.sigma25P).putDouble(s.sigma25C)
+                    .putDouble(s.K_ATM).putDouble(s.K_25P).putDouble(s.K_25C)
+                    .putLong(offset).putInt(length).putInt(0);
+            offset += length;
+        }
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(ch, tables.flip());
+            for (ByteBuffer image : images) {
+                if (image != null) writeFully(ch, image.duplicate());
+            }
+        }
+        return slices.size();
+    }
+
+    public int pairCount() {
+        return pairs.length;
+    }
+
+    public int sliceCount() {
+        return sliceTable.capacity() / SLICE_BYTES;
+    }
+
+    // Number of slices stored with a cache image.
+    public int cachedSliceCount() {
+        int n = 0;
+        for (int i = 0; i < sliceCount(); i++) {
+            if (imageLength(i) > 0) n++;
+        }
+        return n;
+    }
+
+    // Surfaces in file order over fresh slice objects; their caches restore lazily in any pricer attached with
+    // restoreFrom (see attach). Nothing is recalibrated.
+    public Map<String, VolSurface> surfaces(VolSurfaceBuilder builder) {
+        Map<String, VolSurface> surfaces = new LinkedHashMap<>();
+        for (int p = 0; p < pairs.length; p++) {
+            MarketSlice[] slices = new MarketSlice[sliceCount[p]];
+            for (int i = 0; i < slices.length; i++) {
+                int index = firstSlice[p] + i;
+                slices[i] = slice(index);
+                issued.put(slices[i], index);
+            }
+            surfaces.put(pairs[p], builder.fromSlices(pairs[p], spots[p], slices));
+        }
+        return surfaces;
+    }
+
+    // pricer.restoreFrom(this); throws when the pricer's cache signature differs from the writer's.
+    public void attach(VannaVolgaPricer pricer) {
+        pricer.restoreFrom(this);
+    }
+
+    // Adds every slice to book in file order, with its pillar solve when the snapshot has a cache for it, for
+    // pricing by pricer; throws, like attach, when pricer's cache signature differs from the writer's and there
+    // are pillar solves to copy. Returns the id of the first slice added.
+    public int copyInto(SliceBook book, VannaVolgaPricer pricer) {
+        if (cachedSliceCount() > 0 && !signature.equals(pricer.cacheSignature())) {
+            throw new IllegalArgumentException(file + ": cache images were written by a pricer configured as "
+                    + signature + ", this one is " + pricer.cacheSignature() + ".");
+        }
+        int first = book.size();
+        double[] inverse = new double[9];
+        for (int i = 0; i < sliceCount(); i++) {
+            int id = book.add(slice(i));
+            ByteBuffer image = image(i);
+            if (image == null) continue;
+            for (int k = 0; k < 9; k++) inverse[k] = image.getDouble();
+            book.setPillarSolve(id, inverse, image.getDouble());
+        }
+        return first;
+    }
+
+    @Override
+    public String cacheSignature() {
+        return signature;
+    }
+
+    @Override
+    public ByteBuffer cacheImage(MarketSlice slice) {
+        Integer index = issued.get(slice);
+        return (index == null) ? null : image(index);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private MarketSlice slice(int index) {
+        int base = index * SLICE_BYTES;
+        ByteBuffer t = sliceTable;
+        return new MarketSlice(t.getDouble(base), t.getDouble(base + 8), t.getDouble(base + 16), t.getDouble(base + 24),
+                t.getDouble(base + 32), t.getDouble(base + 40), t.getDouble(base + 48),
+                t.getDouble(base + 56), t.getDouble(base + 64), t.getDouble(base + 72));
+    }
+
+    private long imageOffset(int index) {
+        return sliceTable.getLong(index * SLICE_BYTES + 80);
+    }
+
+    private int imageLength(int index) {
+        return sliceTable.getInt(index * SLICE_BYTES + 88);
+    }
+
+    // Maps the slice's image on demand (its bounds were checked by the constructor); null when it has none or
+    // the snapshot is closed.
+    private ByteBuffer image(int index) {
+        int length = imageLength(index);
+        if (length == 0 || !channel.isOpen()) return null;
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, imageOffset(index), length)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(file + ": cannot map cache image of slice " + index, ex);
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+}
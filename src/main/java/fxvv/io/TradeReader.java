@@ -0,0 +1,74 @@
+package main.java.fxvv.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import main.java.fxvv.portfolio.Trade;
+import main.java.fxvv.portfolio.TradeType;
+
+// Streams trades from a memory-mapped file. CSV rows are pair,expiry,strike,type[,notional] with type one of
+// the TradeType names (case-insensitive) and a signed notional defaulting to 1; the BinaryFormat trade file
+// is detected by its magic number.
+public final class TradeReader {
+
+    private static final TradeType[] TYPES = TradeType.values();
+
+    private TradeReader() {}
+
+    // Returns the number of trades delivered.
+    public static long read(Path path, Consumer<? super Trade> sink) throws IOException {
+        if (BinaryFormat.magic(path) == BinaryFormat.TRADES_MAGIC) {
+            return BinaryFormat.read(path, BinaryFormat.TRADES_MAGIC, (tag, pair, buf) -> binaryTrade(tag, pair, buf, sink));
+        }
+        return readCsv(path, sink);
+    }
+
+    private static long readCsv(Path path, Consumer<? super Trade> sink) throws IOException {
+        PairTable pairs = new PairTable();
+        long count = 0L;
+
+        try (CsvCursor csv = new CsvCursor(path)) {
+            boolean first = true;
+            while (csv.nextLine()) {
+                csv.requireField("pair");
+                boolean header = first && csv.fieldEqualsIgnoreCase("pair");
+                first = false;
+                if (header) continue;
+                String pair = pairs.intern(csv.buffer(), csv.fieldStart, csv.fieldEnd);
+
+                double expiry = csv.doubleField("expiry");
+                double strike = csv.doubleField("strike");
+                csv.requireField("type");
+                TradeType type = tradeType(csv);
+                double notional = csv.doubleField("notional", 1.0);
+                if (csv.nextField()) throw csv.error("expected 4 or 5 fields");
+
+                sink.accept(new Trade(pair, expiry, strike, type, notional));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static TradeType tradeType(CsvCursor csv) {
+        for (TradeType t : TYPES) {
+            if (csv.fieldEqualsIgnoreCase(t.name())) return t;
+        }
+        throw csv.error("unknown trade type '" + csv.fieldText() + "'");
+    }
+
+    private static void binaryTrade(byte tag, String pair, ByteBuffer buf, Consumer<? super Trade> sink) {
+        if (tag != BinaryFormat.TAG_TRADE && tag != BinaryFormat.TAG_TRADE_NOTIONAL) {
+            throw new IllegalArgumentException("TradeReader: unexpected record tag " + tag);
+        }
+        double expiry = buf.getDouble();
+        double strike = buf.getDouble();
+        int type = buf.get() & 0xFF;
+        if (type >= TYPES.length) {
+            throw new IllegalArgumentException("TradeReader: unknown trade type ordinal " + type);
+        }
+        double notional = (tag == BinaryFormat.TAG_TRADE_NOTIONAL) ? buf.getDouble() : 1.0;
+        sink.accept(new Trade(pair, expiry, strike, TYPES[type], notional));
+    }
+}
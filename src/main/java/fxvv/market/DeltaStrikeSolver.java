@@ -0,0 +1,181 @@
+package main.java.fxvv.market;
+
+import java.util.function.DoubleUnaryOperator;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.numerics.NormalDist;
+import main.java.fxvv.numerics.RootFinder;
+
+// Delta -> strike inversion. Premium-excluded conventions are inverted in closed form via the normal
+// quantile; premium-included delta has no closed form and is root-found on the OTM side.
+public class DeltaStrikeSolver {
+
+    private static final int BRACKET_SCAN_STEPS = 240;
+    private static final int BRACKET_EXPANSIONS = 12;
+    private static final int WARM_BRACKET_EXPANSIONS = 16;
+    private static final double WARM_BRACKET_WIDTH = 1e-3; // in log-strike, doubled per expansion
+
+    private final GKBlackScholes bs;
+    private final RootFinder rootFinder;
+    private final DeltaConvention deltaConvention;
+
+    public DeltaStrikeSolver(GKBlackScholes bs, RootFinder rootFinder, DeltaConvention deltaConvention) {
+        this.bs = bs;
+        this.rootFinder = rootFinder;
+        this.deltaConvention = deltaConvention;
+    }
+
+    public double strikeFromDelta(double S, double rd, double rf, double T, double sigma,
+                                  boolean isCall, double targetDelta) {
+        switch (deltaConvention) {
+            case SPOT_PREM_EXCLUDED:
+                return closedFormStrike(S, rd, rf, T, sigma, isCall, targetDelta, GKBlackScholes.df(rf, T));
+            case FWD_PREM_EXCLUDED:
+                return closedFormStrike(S, rd, rf, T, sigma, isCall, targetDelta, 1.0);
+            default:
+                double F = GKBlackScholes.forward(S, rd, rf, T);
+                return iterativeStrike(S, rd, rf, T, sigma, isCall, targetDelta, F, sigma * Math.sqrt(T),
+                        BRACKET_EXPANSIONS);
+        }
+    }
+
+    // Warm-started variant for re-calibration: guess is a nearby strike, e.g. the previous pillar rescaled
+    // to the new forward. Closed-form conventions ignore it; the iterative path brackets tightly around it.
+    public double strikeFromDelta(double S, double rd, double rf, double T, double sigma,
+                                  boolean isCall, double targetDelta, double guess) {
+        if (deltaConvention != DeltaConvention.SPOT_PREM_INCLUDED || !(guess > 0.0)) {
+            return strikeFromDelta(S, rd, rf, T, sigma, isCall, targetDelta);
+        }
+        return iterativeStrike(S, rd, rf, T, sigma, isCall, targetDelta, guess, WARM_BRACKET_WIDTH,
+                WARM_BRACKET_EXPANSIONS);
+    }
+
+    // Call: delta = DF * N(d1), Put: delta = -DF * N(-d1), so d1 follows from the quantile and
+    // K = F * exp(-d1 * vs + vs^2 / 2).
+    private double closedFormStrike(double S, double rd, double rf, double T, double sigma,
+                                    boolean isCall, double targetDelta, double deltaScale) {
+        double F = GKBlackScholes.forward(S, rd, rf, T);
+        if (T <= 0.0) return F;
+
+        double p = (isCall ? targetDelta : -targetDelta) / deltaScale;
+        if (!(p > 0.0 && p < 1.0)) {
+            throw new IllegalArgumentException(
+                    "Delta " + targetDelta + " is unattainable for convention=" + deltaConvention
+                            + " (|delta| must lie in (0, " + deltaScale + "))");
+        }
+
+        PricingMetrics.increment(PricingMetrics.Counter.STRIKE_CLOSED_FORM);
+        NormalDist N = bs.normal();
+        double d1 = isCall ? N.inverseCdf(p) : -N.inverseCdf(p);
+        double vs = sigma * Math.sqrt(T);
+        return F * Math.exp(-d1 * vs + 0.5 * vs * vs);
+    }
+
+    private double iterativeStrike(double S, double rd, double rf, double T, double sigma,
+                                   boolean isCall, double targetDelta,
+                                   double center, double width, int expansions) {
+        double F = GKBlackScholes.forward(S, rd, rf, T);
+        PricingMetrics.increment(PricingMetrics.Counter.STRIKE_ITERATIVE);
+
+        DoubleUnaryOperator f = (K) ->
+                bs.deltaInstance(deltaConvention, isCall, S, K, T, rd, rf, sigma) - targetDelta;
+        DoubleUnaryOperator df = (K) ->
+                bs.deltaDerivativeK(deltaConvention, isCall, S, K, T, rd, rf, sigma);
+        DoubleUnaryOperator d2f = (K) ->
+                bs.deltaSecondDerivativeK(deltaConvention, isCall, S, K, T, rd, rf, sigma);
+
+        double[] scanRange = scanRange(F, isCall);
+        double[] bracket = findBracketAround(f, center, width, expansions, scanRange[0], scanRange[1]);
+        if (bracket == null) {
+            bracket = findBracketByScan(f, scanRange[0], scanRange[1], targetDelta);
+        }
+        if (bracket[0] == bracket[1]) return bracket[0];
+
+        double guess = Math.sqrt(bracket[0] * bracket[1]);
+        return rootFinder.solve(f, df, d2f, bracket[0], bracket[1], guess);
+    }
+
+    // Delta is monotone in K on the scan range, so expanding geometrically from the centre (F, or a
+    // warm-start guess) brackets the root in a handful of evaluations; null means fall back to the scan.
+    private double[] findBracketAround(DoubleUnaryOperator f, double center, double initialWidth, int expansions,
+                                       double minK, double maxK) {
+        double width = Math.max(initialWidth, 1e-4);
+        double lo = Math.max(minK, center * Math.exp(-width));
+        double hi = Math.min(maxK, center * Math.exp(width));
+        if (!(lo < hi)) return null;
+
+        double flo = f.applyAsDouble(lo);
+        double fhi = f.applyAsDouble(hi);
+
+        for (int i = 0; i < expansions; i++) {
+            if (Double.isNaN(flo) || Double.isNaN(fhi)) return null;
+            if (flo == 0.0) return new double[]{lo, lo};
+            if (fhi == 0.0) return new double[]{hi, hi};
+            if (flo * fhi < 0.0) return new double[]{lo, hi};
+            if (lo <= minK && hi >= maxK) return null;
+
+            width *= 2.0;
+            PricingMetrics.increment(PricingMetrics.Counter.BRACKET_EXPANSION);
+            if (lo > minK) {
+                lo = Math.max(minK, center * Math.exp(-width));
+                flo = f.applyAsDouble(lo);
+            }
+            if (hi < maxK) {
+                hi = Math.min(maxK, center * Math.exp(width));
+                fhi = f.applyAsDouble(hi);
+            }
+        }
+        return null;
+    }
+
+    private double[] scanRange(double F, boolean isCall) {
+        double minK = 0.05 * F;
+        double maxK = 20.0 * F;
+
+        if (deltaConvention == DeltaConvention.SPOT_PREM_INCLUDED) {
+            // Premium-included delta can be non-monotonic over (0, +inf); use OTM side only.
+            if (isCall) {
+                return new double[]{Math.max(F, minK), maxK};
+            }
+            return new double[]{minK, Math.min(F, maxK)};
+        }
+
+        return new double[]{minK, maxK};
+    }
+
+    private double[] findBracketByScan(DoubleUnaryOperator f, double lo, double hi, double targetDelta) {
+        double prevK = lo;
+        double prevV = f.applyAsDouble(prevK);
+
+        if (Double.isNaN(prevV)) {
+            throw new IllegalArgumentException("Delta inversion produced NaN at K=" + prevK);
+        }
+
+        for (int i = 1; i <= BRACKET_SCAN_STEPS; i++) {
+            double t = (double) i / (double) BRACKET_SCAN_STEPS;
+            double k = lo * Math.pow(hi / lo, t);
+            double v = f.applyAsDouble(k);
+            PricingMetrics.increment(PricingMetrics.Counter.BRACKET_SCAN_STEP);
+
+            if (Double.isNaN(v)) {
+                continue;
+            }
+            if (prevV == 0.0) {
+                return new double[]{prevK, prevK};
+            }
+            if (prevV * v <= 0.0) {
+                return new double[]{prevK, k};
+            }
+
+            prevK = k;
+            prevV = v;
+        }
+
+        throw new IllegalArgumentException(
+                "Could not bracket delta->strike root for convention=" + deltaConvention
+                        + ", targetDelta=" + targetDelta
+                        + ", strikeRange=[" + lo + ", " + hi + "]"
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package main.java.fxvv.market;
 
+import main.java.fxvv.bs.GKBlackScholes;
+
 public class MarketSlice {
     public final double S;
     public final double rd;
@@ -14,11 +16,19 @@ public class MarketSlice {
     public final double K_25P;
     public final double K_25C;
 
+    // Derived once per slice and shared by every strike priced on it.
+    public final double F;
+    public final double DFd;
+    public final double DFf;
+
     public MarketSlice(double S, double rd, double rf, double T,
                        double sigmaATM, double sigma25P, double sigma25C,
                        double K_ATM, double K_25P, double K_25C) {
         this.S = S; this.rd = rd; this.rf = rf; this.T = T;
         this.sigmaATM = sigmaATM; this.sigma25P = sigma25P; this.sigma25C = sigma25C;
         this.K_ATM = K_ATM; this.K_25P = K_25P; this.K_25C = K_25C;
+        this.F = GKBlackScholes.forward(S, rd, rf, T);
+        this.DFd = GKBlackScholes.df(rd, T);
+        this.DFf = GKBlackScholes.df(rf, T);
     }
 }
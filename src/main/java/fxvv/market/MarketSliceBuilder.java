@@ -1,21 +1,20 @@
 package main.java.fxvv.market;
 
-import java.util.function.DoubleUnaryOperator;
 import main.java.fxvv.bs.GKBlackScholes;
 import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.metrics.SliceCalibrationEvent;
 import main.java.fxvv.numerics.RootFinder;
 
 public class MarketSliceBuilder {
 
-    private static final int BRACKET_SCAN_STEPS = 240;
-
     private final GKBlackScholes bs;
-    private final RootFinder rootFinder;
+    private final DeltaStrikeSolver strikeSolver;
     private final DeltaConvention deltaConvention;
 
     public MarketSliceBuilder(GKBlackScholes bs, RootFinder rootFinder, DeltaConvention deltaConvention) {
         this.bs = bs;
-        this.rootFinder = rootFinder;
+        this.strikeSolver = new DeltaStrikeSolver(bs, rootFinder, deltaConvention);
         this.deltaConvention = deltaConvention;
     }
 
@@ -25,83 +24,119 @@ public class MarketSliceBuilder {
     }
 
     public MarketSlice build(double S, double rd, double rf, SmileQuote q) {
-        if (bs == null) {
-            throw new IllegalStateException("MarketSliceBuilder requires GKBlackScholes injection to compute deltas.");
-        }
+        requireBs();
+        long start = PricingMetrics.startTimer();
+        SliceCalibrationEvent event = PricingMetrics.JFR_ENABLED ? new SliceCalibrationEvent() : null;
+        if (event != null) event.begin();
 
-        double T = q.T;
+        double[] K = pillarStrikes(S, rd, rf, q);
+        MarketSlice slice = new MarketSlice(S, rd, rf, q.T, q.sigmaATM, q.sigma25P(), q.sigma25C(), K[0], K[1], K[2]);
 
-        double sigmaATM = q.sigmaATM;
-        double sigma25P = q.sigma25P();
-        double sigma25C = q.sigma25C();
+        recordBuild(event, q.T, start);
+        return slice;
+    }
 
-        double F = GKBlackScholes.forward(S, rd, rf, T);
-        double K_ATM = F; // ATM-forward proxy
+    // Calibrates straight into a columnar book, without a MarketSlice object; returns the new slice id.
+    public int buildInto(SliceBook book, double S, double rd, double rf, SmileQuote q) {
+        requireBs();
+        long start = PricingMetrics.startTimer();
+        SliceCalibrationEvent event = PricingMetrics.JFR_ENABLED ? new SliceCalibrationEvent() : null;
+        if (event != null) event.begin();
 
-        double K_25C = strikeFromDelta(S, rd, rf, T, sigma25C, true, 0.25);
-        double K_25P = strikeFromDelta(S, rd, rf, T, sigma25P, false, -0.25);
+        double[] K = pillarStrikes(S, rd, rf, q);
+        int id = book.add(S, rd, rf, q.T, q.sigmaATM, q.sigma25P(), q.sigma25C(), K[0], K[1], K[2]);
 
-        return new MarketSlice(S, rd, rf, T, sigmaATM, sigma25P, sigma25C, K_ATM, K_25P, K_25C);
+        recordBuild(event, q.T, start);
+        return id;
     }
 
-    private double strikeFromDelta(double S, double rd, double rf, double T, double sigma,
-                                   boolean isCall, double targetDelta) {
-        double F = GKBlackScholes.forward(S, rd, rf, T);
+    // Recalibrates slice id of book in place; the pricer has to prepare it again.
+    public void rebuildInto(SliceBook book, int id, double S, double rd, double rf, SmileQuote q) {
+        requireBs();
+        long start = PricingMetrics.startTimer();
+        SliceCalibrationEvent event = PricingMetrics.JFR_ENABLED ? new SliceCalibrationEvent() : null;
+        if (event != null) event.begin();
 
-        DoubleUnaryOperator f = (K) ->
-                bs.deltaInstance(deltaConvention, isCall, S, K, T, rd, rf, sigma) - targetDelta;
+        double[] K = pillarStrikes(S, rd, rf, q);
+        book.set(id, S, rd, rf, q.T, q.sigmaATM, q.sigma25P(), q.sigma25C(), K[0], K[1], K[2]);
+
+        recordBuild(event, q.T, start);
+    }
+
+    // [K_ATM, K_25P, K_25C]
+    private double[] pillarStrikes(double S, double rd, double rf, SmileQuote q) {
+        double T = q.T;
+        double F = GKBlackScholes.forward(S, rd, rf, T);
+        double K_ATM = F; // ATM-forward proxy
 
-        double[] scanRange = scanRange(F, isCall);
-        double[] bracket = findBracketByScan(f, scanRange[0], scanRange[1], targetDelta);
-        return rootFinder.solve(f, bracket[0], bracket[1]);
+        double K_25C = strikeSolver.strikeFromDelta(S, rd, rf, T, q.sigma25C(), true, 0.25);
+        double K_25P = strikeSolver.strikeFromDelta(S, rd, rf, T, q.sigma25P(), false, -0.25);
+        return new double[]{K_ATM, K_25P, K_25C};
     }
 
-    private double[] scanRange(double F, boolean isCall) {
-        double minK = 0.05 * F;
-        double maxK = 20.0 * F;
+    private void recordBuild(SliceCalibrationEvent event, double T, long start) {
+        PricingMetrics.increment(PricingMetrics.Counter.SLICE_BUILD);
+        PricingMetrics.stopTimer(PricingMetrics.Histogram.SLICE_BUILD_NANOS, start);
+        if (event != null) {
+            event.expiry = T;
+            event.convention = deltaConvention.name();
+            event.commit();
+        }
+    }
 
-        if (deltaConvention == DeltaConvention.SPOT_PREM_INCLUDED) {
-            // Premium-included delta can be non-monotonic over (0, +inf); use OTM side only.
-            if (isCall) {
-                return new double[]{Math.max(F, minK), maxK};
-            }
-            return new double[]{minK, Math.min(F, maxK)};
+    private void requireBs() {
+        if (bs == null) {
+            throw new IllegalStateException("MarketSliceBuilder requires GKBlackScholes injection to compute deltas.");
         }
+    }
 
-        return new double[]{minK, maxK};
+    // Tick path: same smile quote, new spot and/or rates.
+    public MarketSlice update(MarketSlice previous, double S, double rd, double rf) {
+        return update(previous, S, rd, rf, previous.T,
+                previous.sigmaATM, previous.sigma25P, previous.sigma25C);
     }
 
-    private double[] findBracketByScan(DoubleUnaryOperator f, double lo, double hi, double targetDelta) {
-        double prevK = lo;
-        double prevV = f.applyAsDouble(prevK);
+    public MarketSlice update(MarketSlice previous, double S, double rd, double rf, SmileQuote q) {
+        return update(previous, S, rd, rf, q.T, q.sigmaATM, q.sigma25P(), q.sigma25C());
+    }
 
-        if (Double.isNaN(prevV)) {
-            throw new IllegalArgumentException("Delta inversion produced NaN at K=" + prevK);
+    // Derives a slice from previous instead of calibrating from scratch. A pillar whose vol is unchanged
+    // keeps its moneyness K/F whenever its delta does not depend on the foreign discount factor (forward
+    // delta, or unchanged rf), so its strike is rescaled to the new forward exactly; other pillars are
+    // re-solved warm-started from that rescaled strike. Pair with VannaVolgaPricer.rebase to carry the
+    // pricer caches over as well.
+    private MarketSlice update(MarketSlice previous, double S, double rd, double rf, double T,
+                               double sigmaATM, double sigma25P, double sigma25C) {
+        requireBs();
+        if (T != previous.T) {
+            return build(S, rd, rf, new SmileQuote(T, sigmaATM,
+                    sigma25C - sigma25P, 0.5 * (sigma25C + sigma25P) - sigmaATM));
         }
-
-        for (int i = 1; i <= BRACKET_SCAN_STEPS; i++) {
-            double t = (double) i / (double) BRACKET_SCAN_STEPS;
-            double k = lo * Math.pow(hi / lo, t);
-            double v = f.applyAsDouble(k);
-
-            if (Double.isNaN(v)) {
-                continue;
-            }
-            if (prevV == 0.0) {
-                return new double[]{prevK, prevK};
-            }
-            if (prevV * v <= 0.0) {
-                return new double[]{prevK, k};
-            }
-
-            prevK = k;
-            prevV = v;
+        PricingMetrics.increment(PricingMetrics.Counter.SLICE_UPDATE);
+        if (S == previous.S && rd == previous.rd && rf == previous.rf
+                && sigmaATM == previous.sigmaATM && sigma25P == previous.sigma25P && sigma25C == previous.sigma25C) {
+            return previous;
         }
 
-        throw new IllegalArgumentException(
-                "Could not bracket delta->strike root for convention=" + deltaConvention
-                        + ", targetDelta=" + targetDelta
-                        + ", strikeRange=[" + lo + ", " + hi + "]"
-        );
+        double F = GKBlackScholes.forward(S, rd, rf, T);
+        double scale = F / previous.F;
+        boolean moneynessStable = deltaConvention == DeltaConvention.FWD_PREM_EXCLUDED || rf == previous.rf;
+
+        double K_25C = updatedStrike(previous.K_25C * scale, previous.sigma25C, moneynessStable,
+                S, rd, rf, T, sigma25C, true, 0.25);
+        double K_25P = updatedStrike(previous.K_25P * scale, previous.sigma25P, moneynessStable,
+                S, rd, rf, T, sigma25P, false, -0.25);
+
+        return new MarketSlice(S, rd, rf, T, sigmaATM, sigma25P, sigma25C, F, K_25P, K_25C);
+    }
+
+    private double updatedStrike(double rescaled, double previousSigma, boolean moneynessStable,
+                                 double S, double rd, double rf, double T, double sigma,
+                                 boolean isCall, double targetDelta) {
+        if (moneynessStable && sigma == previousSigma) {
+            PricingMetrics.increment(PricingMetrics.Counter.STRIKE_RESCALED);
+            return rescaled;
+        }
+        return strikeSolver.strikeFromDelta(S, rd, rf, T, sigma, isCall, targetDelta, rescaled);
     }
 }
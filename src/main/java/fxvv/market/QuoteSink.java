@@ -0,0 +1,6 @@
+package main.java.fxvv.market;
+
+// Push-style consumer of market quote rows, e.g. from a streaming file reader.
+public interface QuoteSink {
+    void accept(String pair, double S, double rd, double rf, SmileQuote quote);
+}
@@ -0,0 +1,146 @@
+package main.java.fxvv.market;
+
+import java.util.Arrays;
+import main.java.fxvv.bs.GKBlackScholes;
+
+// Columnar store of calibrated slices, one primitive array per MarketSlice field, addressed by an int slice id.
+// Holding many slices this way costs ~23 doubles each (the slice fields plus the pillar solve) instead of a
+// MarketSlice, its pricer SliceCache and a per-slice weight table, and bulk scans walk contiguous arrays.
+// MarketSliceBuilder.buildInto calibrates into it and VannaVolgaPricer prices from it by id.
+//
+// Single writer: add/set/setPillarSolve must not run concurrently with each other. Readers on other threads
+// see every slice written before the book was handed to them (e.g. by submitting a task to a pool).
+public class SliceBook {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int size;
+
+    private double[] S, rd, rf, T;
+    private double[] sigmaATM, sigma25P, sigma25C;
+    private double[] K_ATM, K_25P, K_25C;
+    private double[] F, DFd, DFf;
+
+    // Inverse of the pillar Greek matrix, row-major, 9 per slice; NaN condition = not prepared yet.
+    private double[] pillarInverse;
+    private double[] pillarCondition;
+
+    public SliceBook() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SliceBook(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("SliceBook: capacity must be positive.");
+        }
+        allocate(initialCapacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int add(double S, double rd, double rf, double T,
+                   double sigmaATM, double sigma25P, double sigma25C,
+                   double K_ATM, double K_25P, double K_25C) {
+        if (size == this.S.length) allocate(size * 2);
+        int id = size++;
+        write(id, S, rd, rf, T, sigmaATM, sigma25P, sigma25C, K_ATM, K_25P, K_25C);
+        return id;
+    }
+
+    public int add(MarketSlice slice) {
+        return add(slice.S, slice.rd, slice.rf, slice.T, slice.sigmaATM, slice.sigma25P, slice.sigma25C,
+                slice.K_ATM, slice.K_25P, slice.K_25C);
+    }
+
+    // Overwrites slice id in place (recalibration); its pillar solve is dropped.
+    public void set(int id, double S, double rd, double rf, double T,
+                    double sigmaATM, double sigma25P, double sigma25C,
+                    double K_ATM, double K_25P, double K_25C) {
+        check(id);
+        write(id, S, rd, rf, T, sigmaATM, sigma25P, sigma25C, K_ATM, K_25P, K_25C);
+    }
+
+    // Object view of one slice for APIs that take a MarketSlice; F and the discount factors are recomputed
+    // with the same formulas, so they match the stored columns exactly.
+    public MarketSlice slice(int id) {
+        check(id);
+        return new MarketSlice(S[id], rd[id], rf[id], T[id], sigmaATM[id], sigma25P[id], sigma25C[id],
+                K_ATM[id], K_25P[id], K_25C[id]);
+    }
+
+    public double S(int id) { return S[id]; }
+    public double rd(int id) { return rd[id]; }
+    public double rf(int id) { return rf[id]; }
+    public double T(int id) { return T[id]; }
+    public double sigmaATM(int id) { return sigmaATM[id]; }
+    public double sigma25P(int id) { return sigma25P[id]; }
+    public double sigma25C(int id) { return sigma25C[id]; }
+    public double K_ATM(int id) { return K_ATM[id]; }
+    public double K_25P(int id) { return K_25P[id]; }
+    public double K_25C(int id) { return K_25C[id]; }
+    public double F(int id) { return F[id]; }
+    public double DFd(int id) { return DFd[id]; }
+    public double DFf(int id) { return DFf[id]; }
+
+    public boolean hasPillarSolve(int id) {
+        check(id);
+        return !Double.isNaN(pillarCondition[id]);
+    }
+
+    // inverse: the 3x3 inverse of the pillar Greek matrix, row-major; condition: its 1-norm condition number
+    // (any non-NaN value marks the slice prepared).
+    public void setPillarSolve(int id, double[] inverse, double condition) {
+        check(id);
+        System.arraycopy(inverse, 0, pillarInverse, 9 * id, 9);
+        pillarCondition[id] = Double.isNaN(condition) ? Double.POSITIVE_INFINITY : condition;
+    }
+
+    public double pillarCondition(int id) {
+        check(id);
+        return pillarCondition[id];
+    }
+
+    // out = M^-1 b for slice id (out may be b), allocation-free; the slice must be prepared.
+    public double[] solvePillars(int id, double[] b, double[] out) {
+        int base = 9 * id;
+        double[] m = pillarInverse;
+        double b0 = b[0], b1 = b[1], b2 = b[2];
+        out[0] = m[base] * b0 + m[base + 1] * b1 + m[base + 2] * b2;
+        out[1] = m[base + 3] * b0 + m[base + 4] * b1 + m[base + 5] * b2;
+        out[2] = m[base + 6] * b0 + m[base + 7] * b1 + m[base + 8] * b2;
+        return out;
+    }
+
+    private void write(int id, double S, double rd, double rf, double T,
+                       double sigmaATM, double sigma25P, double sigma25C,
+                       double K_ATM, double K_25P, double K_25C) {
+        this.S[id] = S; this.rd[id] = rd; this.rf[id] = rf; this.T[id] = T;
+        this.sigmaATM[id] = sigmaATM; this.sigma25P[id] = sigma25P; this.sigma25C[id] = sigma25C;
+        this.K_ATM[id] = K_ATM; this.K_25P[id] = K_25P; this.K_25C[id] = K_25C;
+        this.F[id] = GKBlackScholes.forward(S, rd, rf, T);
+        this.DFd[id] = GKBlackScholes.df(rd, T);
+        this.DFf[id] = GKBlackScholes.df(rf, T);
+        pillarCondition[id] = Double.NaN;
+    }
+
+    private void check(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("SliceBook: slice id " + id + " out of range [0, " + size + ").");
+        }
+    }
+
+    private void allocate(int capacity) {
+        S = grow(S, capacity); rd = grow(rd, capacity); rf = grow(rf, capacity); T = grow(T, capacity);
+        sigmaATM = grow(sigmaATM, capacity); sigma25P = grow(sigma25P, capacity); sigma25C = grow(sigma25C, capacity);
+        K_ATM = grow(K_ATM, capacity); K_25P = grow(K_25P, capacity); K_25C = grow(K_25C, capacity);
+        F = grow(F, capacity); DFd = grow(DFd, capacity); DFf = grow(DFf, capacity);
+        pillarInverse = grow(pillarInverse, 9 * capacity);
+        pillarCondition = grow(pillarCondition, capacity);
+    }
+
+    private static double[] grow(double[] column, int length) {
+        return (column == null) ? new double[length] : Arrays.copyOf(column, length);
+    }
+}
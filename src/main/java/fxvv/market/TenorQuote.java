@@ -0,0 +1,14 @@
+package main.java.fxvv.market;
+
+// One expiry of a surface: the smile quote plus the rates that apply to its maturity.
+public class TenorQuote {
+    public final double rd;
+    public final double rf;
+    public final SmileQuote quote;
+
+    public TenorQuote(double rd, double rf, SmileQuote quote) {
+        this.rd = rd;
+        this.rf = rf;
+        this.quote = quote;
+    }
+}
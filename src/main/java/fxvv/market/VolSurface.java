@@ -0,0 +1,101 @@
+package main.java.fxvv.market;
+
+// Calibrated slices of one currency pair, sorted by expiry. Off-pillar expiries are served by
+// interpolating each pillar's total variance (sigma^2 T) and rate*T linearly in T, flat vol outside.
+public class VolSurface {
+
+    public final String pair;
+    public final double S;
+
+    private final MarketSlice[] slices;
+    private final double[] expiries;
+    private final MarketSliceBuilder builder;
+
+    VolSurface(String pair, double S, MarketSlice[] slices, MarketSliceBuilder builder) {
+        this.pair = pair;
+        this.S = S;
+        this.slices = slices;
+        this.builder = builder;
+        this.expiries = new double[slices.length];
+        for (int i = 0; i < slices.length; i++) expiries[i] = slices[i].T;
+    }
+
+    public int size() {
+        return slices.length;
+    }
+
+    public MarketSlice slice(int i) {
+        return slices[i];
+    }
+
+    public double expiry(int i) {
+        return expiries[i];
+    }
+
+    // Spot tick: every pillar is derived from the current one via MarketSliceBuilder.update, so strikes
+    // are rescaled rather than re-solved.
+    public VolSurface withSpot(double newS) {
+        MarketSlice[] updated = new MarketSlice[slices.length];
+        for (int i = 0; i < slices.length; i++) {
+            updated[i] = builder.update(slices[i], newS, slices[i].rd, slices[i].rf);
+        }
+        return new VolSurface(pair, newS, updated, builder);
+    }
+
+    // Calibrated pillar slices are returned as-is; anything else is a freshly built slice, so callers
+    // pricing many strikes at one expiry should hold on to the result to keep pricer caches warm.
+    public MarketSlice sliceAt(double T) {
+        if (!(T > 0.0)) {
+            throw new IllegalArgumentException("VolSurface: expiry must be positive, got " + T);
+        }
+
+        int hi = upperIndex(T);
+        if (hi < slices.length && expiries[hi] == T) return slices[hi];
+
+        if (hi == 0) return flatVolSlice(slices[0], T);
+        if (hi == slices.length) return flatVolSlice(slices[slices.length - 1], T);
+
+        MarketSlice a = slices[hi - 1];
+        MarketSlice b = slices[hi];
+        double x = (T - a.T) / (b.T - a.T);
+
+        double rd = lerp(a.rd * a.T, b.rd * b.T, x) / T;
+        double rf = lerp(a.rf * a.T, b.rf * b.T, x) / T;
+        double sigmaATM = volFromTotalVariance(a.sigmaATM, a.T, b.sigmaATM, b.T, x, T);
+        double sigma25P = volFromTotalVariance(a.sigma25P, a.T, b.sigma25P, b.T, x, T);
+        double sigma25C = volFromTotalVariance(a.sigma25C, a.T, b.sigma25C, b.T, x, T);
+
+        return buildSlice(T, rd, rf, sigmaATM, sigma25P, sigma25C);
+    }
+
+    private MarketSlice flatVolSlice(MarketSlice ref, double T) {
+        return buildSlice(T, ref.rd, ref.rf, ref.sigmaATM, ref.sigma25P, ref.sigma25C);
+    }
+
+    private MarketSlice buildSlice(double T, double rd, double rf,
+                                   double sigmaATM, double sigma25P, double sigma25C) {
+        double rr25 = sigma25C - sigma25P;
+        double bf25 = 0.5 * (sigma25C + sigma25P) - sigmaATM;
+        return builder.build(S, rd, rf, new SmileQuote(T, sigmaATM, rr25, bf25));
+    }
+
+    // First index with expiry >= T.
+    private int upperIndex(double T) {
+        int lo = 0, hi = expiries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (expiries[mid] < T) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static double volFromTotalVariance(double sigmaA, double Ta, double sigmaB, double Tb,
+                                               double x, double T) {
+        double w = lerp(sigmaA * sigmaA * Ta, sigmaB * sigmaB * Tb, x);
+        return Math.sqrt(Math.max(w, 0.0) / T);
+    }
+
+    private static double lerp(double a, double b, double x) {
+        return a + (b - a) * x;
+    }
+}
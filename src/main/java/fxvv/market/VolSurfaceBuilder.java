@@ -0,0 +1,167 @@
+package main.java.fxvv.market;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+// Calibrates every (pair, tenor) slice as an independent fork-join task.
+public class VolSurfaceBuilder {
+
+    private final MarketSliceBuilder sliceBuilder;
+    private final ForkJoinPool pool;
+
+    public VolSurfaceBuilder(MarketSliceBuilder sliceBuilder) {
+        this(sliceBuilder, ForkJoinPool.commonPool());
+    }
+
+    public VolSurfaceBuilder(MarketSliceBuilder sliceBuilder, ForkJoinPool pool) {
+        this.sliceBuilder = sliceBuilder;
+        this.pool = pool;
+    }
+
+    public VolSurface build(String pair, double S, TenorQuote[] tenors) {
+        Map<String, VolSurface> built = buildAll(
+                Map.of(pair, S),
+                Map.of(pair, tenors));
+        return built.get(pair);
+    }
+
+    // Wraps already calibrated pillars (e.g. read back from a snapshot) without solving anything; slices must be
+    // sorted by expiry.
+    public VolSurface fromSlices(String pair, double S, MarketSlice[] slices) {
+        for (int i = 1; i < slices.length; i++) {
+            if (!(slices[i].T > slices[i - 1].T)) {
+                throw new IllegalArgumentException("VolSurfaceBuilder: slices of " + pair + " are not sorted by expiry.");
+            }
+        }
+        return new VolSurface(pair, S, slices.clone(), sliceBuilder);
+    }
+
+    // spots and quotesByPair must share the same key set; the result keeps quotesByPair's iteration order.
+    public Map<String, VolSurface> buildAll(Map<String, Double> spots, Map<String, TenorQuote[]> quotesByPair) {
+        List<String> pairs = new ArrayList<>(quotesByPair.keySet());
+        List<TenorQuote[]> sorted = new ArrayList<>(pairs.size());
+        List<SliceTask> tasks = new ArrayList<>();
+
+        for (String pair : pairs) {
+            Double S = spots.get(pair);
+            if (S == null) {
+                throw new IllegalArgumentException("VolSurfaceBuilder: no spot for pair " + pair);
+            }
+            TenorQuote[] tenors = sortedTenors(pair, quotesByPair.get(pair));
+            sorted.add(tenors);
+            for (TenorQuote tq : tenors) {
+                tasks.add(new SliceTask(S, tq));
+            }
+        }
+
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(tasks);
+                return null;
+            }
+        });
+
+        Map<String, VolSurface> surfaces = new LinkedHashMap<>();
+        int next = 0;
+        for (int p = 0; p < pairs.size(); p++) {
+            MarketSlice[] slices = new MarketSlice[sorted.get(p).length];
+            for (int i = 0; i < slices.length; i++) {
+                slices[i] = tasks.get(next++).join();
+            }
+            String pair = pairs.get(p);
+            surfaces.put(pair, new VolSurface(pair, spots.get(pair), slices, sliceBuilder));
+        }
+        return surfaces;
+    }
+
+    // Pipelined variant of buildAll for streamed quotes: each row is calibrated on the pool as soon as it
+    // arrives, so calibration overlaps parsing. Rows are fed from a single thread.
+    public StreamingBuild streaming() {
+        return new StreamingBuild();
+    }
+
+    private static TenorQuote[] sortedTenors(String pair, TenorQuote[] tenors) {
+        if (tenors == null || tenors.length == 0) {
+            throw new IllegalArgumentException("VolSurfaceBuilder: no tenors for pair " + pair);
+        }
+        TenorQuote[] copy = tenors.clone();
+        Arrays.sort(copy, Comparator.comparingDouble(tq -> tq.quote.T));
+        for (int i = 0; i < copy.length; i++) {
+            checkExpiry(pair, copy, i);
+        }
+        return copy;
+    }
+
+    private static void checkExpiry(String pair, TenorQuote[] sorted, int i) {
+        if (!(sorted[i].quote.T > 0.0) || (i > 0 && sorted[i].quote.T == sorted[i - 1].quote.T)) {
+            throw new IllegalArgumentException(
+                    "VolSurfaceBuilder: expiries for " + pair + " must be positive and distinct.");
+        }
+    }
+
+    public final class StreamingBuild implements QuoteSink {
+        private final Map<String, Double> spots = new LinkedHashMap<>();
+        private final Map<String, List<SliceTask>> tasksByPair = new LinkedHashMap<>();
+
+        private StreamingBuild() {}
+
+        @Override
+        public void accept(String pair, double S, double rd, double rf, SmileQuote quote) {
+            Double known = spots.putIfAbsent(pair, S);
+            if (known != null && known != S) {
+                throw new IllegalArgumentException(
+                        "VolSurfaceBuilder: conflicting spots for " + pair + ": " + known + " and " + S);
+            }
+            SliceTask task = new SliceTask(S, new TenorQuote(rd, rf, quote));
+            tasksByPair.computeIfAbsent(pair, k -> new ArrayList<>()).add(task);
+            pool.execute(task);
+        }
+
+        // Waits for every submitted calibration and assembles the surfaces in first-seen pair order.
+        public Map<String, VolSurface> finish() {
+            Map<String, VolSurface> surfaces = new LinkedHashMap<>();
+            for (Map.Entry<String, List<SliceTask>> e : tasksByPair.entrySet()) {
+                String pair = e.getKey();
+                List<SliceTask> tasks = e.getValue();
+                tasks.sort(Comparator.comparingDouble(t -> t.tenor.quote.T));
+
+                TenorQuote[] sorted = new TenorQuote[tasks.size()];
+                for (int i = 0; i < sorted.length; i++) {
+                    sorted[i] = tasks.get(i).tenor;
+                    checkExpiry(pair, sorted, i);
+                }
+                MarketSlice[] slices = new MarketSlice[sorted.length];
+                for (int i = 0; i < slices.length; i++) {
+                    slices[i] = tasks.get(i).join();
+                }
+                surfaces.put(pair, new VolSurface(pair, spots.get(pair), slices, sliceBuilder));
+            }
+            return surfaces;
+        }
+    }
+
+    private final class SliceTask extends RecursiveTask<MarketSlice> {
+        private static final long serialVersionUID = 1L;
+
+        private final double S;
+        private final TenorQuote tenor;
+
+        private SliceTask(double S, TenorQuote tenor) {
+            this.S = S;
+            this.tenor = tenor;
+        }
+
+        @Override
+        protected MarketSlice compute() {
+            return sliceBuilder.build(S, tenor.rd, tenor.rf, tenor.quote);
+        }
+    }
+}
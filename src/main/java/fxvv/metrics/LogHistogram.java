@@ -0,0 +1,37 @@
+package main.java.fxvv.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free histogram of non-negative longs in power-of-two buckets: bucket b holds [2^(b-1), 2^b).
+final class LogHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    LogHistogram() {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    void record(long value) {
+        long v = Math.max(0L, value);
+        buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(v))].increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    MetricsSnapshot.HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) counts[i] = buckets[i].sum();
+        return new MetricsSnapshot.HistogramSnapshot(counts, sum.sum(), max.get());
+    }
+
+    void reset() {
+        for (LongAdder b : buckets) b.reset();
+        sum.reset();
+        max.reset();
+    }
+}
@@ -0,0 +1,84 @@
+package main.java.fxvv.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+// Immutable point-in-time view of PricingMetrics. Counters and histograms are read one by one without
+// a global pause, so a snapshot taken under load is consistent per metric, not across metrics.
+public final class MetricsSnapshot {
+
+    public final boolean enabled;
+    private final Map<PricingMetrics.Counter, Long> counters;
+    private final Map<PricingMetrics.Histogram, HistogramSnapshot> histograms;
+
+    MetricsSnapshot(boolean enabled, Map<PricingMetrics.Counter, Long> counters,
+                    Map<PricingMetrics.Histogram, HistogramSnapshot> histograms) {
+        this.enabled = enabled;
+        this.counters = Collections.unmodifiableMap(counters);
+        this.histograms = Collections.unmodifiableMap(histograms);
+    }
+
+    public long count(PricingMetrics.Counter c) {
+        return counters.get(c);
+    }
+
+    public HistogramSnapshot histogram(PricingMetrics.Histogram h) {
+        return histograms.get(h);
+    }
+
+    @Override
+    public String toString() {
+        if (!enabled) return "PricingMetrics disabled (run with -Dfxvv.metrics=true)";
+
+        StringBuilder sb = new StringBuilder("PricingMetrics\n");
+        for (Map.Entry<PricingMetrics.Counter, Long> e : counters.entrySet()) {
+            if (e.getValue() != 0L) sb.append(String.format("  %-24s %d%n", e.getKey(), e.getValue()));
+        }
+        for (Map.Entry<PricingMetrics.Histogram, HistogramSnapshot> e : histograms.entrySet()) {
+            if (e.getValue().count() != 0L) sb.append(String.format("  %-24s %s%n", e.getKey(), e.getValue()));
+        }
+        return sb.toString();
+    }
+
+    public static final class HistogramSnapshot {
+        private final long[] buckets;
+        private final long sum;
+        private final long max;
+        private final long count;
+
+        HistogramSnapshot(long[] buckets, long sum, long max) {
+            this.buckets = buckets;
+            this.sum = sum;
+            this.max = max;
+            long n = 0L;
+            for (long b : buckets) n += b;
+            this.count = n;
+        }
+
+        public long count() { return count; }
+        public long sum() { return sum; }
+        public long max() { return max; }
+
+        public double mean() {
+            return (count == 0L) ? 0.0 : (double) sum / count;
+        }
+
+        // Upper edge of the bucket holding the q-quantile (q in [0, 1]); within 2x of the true value.
+        public long quantileUpperBound(double q) {
+            if (count == 0L) return 0L;
+            long rank = (long) Math.ceil(q * count);
+            long seen = 0L;
+            for (int b = 0; b < buckets.length; b++) {
+                seen += buckets[b];
+                if (seen >= Math.max(1L, rank)) return (b == 0) ? 0L : Math.min(max, (1L << b) - 1);
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.1f p50<=%d p99<=%d max=%d",
+                    count, mean(), quantileUpperBound(0.5), quantileUpperBound(0.99), max);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package main.java.fxvv.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide pricing-pipeline metrics. Off unless the JVM runs with -Dfxvv.metrics=true; the flag is a
+// static final, so every call site folds away in JIT-compiled code when disabled. -Dfxvv.metrics.jfr=true
+// additionally emits the custom JFR events (slice calibration, slice cache build).
+public final class PricingMetrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("fxvv.metrics");
+    public static final boolean JFR_ENABLED = ENABLED && Boolean.getBoolean("fxvv.metrics.jfr");
+
+    public enum Counter {
+        BS_PRICE,              // GKBlackScholes.price / priceForward calls
+        BS_FUSED_PRICE,        // prices produced by the multi-vol/strike batch kernels
+        BS_DELTA,              // GKBlackScholes.deltaInstance calls
+        GREEKS_FD_CALL,        // GreeksFD vega/vanna/volga entry points
+        GREEKS_FD_REFINEMENT,  // adaptive step halvings inside GreeksFD
+        GREEKS_ANALYTIC_CALL,  // GreeksAnalytic.vegaVannaVolga calls
+        VV_PRICE,              // VV vanilla prices (scalar and per batch strike)
+        VV_DIGITAL,            // analytic VV digitals (scalar and per batch strike)
+        CM_PRICE,              // Castagna-Mercurio closed-form vanillas and digitals
+        MC_PATH,               // Monte Carlo paths simulated by MonteCarloEngine
+        VV_WEIGHT_HIT,
+        VV_WEIGHT_MISS,
+        VV_WEIGHT_EVICTION,
+        VV_WEIGHT_GRID,        // weights served by the strike grid
+        VV_SLICE_CACHE_BUILD,
+        VV_SLICE_CACHE_REBASE, // slice caches carried over by VannaVolgaPricer.rebase
+        VV_SLICE_CACHE_RESTORE, // slice caches read back from a SliceCacheSource image
+        SLICE_BUILD,
+        SLICE_UPDATE,          // MarketSliceBuilder.update calls
+        STRIKE_RESCALED,       // pillar strikes carried over by forward rescaling, no solve
+        STRIKE_CLOSED_FORM,    // delta->strike inversions done in closed form
+        STRIKE_ITERATIVE,      // delta->strike inversions done by root finding
+        BRACKET_EXPANSION,     // geometric bracket expansions around F
+        BRACKET_SCAN_STEP,     // fallback linear-scan evaluations
+        ROOT_SOLVE,
+        LINEAR_SOLVE,          // 3x3 solves, from scratch or against a factorization
+        LINEAR_FACTORIZE,      // LinearSolver.factorize calls (one per slice cache build/rebase)
+        ILL_CONDITIONED_PILLARS // slice pillar matrices above VannaVolgaPricer's condition warning level
+    }
+
+    public enum Histogram {
+        SLICE_BUILD_NANOS,
+        SLICE_CACHE_BUILD_NANOS,
+        WEIGHT_SOLVE_NANOS,
+        ROOT_ITERATIONS
+    }
+
+    private static final LongAdder[] COUNTERS = new LongAdder[Counter.values().length];
+    private static final LogHistogram[] HISTOGRAMS = new LogHistogram[Histogram.values().length];
+
+    static {
+        for (int i = 0; i < COUNTERS.length; i++) COUNTERS[i] = new LongAdder();
+        for (int i = 0; i < HISTOGRAMS.length; i++) HISTOGRAMS[i] = new LogHistogram();
+    }
+
+    private PricingMetrics() {}
+
+    public static void increment(Counter c) {
+        if (ENABLED) COUNTERS[c.ordinal()].increment();
+    }
+
+    public static void add(Counter c, long n) {
+        if (ENABLED) COUNTERS[c.ordinal()].add(n);
+    }
+
+    public static void record(Histogram h, long value) {
+        if (ENABLED) HISTOGRAMS[h.ordinal()].record(value);
+    }
+
+    // Returns 0 when disabled so callers can pass it straight back to stopTimer.
+    public static long startTimer() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    public static void stopTimer(Histogram h, long start) {
+        if (ENABLED) HISTOGRAMS[h.ordinal()].record(System.nanoTime() - start);
+    }
+
+    public static MetricsSnapshot snapshot() {
+        Map<Counter, Long> counters = new EnumMap<>(Counter.class);
+        for (Counter c : Counter.values()) counters.put(c, COUNTERS[c.ordinal()].sum());
+
+        Map<Histogram, MetricsSnapshot.HistogramSnapshot> histograms = new EnumMap<>(Histogram.class);
+        for (Histogram h : Histogram.values()) histograms.put(h, HISTOGRAMS[h.ordinal()].snapshot());
+
+        return new MetricsSnapshot(ENABLED, counters, histograms);
+    }
+
+    public static void reset() {
+        for (LongAdder c : COUNTERS) c.reset();
+        for (LogHistogram h : HISTOGRAMS) h.reset();
+    }
+}
@@ -0,0 +1,20 @@
+package main.java.fxvv.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fxvv.SliceCacheBuild")
+@Label("VV slice cache build")
+@Category({"FX VV", "Pricing"})
+public class SliceCacheBuildEvent extends Event {
+    @Label("Expiry (years)")
+    public double expiry;
+
+    @Label("Greeks mode")
+    public String greeksMode;
+
+    @Label("Strike grid")
+    public boolean strikeGrid;
+}
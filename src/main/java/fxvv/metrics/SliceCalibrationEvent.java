@@ -0,0 +1,17 @@
+package main.java.fxvv.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fxvv.SliceCalibration")
+@Label("MarketSlice calibration")
+@Category({"FX VV", "Calibration"})
+public class SliceCalibrationEvent extends Event {
+    @Label("Expiry (years)")
+    public double expiry;
+
+    @Label("Delta convention")
+    public String convention;
+}
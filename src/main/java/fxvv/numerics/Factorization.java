@@ -0,0 +1,11 @@
+package main.java.fxvv.numerics;
+
+// A 3x3 system factorized once by LinearSolver.factorize, then solved for many right-hand sides.
+public interface Factorization {
+
+    // Writes x with A x = b into out and returns it; out may be b.
+    double[] solve(double[] b, double[] out);
+
+    // 1-norm condition number ||A|| ||A^-1||; NaN when the implementation does not estimate it.
+    double conditionNumber();
+}
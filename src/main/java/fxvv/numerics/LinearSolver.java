@@ -2,5 +2,20 @@ package main.java.fxvv.numerics;
 
 public interface LinearSolver {
     double[] solve(double[][] A, double[] b); // 3x3
-}
 
+    // Factorize-once/solve-many. The default snapshots A and re-solves from scratch on each call;
+    // implementations override it with a real factorization.
+    default Factorization factorize(double[][] A) {
+        double[][] copy = {A[0].clone(), A[1].clone(), A[2].clone()};
+        return new Factorization() {
+            public double[] solve(double[] b, double[] out) {
+                System.arraycopy(LinearSolver.this.solve(copy, b), 0, out, 0, 3);
+                return out;
+            }
+
+            public double conditionNumber() {
+                return Double.NaN;
+            }
+        };
+    }
+}
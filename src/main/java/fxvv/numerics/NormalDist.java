@@ -4,4 +4,22 @@ package main.java.fxvv.numerics;
 public interface NormalDist {
     double cdf(double x);
     double pdf(double x);
+
+    // Quantile: Acklam's rational approximation polished with one Halley step against this cdf(),
+    // so cdf(inverseCdf(p)) == p to the accuracy of the implementation itself.
+    default double inverseCdf(double p) {
+        if (Double.isNaN(p) || p < 0.0 || p > 1.0) {
+            throw new IllegalArgumentException("NormalDist: probability must be in [0, 1], got " + p);
+        }
+        if (p == 0.0) return Double.NEGATIVE_INFINITY;
+        if (p == 1.0) return Double.POSITIVE_INFINITY;
+
+        double x = AcklamQuantile.estimate(p);
+        double density = pdf(x);
+        if (density > 0.0) {
+            double u = (cdf(x) - p) / density;
+            x -= u / (1.0 + 0.5 * x * u);
+        }
+        return x;
+    }
 }
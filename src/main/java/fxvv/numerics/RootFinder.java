@@ -4,4 +4,15 @@ import java.util.function.DoubleUnaryOperator;
 
 public interface RootFinder {
     double solve(DoubleUnaryOperator f, double lo, double hi);
+
+    // Derivative-aware variants: df = f', d2f = f'' (may be null), guess inside [lo, hi].
+    // Bracketing-only implementations ignore the extra information.
+    default double solve(DoubleUnaryOperator f, DoubleUnaryOperator df, double lo, double hi, double guess) {
+        return solve(f, lo, hi);
+    }
+
+    default double solve(DoubleUnaryOperator f, DoubleUnaryOperator df, DoubleUnaryOperator d2f,
+                         double lo, double hi, double guess) {
+        return solve(f, df, lo, hi, guess);
+    }
 }
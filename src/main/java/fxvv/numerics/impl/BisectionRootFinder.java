@@ -1,6 +1,7 @@
 package main.java.fxvv.numerics.impl;
 
 import java.util.function.DoubleUnaryOperator;
+import main.java.fxvv.metrics.PricingMetrics;
 import main.java.fxvv.numerics.RootFinder;
 
 public class BisectionRootFinder implements RootFinder {
@@ -29,12 +30,14 @@ public class BisectionRootFinder implements RootFinder {
         }
 
         double a = lo, b = hi, fa = flo, fb = fhi;
+        PricingMetrics.increment(PricingMetrics.Counter.ROOT_SOLVE);
 
         for (int i = 0; i < maxIter; i++) {
             double m = 0.5 * (a + b);
             double fm = f.applyAsDouble(m);
 
             if (Math.abs(fm) < tol || (b - a) < tol) {
+                PricingMetrics.record(PricingMetrics.Histogram.ROOT_ITERATIONS, i + 1);
                 return m;
             }
 
@@ -44,6 +47,7 @@ public class BisectionRootFinder implements RootFinder {
                 a = m; fa = fm;
             }
         }
+        PricingMetrics.record(PricingMetrics.Histogram.ROOT_ITERATIONS, maxIter);
         return 0.5 * (a + b);
     }
 }
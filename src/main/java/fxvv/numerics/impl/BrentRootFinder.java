@@ -0,0 +1,93 @@
+package main.java.fxvv.numerics.impl;
+
+import java.util.function.DoubleUnaryOperator;
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.numerics.RootFinder;
+
+// Brent-Dekker: inverse quadratic interpolation / secant with bisection safeguard.
+public class BrentRootFinder implements RootFinder {
+
+    private static final double EPS = 2.220446049250313e-16;
+
+    private final int maxIter;
+    private final double tol;
+
+    public BrentRootFinder() {
+        this(100, 1e-12);
+    }
+
+    public BrentRootFinder(int maxIter, double tol) {
+        this.maxIter = maxIter;
+        this.tol = tol;
+    }
+
+    public double solve(DoubleUnaryOperator f, double lo, double hi) {
+        double a = lo, b = hi;
+        double fa = f.applyAsDouble(a);
+        double fb = f.applyAsDouble(b);
+
+        if (Double.isNaN(fa) || Double.isNaN(fb)) {
+            throw new IllegalArgumentException("RootFinder: f(lo) or f(hi) is NaN.");
+        }
+        if (fa * fb > 0.0) {
+            throw new IllegalArgumentException("RootFinder: root not bracketed.");
+        }
+
+        double c = b, fc = fb;
+        double d = b - a, e = d;
+        PricingMetrics.increment(PricingMetrics.Counter.ROOT_SOLVE);
+
+        for (int i = 0; i < maxIter; i++) {
+            if ((fb > 0.0 && fc > 0.0) || (fb < 0.0 && fc < 0.0)) {
+                c = a; fc = fa;
+                d = b - a; e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b; b = c; c = a;
+                fa = fb; fb = fc; fc = fa;
+            }
+
+            double tol1 = 2.0 * EPS * Math.abs(b) + 0.5 * tol;
+            double xm = 0.5 * (c - b);
+            if (Math.abs(xm) <= tol1 || Math.abs(fb) < tol) {
+                PricingMetrics.record(PricingMetrics.Histogram.ROOT_ITERATIONS, i);
+                return b;
+            }
+
+            if (Math.abs(e) >= tol1 && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa;
+                double p, q;
+                if (a == c) {
+                    // secant
+                    p = 2.0 * xm * s;
+                    q = 1.0 - s;
+                } else {
+                    // inverse quadratic interpolation
+                    double qa = fa / fc;
+                    double r = fb / fc;
+                    p = s * (2.0 * xm * qa * (qa - r) - (b - a) * (r - 1.0));
+                    q = (qa - 1.0) * (r - 1.0) * (s - 1.0);
+                }
+                if (p > 0.0) q = -q;
+                p = Math.abs(p);
+
+                double min1 = 3.0 * xm * q - Math.abs(tol1 * q);
+                double min2 = Math.abs(e * q);
+                if (2.0 * p < Math.min(min1, min2)) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = xm; e = d;
+                }
+            } else {
+                d = xm; e = d;
+            }
+
+            a = b; fa = fb;
+            b += (Math.abs(d) > tol1) ? d : Math.copySign(tol1, xm);
+            fb = f.applyAsDouble(b);
+        }
+        PricingMetrics.record(PricingMetrics.Histogram.ROOT_ITERATIONS, maxIter);
+        return b;
+    }
+}
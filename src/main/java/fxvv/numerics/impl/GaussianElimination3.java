@@ -1,5 +1,7 @@
 package main.java.fxvv.numerics.impl;
 
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.numerics.Factorization;
 import main.java.fxvv.numerics.LinearSolver;
 
 public class GaussianElimination3 implements LinearSolver {
@@ -8,6 +10,7 @@ public class GaussianElimination3 implements LinearSolver {
         if (A.length != 3 || A[0].length != 3 || b.length != 3) {
             throw new IllegalArgumentException("LinearSolver3 expects 3x3 matrix and length-3 vector.");
         }
+        PricingMetrics.increment(PricingMetrics.Counter.LINEAR_SOLVE);
 
         // Copy to avoid side effects
         double[][] M = new double[3][3];
@@ -51,4 +54,63 @@ public class GaussianElimination3 implements LinearSolver {
         }
         return x;
     }
+
+    // Partial-pivot LU, then the inverse column by column; the same pivot threshold as solve.
+    @Override
+    public Factorization factorize(double[][] A) {
+        if (A.length != 3 || A[0].length != 3 || A[1].length != 3 || A[2].length != 3) {
+            throw new IllegalArgumentException("LinearSolver3 expects 3x3 matrix.");
+        }
+        PricingMetrics.increment(PricingMetrics.Counter.LINEAR_FACTORIZE);
+
+        double[][] LU = new double[3][3];
+        int[] perm = {0, 1, 2};
+        for (int i = 0; i < 3; i++) System.arraycopy(A[i], 0, LU[i], 0, 3);
+
+        for (int col = 0; col < 3; col++) {
+            int piv = col;
+            double best = Math.abs(LU[col][col]);
+            for (int r = col + 1; r < 3; r++) {
+                double v = Math.abs(LU[r][col]);
+                if (v > best) { best = v; piv = r; }
+            }
+            if (best < 1e-14) {
+                throw new ArithmeticException("LinearSolver3: singular/ill-conditioned matrix.");
+            }
+            if (piv != col) {
+                double[] tmp = LU[col]; LU[col] = LU[piv]; LU[piv] = tmp;
+                int tp = perm[col]; perm[col] = perm[piv]; perm[piv] = tp;
+            }
+            for (int r = col + 1; r < 3; r++) {
+                double f = LU[r][col] / LU[col][col];
+                LU[r][col] = f;
+                for (int c = col + 1; c < 3; c++) LU[r][c] -= f * LU[col][c];
+            }
+        }
+
+        double[][] inv = new double[3][3];
+        double[] y = new double[3];
+        for (int j = 0; j < 3; j++) {
+            // forward substitution on P e_j, then back substitution
+            for (int i = 0; i < 3; i++) {
+                double s = (perm[i] == j) ? 1.0 : 0.0;
+                for (int k = 0; k < i; k++) s -= LU[i][k] * y[k];
+                y[i] = s;
+            }
+            for (int i = 2; i >= 0; i--) {
+                double s = y[i];
+                for (int k = i + 1; k < 3; k++) s -= LU[i][k] * inv[k][j];
+                inv[i][j] = s / LU[i][i];
+            }
+        }
+        return new Inverse3(inv, norm1(A) * norm1(inv));
+    }
+
+    private static double norm1(double[][] M) {
+        double max = 0.0;
+        for (int c = 0; c < 3; c++) {
+            max = Math.max(max, Math.abs(M[0][c]) + Math.abs(M[1][c]) + Math.abs(M[2][c]));
+        }
+        return max;
+    }
 }
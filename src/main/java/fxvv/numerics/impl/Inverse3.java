@@ -0,0 +1,41 @@
+package main.java.fxvv.numerics.impl;
+
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.numerics.Factorization;
+
+// Explicit 3x3 inverse: each solve is a matrix-vector product with no allocation.
+public final class Inverse3 implements Factorization {
+
+    private final double a00, a01, a02, a10, a11, a12, a20, a21, a22;
+    private final double condition;
+
+    Inverse3(double[][] inv, double condition) {
+        a00 = inv[0][0]; a01 = inv[0][1]; a02 = inv[0][2];
+        a10 = inv[1][0]; a11 = inv[1][1]; a12 = inv[1][2];
+        a20 = inv[2][0]; a21 = inv[2][1]; a22 = inv[2][2];
+        this.condition = condition;
+    }
+
+    // From a stored row-major inverse, e.g. a persisted pillar solve.
+    public Inverse3(double[] rowMajor, double condition) {
+        a00 = rowMajor[0]; a01 = rowMajor[1]; a02 = rowMajor[2];
+        a10 = rowMajor[3]; a11 = rowMajor[4]; a12 = rowMajor[5];
+        a20 = rowMajor[6]; a21 = rowMajor[7]; a22 = rowMajor[8];
+        this.condition = condition;
+    }
+
+    @Override
+    public double[] solve(double[] b, double[] out) {
+        PricingMetrics.increment(PricingMetrics.Counter.LINEAR_SOLVE);
+        double b0 = b[0], b1 = b[1], b2 = b[2];
+        out[0] = a00 * b0 + a01 * b1 + a02 * b2;
+        out[1] = a10 * b0 + a11 * b1 + a12 * b2;
+        out[2] = a20 * b0 + a21 * b1 + a22 * b2;
+        return out;
+    }
+
+    @Override
+    public double conditionNumber() {
+        return condition;
+    }
+}
@@ -0,0 +1,87 @@
+package main.java.fxvv.numerics.impl;
+
+import java.util.function.DoubleUnaryOperator;
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.numerics.RootFinder;
+
+// Safeguarded Newton (Halley when f'' is supplied): steps leaving the current bracket fall back to bisection.
+public class NewtonRootFinder implements RootFinder {
+
+    private final int maxIter;
+    private final double tol;
+    private final RootFinder fallback;
+
+    public NewtonRootFinder() {
+        this(50, 1e-12);
+    }
+
+    public NewtonRootFinder(int maxIter, double tol) {
+        this.maxIter = maxIter;
+        this.tol = tol;
+        this.fallback = new BrentRootFinder(maxIter, tol);
+    }
+
+    // Without a derivative there is nothing for Newton to work with.
+    public double solve(DoubleUnaryOperator f, double lo, double hi) {
+        return fallback.solve(f, lo, hi);
+    }
+
+    @Override
+    public double solve(DoubleUnaryOperator f, DoubleUnaryOperator df, double lo, double hi, double guess) {
+        return solve(f, df, null, lo, hi, guess);
+    }
+
+    @Override
+    public double solve(DoubleUnaryOperator f, DoubleUnaryOperator df, DoubleUnaryOperator d2f,
+                        double lo, double hi, double guess) {
+        double flo = f.applyAsDouble(lo);
+        double fhi = f.applyAsDouble(hi);
+
+        if (Double.isNaN(flo) || Double.isNaN(fhi)) {
+            throw new IllegalArgumentException("RootFinder: f(lo) or f(hi) is NaN.");
+        }
+        if (flo * fhi > 0.0) {
+            throw new IllegalArgumentException("RootFinder: root not bracketed.");
+        }
+        if (flo == 0.0) return lo;
+        if (fhi == 0.0) return hi;
+
+        // Keep f(neg) < 0 < f(pos)
+        double neg = (flo < 0.0) ? lo : hi;
+        double pos = (flo < 0.0) ? hi : lo;
+
+        double x = (guess > Math.min(lo, hi) && guess < Math.max(lo, hi)) ? guess : 0.5 * (lo + hi);
+        PricingMetrics.increment(PricingMetrics.Counter.ROOT_SOLVE);
+
+        for (int i = 0; i < maxIter; i++) {
+            double fx = f.applyAsDouble(x);
+            if (Math.abs(fx) < tol) {
+                PricingMetrics.record(PricingMetrics.Histogram.ROOT_ITERATIONS, i);
+                return x;
+            }
+
+            if (fx < 0.0) neg = x; else pos = x;
+
+            double dfx = df.applyAsDouble(x);
+            double step = fx / dfx;
+            if (d2f != null) {
+                double denom = 1.0 - 0.5 * step * d2f.applyAsDouble(x) / dfx;
+                if (denom > 0.5) step /= denom; // Halley only while it stays close to Newton
+            }
+
+            double next = x - step;
+            double a = Math.min(neg, pos), b = Math.max(neg, pos);
+            if (!(next > a && next < b)) {
+                next = 0.5 * (a + b);
+            }
+
+            if (Math.abs(next - x) < tol * (1.0 + Math.abs(x)) || (b - a) < tol) {
+                PricingMetrics.record(PricingMetrics.Histogram.ROOT_ITERATIONS, i + 1);
+                return next;
+            }
+            x = next;
+        }
+        PricingMetrics.record(PricingMetrics.Histogram.ROOT_ITERATIONS, maxIter);
+        return x;
+    }
+}
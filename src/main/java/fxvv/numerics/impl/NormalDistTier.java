@@ -0,0 +1,26 @@
+package main.java.fxvv.numerics.impl;
+
+import main.java.fxvv.numerics.NormalDist;
+
+// Speed/precision tiers for wiring GKBlackScholes; max abs CDF error in brackets.
+public enum NormalDistTier {
+    ABRAMOWITZ_STEGUN,        // original implementation [~7.5e-8]
+    ABRAMOWITZ_STEGUN_HORNER, // same polynomial, Horner form [~7.5e-8]
+    CODY,                     // double-precision erfc [~1e-16]
+    TABULATED;                // Hermite table over CODY [~5e-12], fastest
+
+    public NormalDist create() {
+        switch (this) {
+            case ABRAMOWITZ_STEGUN:
+                return new AbramowitzStegunNormal();
+            case ABRAMOWITZ_STEGUN_HORNER:
+                return new HornerAbramowitzStegunNormal();
+            case CODY:
+                return new CodyNormal();
+            case TABULATED:
+                return new TabulatedNormal();
+            default:
+                throw new IllegalArgumentException("Unknown NormalDist tier.");
+        }
+    }
+}
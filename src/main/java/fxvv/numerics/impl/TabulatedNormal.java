@@ -0,0 +1,63 @@
+package main.java.fxvv.numerics.impl;
+
+import main.java.fxvv.numerics.NormalDist;
+
+// High-throughput CDF: cubic Hermite interpolation on a uniform grid, using the exact pdf as the slope.
+// With the default 1/128 spacing the absolute error is about 5e-12; tails beyond the grid delegate.
+public class TabulatedNormal implements NormalDist {
+
+    private static final double INV_SQRT_2PI = 0.3989422804014327;
+
+    private final NormalDist reference;
+    private final double xMax;
+    private final double h;
+    private final double invH;
+    private final double[] cdfTable;
+    private final double[] pdfTable;
+
+    public TabulatedNormal() {
+        this(new CodyNormal(), 8.5, 128);
+    }
+
+    public TabulatedNormal(NormalDist reference, double xMax, int pointsPerUnit) {
+        if (!(xMax > 0.0) || pointsPerUnit <= 0) {
+            throw new IllegalArgumentException("TabulatedNormal: xMax and pointsPerUnit must be positive.");
+        }
+        this.reference = reference;
+        this.xMax = xMax;
+        this.h = 1.0 / pointsPerUnit;
+        this.invH = pointsPerUnit;
+
+        int n = (int) Math.ceil(2.0 * xMax * pointsPerUnit) + 1;
+        this.cdfTable = new double[n];
+        this.pdfTable = new double[n];
+        for (int i = 0; i < n; i++) {
+            double x = -xMax + i * h;
+            cdfTable[i] = reference.cdf(x);
+            pdfTable[i] = reference.pdf(x);
+        }
+    }
+
+    public double pdf(double x) {
+        return INV_SQRT_2PI * Math.exp(-0.5 * x * x);
+    }
+
+    public double cdf(double x) {
+        double u = (x + xMax) * invH;
+        int i = (int) u;
+        if (u < 0.0 || i >= cdfTable.length - 1) {
+            return reference.cdf(x);
+        }
+
+        double t = u - i;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        double h00 = 2.0 * t3 - 3.0 * t2 + 1.0;
+        double h10 = t3 - 2.0 * t2 + t;
+        double h01 = -2.0 * t3 + 3.0 * t2;
+        double h11 = t3 - t2;
+
+        return h00 * cdfTable[i] + h10 * h * pdfTable[i]
+                + h01 * cdfTable[i + 1] + h11 * h * pdfTable[i + 1];
+    }
+}
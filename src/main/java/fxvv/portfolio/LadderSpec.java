@@ -0,0 +1,49 @@
+package main.java.fxvv.portfolio;
+
+// Scenario ladder: the cartesian product of relative spot shifts and absolute ATM, RR and BF vol
+// shifts. A null axis means "no shift" ({0}).
+public final class LadderSpec {
+
+    final double[] spotShifts;
+    final double[] atmShifts;
+    final double[] rrShifts;
+    final double[] bfShifts;
+
+    public LadderSpec(double[] spotShifts, double[] atmShifts, double[] rrShifts, double[] bfShifts) {
+        this.spotShifts = axis(spotShifts, "spot");
+        this.atmShifts = axis(atmShifts, "ATM");
+        this.rrShifts = axis(rrShifts, "RR");
+        this.bfShifts = axis(bfShifts, "BF");
+    }
+
+    // n points centred on zero: step * (i - (n - 1) / 2), e.g. steps(21, 0.005) spans -5%..+5%.
+    public static double[] steps(int n, double step) {
+        if (n <= 0) throw new IllegalArgumentException("LadderSpec: ladder size must be positive.");
+        double[] shifts = new double[n];
+        double mid = 0.5 * (n - 1);
+        for (int i = 0; i < n; i++) shifts[i] = step * (i - mid);
+        return shifts;
+    }
+
+    public int size() {
+        return spotShifts.length * atmShifts.length * rrShifts.length * bfShifts.length;
+    }
+
+    public int spotPoints() { return spotShifts.length; }
+    public int atmPoints() { return atmShifts.length; }
+    public int rrPoints() { return rrShifts.length; }
+    public int bfPoints() { return bfShifts.length; }
+
+    // Scenario index with spot varying fastest: ((atm * nRR + rr) * nBF + bf) * nSpot + spot.
+    public int index(int spot, int atm, int rr, int bf) {
+        return ((atm * rrShifts.length + rr) * bfShifts.length + bf) * spotShifts.length + spot;
+    }
+
+    private static double[] axis(double[] shifts, String name) {
+        if (shifts == null) return new double[]{0.0};
+        if (shifts.length == 0) {
+            throw new IllegalArgumentException("LadderSpec: empty " + name + " axis.");
+        }
+        return shifts.clone();
+    }
+}
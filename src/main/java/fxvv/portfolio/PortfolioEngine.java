@@ -0,0 +1,190 @@
+package main.java.fxvv.portfolio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.market.VolSurface;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+
+// Values a book by grouping trades per pair/expiry: each group resolves its MarketSlice once and is
+// priced through the batch SmilePricer methods on that single warm slice cache, one fork-join task per
+// group. Greeks are bump-and-revalue at group level: spot for delta/gamma, and the ATM, RR and BF
+// quotes for the VV vegas, with bumped slices derived via MarketSliceBuilder.update and dropped from
+// the pricer cache afterwards. Spot-bumped slices share the group's warm weights via VannaVolgaPricer.rebase. Trade PVs, bucket PVs and Greeks are scaled by each trade's signed notional.
+public class PortfolioEngine {
+
+    private static final double SPOT_BUMP = 1e-4; // relative
+    private static final double VOL_BUMP = 1e-4;  // absolute
+
+    private final MarketSliceBuilder sliceBuilder;
+    private final VannaVolgaPricer pricer;
+    private final ForkJoinPool pool;
+
+    public PortfolioEngine(MarketSliceBuilder sliceBuilder, VannaVolgaPricer pricer) {
+        this(sliceBuilder, pricer, ForkJoinPool.commonPool());
+    }
+
+    public PortfolioEngine(MarketSliceBuilder sliceBuilder, VannaVolgaPricer pricer, ForkJoinPool pool) {
+        this.sliceBuilder = sliceBuilder;
+        this.pricer = pricer;
+        this.pool = pool;
+    }
+
+    public PortfolioResult value(Map<String, VolSurface> surfaces, List<Trade> trades, boolean withGreeks) {
+        Map<GroupKey, Group> groups = new HashMap<>();
+        for (int i = 0; i < trades.size(); i++) {
+            Trade t = trades.get(i);
+            VolSurface surface = surfaces.get(t.pair);
+            if (surface == null) {
+                throw new IllegalArgumentException("PortfolioEngine: no surface for pair " + t.pair);
+            }
+            groups.computeIfAbsent(new GroupKey(t.pair, t.expiry), k -> new Group(k, surface)).add(i);
+        }
+
+        double[] tradePv = new double[trades.size()];
+        List<GroupTask> tasks = new ArrayList<>(groups.size());
+        for (Group g : groups.values()) tasks.add(new GroupTask(g, trades, tradePv, withGreeks));
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+
+        List<RiskBucket> buckets = new ArrayList<>(tasks.size());
+        for (GroupTask task : tasks) buckets.add(task.join());
+        buckets.sort(Comparator.comparing((RiskBucket b) -> b.pair).thenComparingDouble(b -> b.expiry));
+        return new PortfolioResult(tradePv, buckets);
+    }
+
+    private static final class GroupKey {
+        final String pair;
+        final double expiry;
+
+        GroupKey(String pair, double expiry) {
+            this.pair = pair;
+            this.expiry = expiry;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof GroupKey)) return false;
+            GroupKey k = (GroupKey) o;
+            return pair.equals(k.pair) && Double.compare(expiry, k.expiry) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pair, expiry);
+        }
+    }
+
+    private static final class Group {
+        final GroupKey key;
+        final VolSurface surface;
+        int[] trades = new int[8];
+        int size;
+
+        Group(GroupKey key, VolSurface surface) {
+            this.key = key;
+            this.surface = surface;
+        }
+
+        void add(int trade) {
+            if (size == trades.length) trades = Arrays.copyOf(trades, size * 2);
+            trades[size++] = trade;
+        }
+    }
+
+    private final class GroupTask extends RecursiveTask<RiskBucket> {
+        private static final long serialVersionUID = 1L;
+
+        private final Group group;
+        private final List<Trade> trades;
+        private final double[] tradePv; // each task writes only its own group's indices
+        private final boolean withGreeks;
+
+        private TradeBatch batch;
+
+        GroupTask(Group group, List<Trade> trades, double[] tradePv, boolean withGreeks) {
+            this.group = group;
+            this.trades = trades;
+            this.tradePv = tradePv;
+            this.withGreeks = withGreeks;
+        }
+
+        @Override
+        protected RiskBucket compute() {
+            double[] strikes = new double[group.size];
+            TradeType[] types = new TradeType[group.size];
+            double[] notionals = new double[group.size];
+            for (int i = 0; i < group.size; i++) {
+                Trade t = trades.get(group.trades[i]);
+                strikes[i] = t.strike;
+                types[i] = t.type;
+                notionals[i] = t.notional;
+            }
+            batch = new TradeBatch(strikes, types, notionals, group.trades, group.size);
+
+            MarketSlice slice = group.surface.sliceAt(group.key.expiry);
+            double pv = batch.price(pricer, slice, tradePv);
+            if (!withGreeks) {
+                return new RiskBucket(group.key.pair, group.key.expiry, group.size, pv, 0.0, 0.0, 0.0, 0.0, 0.0);
+            }
+
+            double h = slice.S * SPOT_BUMP;
+            double up = spotBumpedPv(slice, slice.S + h);
+            double dn = spotBumpedPv(slice, slice.S - h);
+            double delta = (up - dn) / (2.0 * h);
+            double gamma = (up - 2.0 * pv + dn) / (h * h);
+
+            double sigmaATM = slice.sigmaATM;
+            double rr = slice.sigma25C - slice.sigma25P;
+            double bf = 0.5 * (slice.sigma25C + slice.sigma25P) - slice.sigmaATM;
+            double vegaATM = quoteVega(slice, sigmaATM, rr, bf, 1.0, 0.0, 0.0);
+            double vegaRR = quoteVega(slice, sigmaATM, rr, bf, 0.0, 1.0, 0.0);
+            double vegaBF = quoteVega(slice, sigmaATM, rr, bf, 0.0, 0.0, 1.0);
+
+            return new RiskBucket(group.key.pair, group.key.expiry, group.size, pv, delta, gamma,
+                    vegaATM, vegaRR, vegaBF);
+        }
+
+        private double quoteVega(MarketSlice slice, double sigmaATM, double rr, double bf,
+                                 double dATM, double dRR, double dBF) {
+            double b = VOL_BUMP;
+            SmileQuote up = new SmileQuote(slice.T, sigmaATM + b * dATM, rr + b * dRR, bf + b * dBF);
+            SmileQuote dn = new SmileQuote(slice.T, sigmaATM - b * dATM, rr - b * dRR, bf - b * dBF);
+            double pvUp = bumpedPv(sliceBuilder.update(slice, slice.S, slice.rd, slice.rf, up));
+            double pvDn = bumpedPv(sliceBuilder.update(slice, slice.S, slice.rd, slice.rf, dn));
+            return (pvUp - pvDn) / (2.0 * b);
+        }
+
+        // Rebases the group's warm cache onto the bumped slice, so only the pillar matrix is recomputed; the
+        // slice is built cold instead if the bump moved the smile in moneyness terms.
+        private double spotBumpedPv(MarketSlice slice, double S) {
+            MarketSlice bumped = sliceBuilder.update(slice, S, slice.rd, slice.rf);
+            pricer.rebase(slice, bumped);
+            return bumpedPv(bumped);
+        }
+
+        private double bumpedPv(MarketSlice bumped) {
+            try {
+                return batch.price(pricer, bumped, null);
+            } finally {
+                pricer.invalidate(bumped);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package main.java.fxvv.portfolio;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class PortfolioResult {
+
+    private final double[] tradePv;
+    private final List<RiskBucket> buckets;
+    private final Map<String, RiskBucket> pairTotals;
+
+    PortfolioResult(double[] tradePv, List<RiskBucket> buckets) {
+        this.tradePv = tradePv;
+        this.buckets = Collections.unmodifiableList(buckets);
+
+        Map<String, RiskBucket> totals = new LinkedHashMap<>();
+        for (RiskBucket b : buckets) totals.merge(b.pair, b, RiskBucket::plus);
+        this.pairTotals = Collections.unmodifiableMap(totals);
+    }
+
+    // PV of trades.get(i) as passed to PortfolioEngine.value.
+    public double tradePv(int i) {
+        return tradePv[i];
+    }
+
+    public int tradeCount() {
+        return tradePv.length;
+    }
+
+    // One bucket per pair/expiry, sorted by pair then expiry.
+    public List<RiskBucket> buckets() {
+        return buckets;
+    }
+
+    public Map<String, RiskBucket> pairTotals() {
+        return pairTotals;
+    }
+}
@@ -0,0 +1,40 @@
+package main.java.fxvv.portfolio;
+
+// Aggregated PV and VV risk of the trades on one pair/expiry (one MarketSlice), weighted by their signed
+// notionals. vegaATM, vegaRR and vegaBF are sensitivities to the three smile quotes, per unit of vol.
+public final class RiskBucket {
+    public final String pair;
+    public final double expiry; // NaN for pair totals
+    public final int trades;
+
+    public final double pv;
+    public final double delta;
+    public final double gamma;
+    public final double vegaATM;
+    public final double vegaRR;
+    public final double vegaBF;
+
+    public RiskBucket(String pair, double expiry, int trades, double pv, double delta, double gamma,
+                      double vegaATM, double vegaRR, double vegaBF) {
+        this.pair = pair;
+        this.expiry = expiry;
+        this.trades = trades;
+        this.pv = pv;
+        this.delta = delta;
+        this.gamma = gamma;
+        this.vegaATM = vegaATM;
+        this.vegaRR = vegaRR;
+        this.vegaBF = vegaBF;
+    }
+
+    RiskBucket plus(RiskBucket o) {
+        return new RiskBucket(pair, Double.NaN, trades + o.trades, pv + o.pv, delta + o.delta, gamma + o.gamma,
+                vegaATM + o.vegaATM, vegaRR + o.vegaRR, vegaBF + o.vegaBF);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s T=%.4f n=%d pv=%.8f delta=%.6f gamma=%.6f vegaATM=%.6f vegaRR=%.6f vegaBF=%.6f",
+                pair, expiry, trades, pv, delta, gamma, vegaATM, vegaRR, vegaBF);
+    }
+}
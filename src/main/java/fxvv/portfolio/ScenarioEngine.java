@@ -0,0 +1,168 @@
+package main.java.fxvv.portfolio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+
+// Bump-and-revalue ladders on one expiry. The base slice is calibrated once; each vol scenario
+// (ATM x RR x BF) is derived from it with a warm-started strike solve and runs as one fork-join task.
+// Within a task every spot point is derived from the vol slice via MarketSliceBuilder.update, which
+// rescales pillar strikes without solving and keeps discount factors, and VannaVolgaPricer.rebase
+// then shares the vol slice's weight table and strike grid across the whole spot ladder. When there are
+// fewer vol scenarios than pool threads, each one also splits its spot ladder into parallel chunks; spot
+// points at the same strike moneyness then race to fill the shared weight entry, so values can differ in
+// the last bit between runs.
+public class ScenarioEngine {
+
+    private final MarketSliceBuilder sliceBuilder;
+    private final VannaVolgaPricer pricer;
+    private final ForkJoinPool pool;
+
+    public ScenarioEngine(MarketSliceBuilder sliceBuilder, VannaVolgaPricer pricer) {
+        this(sliceBuilder, pricer, ForkJoinPool.commonPool());
+    }
+
+    public ScenarioEngine(MarketSliceBuilder sliceBuilder, VannaVolgaPricer pricer, ForkJoinPool pool) {
+        this.sliceBuilder = sliceBuilder;
+        this.pricer = pricer;
+        this.pool = pool;
+    }
+
+    // Revalues the instruments (strikes[i], types[i]) on every scenario of the ladder.
+    public ScenarioResult run(double S, double rd, double rf, SmileQuote base, LadderSpec ladder,
+                              double[] strikes, TradeType[] types) {
+        if (strikes.length != types.length) {
+            throw new IllegalArgumentException("ScenarioEngine: strikes and types must have the same length.");
+        }
+        int n = strikes.length;
+        int[] positions = new int[n];
+        for (int i = 0; i < n; i++) positions[i] = i;
+        TradeBatch batch = new TradeBatch(strikes, types, positions, n);
+
+        MarketSlice baseSlice = sliceBuilder.build(S, rd, rf, base);
+        double[] pv = new double[ladder.size()];
+        double[][] values = new double[ladder.size()][n];
+
+        int volScenarios = ladder.atmPoints() * ladder.rrPoints() * ladder.bfPoints();
+        int spotChunks = Math.min(ladder.spotPoints(),
+                Math.max(1, (pool.getParallelism() + volScenarios - 1) / volScenarios));
+
+        List<VolScenarioTask> tasks = new ArrayList<>(volScenarios);
+        for (int a = 0; a < ladder.atmPoints(); a++) {
+            for (int r = 0; r < ladder.rrPoints(); r++) {
+                for (int b = 0; b < ladder.bfPoints(); b++) {
+                    tasks.add(new VolScenarioTask(baseSlice, base, ladder, a, r, b, spotChunks, batch, pv, values));
+                }
+            }
+        }
+
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        } finally {
+            pricer.invalidate(baseSlice);
+        }
+        return new ScenarioResult(ladder, pv, values);
+    }
+
+    private final class VolScenarioTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MarketSlice baseSlice;
+        private final SmileQuote base;
+        private final LadderSpec ladder;
+        private final int atm, rr, bf;
+        private final int spotChunks;
+        private final TradeBatch batch;
+        private final double[] pv;
+        private final double[][] values; // each task writes only its own scenarios
+
+        VolScenarioTask(MarketSlice baseSlice, SmileQuote base, LadderSpec ladder, int atm, int rr, int bf,
+                        int spotChunks, TradeBatch batch, double[] pv, double[][] values) {
+            this.baseSlice = baseSlice;
+            this.base = base;
+            this.ladder = ladder;
+            this.atm = atm;
+            this.rr = rr;
+            this.bf = bf;
+            this.spotChunks = spotChunks;
+            this.batch = batch;
+            this.pv = pv;
+            this.values = values;
+        }
+
+        @Override
+        protected void compute() {
+            SmileQuote bumped = new SmileQuote(base.T,
+                    base.sigmaATM + ladder.atmShifts[atm],
+                    base.rr25 + ladder.rrShifts[rr],
+                    base.bf25 + ladder.bfShifts[bf]);
+            MarketSlice volSlice = sliceBuilder.update(baseSlice, baseSlice.S, baseSlice.rd, baseSlice.rf, bumped);
+
+            try {
+                pricer.warm(volSlice);
+                if (spotChunks == 1) {
+                    priceSpots(volSlice, 0, ladder.spotPoints());
+                    return;
+                }
+                int points = ladder.spotPoints();
+                List<SpotRangeTask> chunks = new ArrayList<>(spotChunks);
+                for (int c = 0; c < spotChunks; c++) {
+                    chunks.add(new SpotRangeTask(this, volSlice, c * points / spotChunks, (c + 1) * points / spotChunks));
+                }
+                ForkJoinTask.invokeAll(chunks);
+            } finally {
+                if (volSlice != baseSlice) pricer.invalidate(volSlice);
+            }
+        }
+
+        // Spot points [from, to) of this vol scenario, each rebased onto the warm vol slice.
+        void priceSpots(MarketSlice volSlice, int from, int to) {
+            for (int s = from; s < to; s++) {
+                int scenario = ladder.index(s, atm, rr, bf);
+                double spot = baseSlice.S * (1.0 + ladder.spotShifts[s]);
+                MarketSlice slice = sliceBuilder.update(volSlice, spot, volSlice.rd, volSlice.rf);
+                if (slice == volSlice) {
+                    pv[scenario] = batch.price(pricer, slice, values[scenario]);
+                    continue;
+                }
+                pricer.rebase(volSlice, slice);
+                try {
+                    pv[scenario] = batch.price(pricer, slice, values[scenario]);
+                } finally {
+                    pricer.invalidate(slice);
+                }
+            }
+        }
+    }
+
+    private static final class SpotRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final VolScenarioTask scenario;
+        private final MarketSlice volSlice;
+        private final int from, to;
+
+        SpotRangeTask(VolScenarioTask scenario, MarketSlice volSlice, int from, int to) {
+            this.scenario = scenario;
+            this.volSlice = volSlice;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            scenario.priceSpots(volSlice, from, to);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package main.java.fxvv.portfolio;
+
+public final class ScenarioResult {
+
+    private final LadderSpec ladder;
+    private final double[] pv;         // [scenario]
+    private final double[][] values;   // [scenario][instrument]
+
+    ScenarioResult(LadderSpec ladder, double[] pv, double[][] values) {
+        this.ladder = ladder;
+        this.pv = pv;
+        this.values = values;
+    }
+
+    public LadderSpec ladder() {
+        return ladder;
+    }
+
+    public int scenarios() {
+        return pv.length;
+    }
+
+    public double pv(int scenario) {
+        return pv[scenario];
+    }
+
+    public double pv(int spot, int atm, int rr, int bf) {
+        return pv[ladder.index(spot, atm, rr, bf)];
+    }
+
+    public double value(int scenario, int instrument) {
+        return values[scenario][instrument];
+    }
+}
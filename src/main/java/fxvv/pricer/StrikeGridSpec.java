@@ -0,0 +1,23 @@
+package main.java.fxvv.pricer;
+
+// Optional per-slice weight grid: `points` nodes uniform in log-moneyness ln(K/F) spanning
+// +/- stdDevs * max pillar vol * sqrt(T). Strikes outside the span use the exact weight solve.
+public final class StrikeGridSpec {
+    public final int points;
+    public final double stdDevs;
+
+    public StrikeGridSpec(int points, double stdDevs) {
+        if (points < 4) {
+            throw new IllegalArgumentException("StrikeGridSpec: at least 4 points are required.");
+        }
+        if (!(stdDevs > 0.0)) {
+            throw new IllegalArgumentException("StrikeGridSpec: stdDevs must be positive.");
+        }
+        this.points = points;
+        this.stdDevs = stdDevs;
+    }
+
+    public static StrikeGridSpec defaults() {
+        return new StrikeGridSpec(256, 5.0);
+    }
+}
@@ -0,0 +1,178 @@
+package main.java.fxvv.pricer;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+// Per-slice strike -> VV weights cache. Open addressing with linear probing over a primitive long[]
+// key table; the three weights of slot i live inline at weights[3i..3i+2]. Bounded by CLOCK
+// (second-chance) eviction. Reads are optimistic and take no lock unless a writer interferes.
+final class StrikeWeightCache {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int capacity;
+    private final int mask;
+    private final long[] keys;
+    private final double[] weights;
+    private final byte[] referenced;
+    private final StampedLock lock = new StampedLock();
+
+    private int size;
+    private int hand;
+
+    StrikeWeightCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("StrikeWeightCache: capacity must be positive.");
+        }
+        int slots = Integer.highestOneBit(Math.max(2, capacity - 1)) << 2; // load factor <= 0.5
+        this.capacity = capacity;
+        this.mask = slots - 1;
+        this.keys = new long[slots];
+        this.weights = new double[3 * slots];
+        this.referenced = new byte[slots];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // Copies the cached weights for key into out[0..2]; false on a miss.
+    boolean get(long key, double[] out) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            int slot = find(key);
+            if (slot >= 0) {
+                int base = 3 * slot;
+                out[0] = weights[base];
+                out[1] = weights[base + 1];
+                out[2] = weights[base + 2];
+            }
+            if (lock.validate(stamp)) {
+                if (slot >= 0) referenced[slot] = 1; // benign race: only a recency hint
+                return slot >= 0;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            int slot = find(key);
+            if (slot < 0) return false;
+            int base = 3 * slot;
+            out[0] = weights[base];
+            out[1] = weights[base + 1];
+            out[2] = weights[base + 2];
+            referenced[slot] = 1;
+            return true;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Returns true when an existing entry had to be evicted to make room.
+    boolean put(long key, double[] w) {
+        if (key == EMPTY) return false;
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(key);
+            boolean evicted = false;
+            if (slot < 0) {
+                if (size >= capacity) {
+                    evictOne();
+                    evicted = true;
+                }
+                slot = mix(key) & mask;
+                while (keys[slot] != EMPTY) slot = (slot + 1) & mask;
+                keys[slot] = key;
+                size++;
+            }
+            int base = 3 * slot;
+            weights[base] = w[0];
+            weights[base + 1] = w[1];
+            weights[base + 2] = w[2];
+            referenced[slot] = 0;
+            return evicted;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    // Copies every live entry (key, then its three weights) into keysOut/weightsOut, which must hold capacity()
+    // entries; returns the count.
+    int copyEntries(long[] keysOut, double[] weightsOut) {
+        long stamp = lock.readLock();
+        try {
+            int n = 0;
+            for (int slot = 0; slot <= mask; slot++) {
+                if (keys[slot] == EMPTY) continue;
+                keysOut[n] = keys[slot];
+                System.arraycopy(weights, 3 * slot, weightsOut, 3 * n, 3);
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int find(long key) {
+        int slot = mix(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long k = keys[slot];
+            if (k == key) return slot;
+            if (k == EMPTY) return -1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // CLOCK: sweep from the hand, clearing reference bits, and evict the first unreferenced entry.
+    private void evictOne() {
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) & mask;
+            if (keys[slot] == EMPTY) continue;
+            if (referenced[slot] != 0) {
+                referenced[slot] = 0;
+                continue;
+            }
+            remove(slot);
+            return;
+        }
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones.
+    private void remove(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = mix(keys[next]) & mask;
+            boolean movable = (next > hole) ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                keys[hole] = keys[next];
+                System.arraycopy(weights, 3 * next, weights, 3 * hole, 3);
+                referenced[hole] = referenced[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        referenced[hole] = 0;
+        size--;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
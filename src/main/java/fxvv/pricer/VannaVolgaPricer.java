@@ -1,49 +1,99 @@
 package main.java.fxvv.pricer;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
 import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.bs.GreeksAnalytic;
 import main.java.fxvv.bs.GreeksFD;
+import main.java.fxvv.bs.ImpliedVolSolver;
 import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.SliceBook;
+import main.java.fxvv.metrics.PricingMetrics;
+import main.java.fxvv.metrics.SliceCacheBuildEvent;
+import main.java.fxvv.numerics.Factorization;
 import main.java.fxvv.numerics.LinearSolver;
+import main.java.fxvv.numerics.impl.Inverse3;
 
 public class VannaVolgaPricer implements SmilePricer {
 
-    private static final int MAX_STRIKE_CACHE_PER_SLICE = 2048;
+    public static final int DEFAULT_STRIKE_CACHE_PER_SLICE = 2048;
+
+    // Pillar matrices above this 1-norm condition number are counted as ILL_CONDITIONED_PILLARS; regular
+    // quotes give 10 to a few hundred.
+    public static final double PILLAR_CONDITION_WARNING = 1e6;
 
     private final GKBlackScholes bs;
     private final LinearSolver solver;
+    private final GreeksMode greeksMode;
+    private final GreeksAnalytic greeks;
+    private final ImpliedVolSolver impliedVolSolver;
+    private final int strikeCacheCapacity;
+    private final StrikeGridSpec strikeGrid;
+    private final DigitalMode digitalMode;
+
+    // Weak identity keys avoid retaining MarketSlice instances once callers drop them; each slice
+    // is built once without blocking pricing on other slices.
+    private final WeakIdentityCache<MarketSlice, SliceCache> sliceCaches = new WeakIdentityCache<>();
+
+    private volatile SliceCacheSource cacheSource;
 
-    // Weak keys avoid retaining MarketSlice instances once callers drop them.
-    private final Map<MarketSlice, SliceCache> sliceCaches =
-            Collections.synchronizedMap(new WeakHashMap<>());
+    private final LongAdder weightHits = new LongAdder();
+    private final LongAdder weightMisses = new LongAdder();
+    private final LongAdder weightEvictions = new LongAdder();
 
     public VannaVolgaPricer(GKBlackScholes bs, LinearSolver solver) {
+        this(bs, solver, GreeksMode.ANALYTIC);
+    }
+
+    public VannaVolgaPricer(GKBlackScholes bs, LinearSolver solver, GreeksMode greeksMode) {
+        this(bs, solver, greeksMode, DEFAULT_STRIKE_CACHE_PER_SLICE);
+    }
+
+    // strikeCacheCapacity bounds the number of cached strike weights per slice.
+    public VannaVolgaPricer(GKBlackScholes bs, LinearSolver solver, GreeksMode greeksMode, int strikeCacheCapacity) {
+        this(bs, solver, greeksMode, strikeCacheCapacity, null);
+    }
+
+    // A non-null strikeGrid switches to interpolated weights on a per-slice log-moneyness grid (bulk/risk runs).
+    public VannaVolgaPricer(GKBlackScholes bs, LinearSolver solver, GreeksMode greeksMode, int strikeCacheCapacity,
+                            StrikeGridSpec strikeGrid) {
+        this(bs, solver, greeksMode, strikeCacheCapacity, strikeGrid,
+                (greeksMode == GreeksMode.ANALYTIC) ? DigitalMode.ANALYTIC : DigitalMode.FINITE_DIFFERENCE);
+    }
+
+    public VannaVolgaPricer(GKBlackScholes bs, LinearSolver solver, GreeksMode greeksMode, int strikeCacheCapacity,
+                            StrikeGridSpec strikeGrid, DigitalMode digitalMode) {
+        if (strikeCacheCapacity <= 0) {
+            throw new IllegalArgumentException("VannaVolgaPricer: strike cache capacity must be positive.");
+        }
         this.bs = bs;
         this.solver = solver;
+        this.greeksMode = greeksMode;
+        this.greeks = new GreeksAnalytic(bs.normal());
+        this.impliedVolSolver = new ImpliedVolSolver(bs.normal());
+        this.strikeCacheCapacity = strikeCacheCapacity;
+        this.strikeGrid = strikeGrid;
+        this.digitalMode = digitalMode;
     }
 
     public double priceVanilla(MarketSlice slice, boolean isCall, double K) {
-        double T = slice.T;
-
-        // Base at ATM vol
-        double base = bs.price(isCall, slice.S, K, T, slice.rd, slice.rf, slice.sigmaATM);
+        PricingMetrics.increment(PricingMetrics.Counter.VV_PRICE);
+        SliceCache sliceCache = getOrBuildSliceCache(slice);
 
         // Weights in (Vega, Vanna, Volga) at ATM vol
-        double[] w = vvWeightsAtATM(slice, K);
+        double[] w = vvWeightsAtATM(slice, sliceCache, K, new double[3]);
 
-        // Correction computed at target strike using pillar vols
-        double p25P = bs.price(isCall, slice.S, K, T, slice.rd, slice.rf, slice.sigma25P);
-        double pATM = bs.price(isCall, slice.S, K, T, slice.rd, slice.rf, slice.sigmaATM);
-        double p25C = bs.price(isCall, slice.S, K, T, slice.rd, slice.rf, slice.sigma25C);
+        // Base at ATM vol plus correction at the target strike using pillar vols, from one fused BS evaluation
+        double[] p = bs.priceVols(isCall, slice.F, slice.DFd, K, slice.T, sliceCache.pillarVols, new double[3]);
+        double pATM = p[0], p25P = p[1], p25C = p[2];
 
-        return base + w[0] * (p25P - pATM) + w[2] * (p25C - pATM);
+        return pATM + w[0] * (p25P - pATM) + w[2] * (p25C - pATM);
     }
 
 
     public double priceDigitalCall(MarketSlice slice, double K) {
+        if (digitalMode == DigitalMode.ANALYTIC) return analyticDigitalCall(slice, K);
         double eps = strikeEps(K);
         double cDn = priceVanilla(slice, true, K - eps);
         double cUp = priceVanilla(slice, true, K + eps);
@@ -52,85 +102,608 @@ public class VannaVolgaPricer implements SmilePricer {
 
 
     public double priceDigitalPut(MarketSlice slice, double K) {
+        if (digitalMode == DigitalMode.ANALYTIC) return slice.DFd - analyticDigitalCall(slice, K);
         double eps = strikeEps(K);
         double pDn = priceVanilla(slice, false, K - eps);
         double pUp = priceVanilla(slice, false, K + eps);
         return (pUp - pDn) / (2.0 * eps); // approximately dP/dK
     }
 
+    @Override
+    public void priceVanilla(MarketSlice slice, boolean isCall, double[] strikes, double[] out) {
+        SmilePricer.checkBatch(strikes, out);
+        priceBatch(slice, isCall, false, strikes, out);
+    }
+
+    // Black implied vol of the VV price, inverted from the out-of-the-money option.
+    public double impliedVol(MarketSlice slice, double K) {
+        boolean otmCall = K >= slice.F;
+        double price = priceVanilla(slice, otmCall, K);
+        return impliedVolSolver.impliedVolForward(otmCall, price, slice.F, slice.DFd, K, slice.T);
+    }
+
+    // VV smile in implied-vol terms: out[i] is the Black vol reproducing the VV price at strikes[i].
+    public void impliedVols(MarketSlice slice, double[] strikes, double[] out) {
+        SmilePricer.checkBatch(strikes, out);
+        priceBatch(slice, true, true, strikes, out);
+
+        double F = slice.F, DFd = slice.DFd, T = slice.T;
+        for (int i = 0; i < strikes.length; i++) {
+            out[i] = impliedVolSolver.impliedVolForward(strikes[i] >= F, out[i], F, DFd, strikes[i], T);
+        }
+    }
+
+    // otm = true prices calls at or above the forward and puts below it, ignoring isCall.
+    private void priceBatch(MarketSlice slice, boolean isCall, boolean otm, double[] strikes, double[] out) {
+        int n = strikes.length;
+        if (n == 0) return;
+        PricingMetrics.add(PricingMetrics.Counter.VV_PRICE, n);
+
+        // Structure-of-arrays pass: resolve all weights first, then price without touching the cache.
+        double[] w25P = new double[n];
+        double[] w25C = new double[n];
+        fillWeights(slice, strikes, w25P, w25C);
+
+        // One kernel pass per pillar vol across all strikes (SIMD lanes when the vector kernel is active),
+        // then the VV combination.
+        double[] pillarVols = getOrBuildSliceCache(slice).pillarVols;
+        double[] pATM = new double[n];
+        double[] p25P = new double[n];
+        double[] p25C = new double[n];
+        double F = slice.F, DFd = slice.DFd, T = slice.T;
+        bs.priceStrikes(isCall, otm, F, DFd, T, pillarVols[0], strikes, pATM);
+        bs.priceStrikes(isCall, otm, F, DFd, T, pillarVols[1], strikes, p25P);
+        bs.priceStrikes(isCall, otm, F, DFd, T, pillarVols[2], strikes, p25C);
+        for (int i = 0; i < n; i++) {
+            out[i] = pATM[i] + w25P[i] * (p25P[i] - pATM[i]) + w25C[i] * (p25C[i] - pATM[i]);
+        }
+    }
+
+    @Override
+    public void priceDigitalCall(MarketSlice slice, double[] strikes, double[] out) {
+        priceDigitals(slice, true, strikes, out);
+    }
+
+    @Override
+    public void priceDigitalPut(MarketSlice slice, double[] strikes, double[] out) {
+        priceDigitals(slice, false, strikes, out);
+    }
+
+    private void priceDigitals(MarketSlice slice, boolean isCall, double[] strikes, double[] out) {
+        SmilePricer.checkBatch(strikes, out);
+        int n = strikes.length;
+        if (n == 0) return;
+        if (digitalMode == DigitalMode.ANALYTIC) {
+            analyticDigitals(slice, isCall, strikes, out);
+            return;
+        }
+
+        double[] kDn = new double[n];
+        double[] kUp = new double[n];
+        for (int i = 0; i < n; i++) {
+            double eps = strikeEps(strikes[i]);
+            kDn[i] = strikes[i] - eps;
+            kUp[i] = strikes[i] + eps;
+        }
+
+        double[] vUp = new double[n];
+        priceVanilla(slice, isCall, kDn, out);
+        priceVanilla(slice, isCall, kUp, vUp);
+
+        for (int i = 0; i < n; i++) {
+            double eps = strikeEps(strikes[i]);
+            out[i] = isCall ? (out[i] - vUp[i]) / (2.0 * eps) : (vUp[i] - out[i]) / (2.0 * eps);
+        }
+    }
+
+    // Digital call = -dV/dK of the VV call V = C_ATM + w25P (C_25P - C_ATM) + w25C (C_25C - C_ATM):
+    //   D_ATM + w25P (D_25P - D_ATM) + w25C (D_25C - D_ATM) - w25P' (C_25P - C_ATM) - w25C' (C_25C - C_ATM)
+    // with D = DFd N(d2) per pillar vol and w' = M^-1 dg/dK from the analytic strike derivative of the
+    // (vega, vanna, volga) vector. Puts follow from parity: digital put = DFd - digital call. In grid mode w
+    // is interpolated but w' is still solved exactly: the derivative of the interpolating cubic converges an
+    // order slower and put ~1e-4 errors on digitals.
+    private double analyticDigitalCall(MarketSlice slice, double K) {
+        PricingMetrics.increment(PricingMetrics.Counter.VV_DIGITAL);
+        SliceCache sliceCache = getOrBuildSliceCache(slice);
+        double[] w = new double[3];
+        double[] dw = new double[3];
+        vvWeightsAtATM(slice, sliceCache, K, w);
+        weightSlopes(slice, sliceCache, K, dw);
+
+        double[] p = new double[3];
+        double[] d = new double[3];
+        bs.callAndDigitalVols(slice.F, slice.DFd, K, slice.T, sliceCache.pillarVols, p, d);
+        return vvDigitalCall(w[0], w[2], dw[0], dw[2], p, d);
+    }
+
+    private void analyticDigitals(MarketSlice slice, boolean isCall, double[] strikes, double[] out) {
+        int n = strikes.length;
+        PricingMetrics.add(PricingMetrics.Counter.VV_DIGITAL, n);
+
+        double[] w25P = new double[n];
+        double[] w25C = new double[n];
+        fillWeights(slice, strikes, w25P, w25C);
+
+        SliceCache sliceCache = getOrBuildSliceCache(slice);
+        double[] dw = new double[3];
+        double[] p = new double[3];
+        double[] d = new double[3];
+        double F = slice.F, DFd = slice.DFd, T = slice.T;
+        for (int i = 0; i < n; i++) {
+            double K = strikes[i];
+            weightSlopes(slice, sliceCache, K, dw);
+            bs.callAndDigitalVols(F, DFd, K, T, sliceCache.pillarVols, p, d);
+            double call = vvDigitalCall(w25P[i], w25C[i], dw[0], dw[2], p, d);
+            out[i] = isCall ? call : DFd - call;
+        }
+    }
+
+    // Pillar order in p and d is [ATM, 25P, 25C], as in SliceCache.pillarVols.
+    private static double vvDigitalCall(double w25P, double w25C, double dw25P, double dw25C,
+                                        double[] p, double[] d) {
+        double dATM = d[0], pATM = p[0];
+        return dATM + w25P * (d[1] - dATM) + w25C * (d[2] - dATM)
+                - dw25P * (p[1] - pATM) - dw25C * (p[2] - pATM);
+    }
+
+    // dw/dK, in weight order [25P, ATM, 25C].
+    private void weightSlopes(MarketSlice slice, SliceCache sliceCache, double K, double[] dw) {
+        greeks.vegaVannaVolgaStrikeDerivative(slice.S, K, slice.T, slice.rd, slice.rf, slice.sigmaATM, dw);
+        sliceCache.pillarFactors.solve(dw, dw);
+    }
+
+    // Columnar path: prices straight off a SliceBook by slice id, with no per-slice cache objects and no
+    // strike weight table; weights are solved per strike against the pillar inverse stored in the book,
+    // and the strike grid does not apply. prepare() factorizes each slice's pillar Greek matrix once (as
+    // configured here: Greeks mode and solver, counting ill-conditioned pillars there); pricing an unprepared
+    // slice throws IllegalStateException. Digitals follow the configured DigitalMode.
+    public void prepare(SliceBook book) {
+        for (int id = 0; id < book.size(); id++) {
+            if (!book.hasPillarSolve(id)) prepare(book, id);
+        }
+    }
+
+    public void prepare(SliceBook book, int id) {
+        Factorization factors = pillarFactors(book.slice(id));
+        book.setPillarSolve(id, inverse(factors), factors.conditionNumber());
+    }
+
+    public double priceVanilla(SliceBook book, int id, boolean isCall, double K) {
+        PricingMetrics.increment(PricingMetrics.Counter.VV_PRICE);
+        double[] w = bookWeights(book, checkPrepared(book, id), K, new double[3]);
+        double[] p = bs.priceVols(isCall, book.F(id), book.DFd(id), K, book.T(id), bookPillarVols(book, id),
+                new double[3]);
+        return p[0] + w[0] * (p[1] - p[0]) + w[2] * (p[2] - p[0]);
+    }
+
+    public void priceVanilla(SliceBook book, int id, boolean isCall, double[] strikes, double[] out) {
+        SmilePricer.checkBatch(strikes, out);
+        int n = strikes.length;
+        if (n == 0) return;
+        PricingMetrics.add(PricingMetrics.Counter.VV_PRICE, n);
+
+        checkPrepared(book, id);
+        double[] w = new double[3];
+        double[] w25P = new double[n];
+        double[] w25C = new double[n];
+        for (int i = 0; i < n; i++) {
+            bookWeights(book, id, strikes[i], w);
+            w25P[i] = w[0];
+            w25C[i] = w[2];
+        }
+
+        double[] pATM = new double[n];
+        double[] p25P = new double[n];
+        double[] p25C = new double[n];
+        double F = book.F(id), DFd = book.DFd(id), T = book.T(id);
+        bs.priceStrikes(isCall, false, F, DFd, T, book.sigmaATM(id), strikes, pATM);
+        bs.priceStrikes(isCall, false, F, DFd, T, book.sigma25P(id), strikes, p25P);
+        bs.priceStrikes(isCall, false, F, DFd, T, book.sigma25C(id), strikes, p25C);
+        for (int i = 0; i < n; i++) {
+            out[i] = pATM[i] + w25P[i] * (p25P[i] - pATM[i]) + w25C[i] * (p25C[i] - pATM[i]);
+        }
+    }
+
+    // As priceDigitalCall(MarketSlice, double): analyticDigitalCall, or central differences in strike.
+    public double priceDigitalCall(SliceBook book, int id, double K) {
+        if (digitalMode != DigitalMode.ANALYTIC) {
+            double eps = strikeEps(K);
+            double cDn = priceVanilla(book, id, true, K - eps);
+            double cUp = priceVanilla(book, id, true, K + eps);
+            return (cDn - cUp) / (2.0 * eps);
+        }
+        PricingMetrics.increment(PricingMetrics.Counter.VV_DIGITAL);
+        checkPrepared(book, id);
+        double S = book.S(id), T = book.T(id), rd = book.rd(id), rf = book.rf(id), sigma = book.sigmaATM(id);
+        double[] w = bookWeights(book, id, K, new double[3]);
+        double[] dw = greeks.vegaVannaVolgaStrikeDerivative(S, K, T, rd, rf, sigma, new double[3]);
+        book.solvePillars(id, dw, dw);
+
+        double[] p = new double[3];
+        double[] d = new double[3];
+        bs.callAndDigitalVols(book.F(id), book.DFd(id), K, T, bookPillarVols(book, id), p, d);
+        return vvDigitalCall(w[0], w[2], dw[0], dw[2], p, d);
+    }
+
+    public double priceDigitalPut(SliceBook book, int id, double K) {
+        if (digitalMode != DigitalMode.ANALYTIC) {
+            double eps = strikeEps(K);
+            double pDn = priceVanilla(book, id, false, K - eps);
+            double pUp = priceVanilla(book, id, false, K + eps);
+            return (pUp - pDn) / (2.0 * eps);
+        }
+        return book.DFd(id) - priceDigitalCall(book, id, K);
+    }
+
+    private static int checkPrepared(SliceBook book, int id) {
+        if (!book.hasPillarSolve(id)) {
+            throw new IllegalStateException("VannaVolgaPricer: slice " + id + " of the book is not prepared.");
+        }
+        return id;
+    }
+
+    private double[] bookWeights(SliceBook book, int id, double K, double[] w) {
+        greekVector(book.S(id), book.T(id), book.rd(id), book.rf(id), K, book.sigmaATM(id), w);
+        return book.solvePillars(id, w, w);
+    }
+
+    private static double[] bookPillarVols(SliceBook book, int id) {
+        return new double[]{book.sigmaATM(id), book.sigma25P(id), book.sigma25C(id)};
+    }
+
+    // Row-major inverse recovered from any Factorization by solving for the unit vectors.
+    private static double[] inverse(Factorization factors) {
+        double[] inv = new double[9];
+        double[] e = new double[3];
+        for (int j = 0; j < 3; j++) {
+            e[0] = 0.0; e[1] = 0.0; e[2] = 0.0;
+            e[j] = 1.0;
+            factors.solve(e, e);
+            inv[j] = e[0];
+            inv[3 + j] = e[1];
+            inv[6 + j] = e[2];
+        }
+        return inv;
+    }
+
+    // Carries the cache state of previous over to next, typically a slice derived by
+    // MarketSliceBuilder.update on a spot/rate tick. VV weights depend on the strike only through K/F
+    // when expiry, pillar vols and pillar moneyness are unchanged: the Greek vectors then differ by the
+    // row scaling diag(F*DFd, DFf, F*DFd), which cancels in the 3x3 solve. In that case the weight table
+    // and strike grid are shared and only the pillar Greek matrix is recomputed and refactorized. Returns
+    // false, leaving next to be built on first use, when previous has no cache or the smile moved in
+    // moneyness terms.
+    public boolean rebase(MarketSlice previous, MarketSlice next) {
+        if (previous == next) return true;
+        SliceCache base = sliceCaches.getIfPresent(previous);
+        if (base == null || !sameSmileInMoneyness(previous, next)) return false;
+
+        sliceCaches.get(next, s -> rebasedSliceCache(base, previous, s));
+        return true;
+    }
+
+    // Builds the slice cache ahead of first use, e.g. before rebasing a family of derived slices onto it.
+    public void warm(MarketSlice slice) {
+        getOrBuildSliceCache(slice);
+    }
+
+    // Drops the cached pillar matrix and strike weights of one slice.
+    public void invalidate(MarketSlice slice) {
+        sliceCaches.invalidate(slice);
+    }
+
+    public void clearCaches() {
+        sliceCaches.clear();
+    }
+
+    // Identifies everything a slice cache depends on besides the slice itself; images only restore into a
+    // pricer with the same signature.
+    public String cacheSignature() {
+        String grid = (strikeGrid == null) ? "exact" : strikeGrid.points + "x" + strikeGrid.stdDevs;
+        return greeksMode + "/" + grid + "/" + bs.normal().getClass().getSimpleName() + "/"
+                + solver.getClass().getSimpleName();
+    }
+
+    // Slice caches missing from this pricer are restored from source images when it has one for the slice,
+    // and built as usual otherwise; null detaches. Restored pillar solves are explicit inverses (Inverse3)
+    // whatever the configured LinearSolver, so restored slices price bit-identically only for solvers that
+    // factorize to an Inverse3 (GaussianElimination3); others agree to rounding on strikes not in the image.
+    public void restoreFrom(SliceCacheSource source) {
+        if (source != null && !cacheSignature().equals(source.cacheSignature())) {
+            throw new IllegalArgumentException("VannaVolgaPricer: cache images were written by a pricer configured as "
+                    + source.cacheSignature() + ", this one is " + cacheSignature() + ".");
+        }
+        this.cacheSource = source;
+    }
+
+    // Little-endian image of the slice's cache (pillar inverse, strike grid, cached strike weights), flipped
+    // for reading; null when the slice has no cache yet. Layout:
+    //   double[9] pillar inverse (row-major), double condition number,
+    //   int grid nodes (0 = none) [, double x0, h, max weight error, max price and digital errors,
+    //   double[3n] node weights],
+    //   int weight entries, then per entry: long strike key, double[3] weights
+    public ByteBuffer exportCache(MarketSlice slice) {
+        SliceCache cache = sliceCaches.getIfPresent(slice);
+        if (cache == null) return null;
+
+        int capacity = cache.weightsByStrike.capacity();
+        long[] keys = new long[capacity];
+        double[] weights = new double[3 * capacity];
+        int entries = cache.weightsByStrike.copyEntries(keys, weights);
+
+        int gridBytes = (cache.grid == null) ? 4 : cache.grid.imageBytes();
+        ByteBuffer out = ByteBuffer.allocate(80 + gridBytes + 4 + 32 * entries).order(ByteOrder.LITTLE_ENDIAN);
+        for (double v : inverse(cache.pillarFactors)) out.putDouble(v);
+        out.putDouble(cache.pillarFactors.conditionNumber());
+        if (cache.grid == null) {
+            out.putInt(0);
+        } else {
+            cache.grid.write(out);
+        }
+        out.putInt(entries);
+        for (int i = 0; i < entries; i++) {
+            out.putLong(keys[i]).putDouble(weights[3 * i]).putDouble(weights[3 * i + 1]).putDouble(weights[3 * i + 2]);
+        }
+        return out.flip();
+    }
+
+    // Max VV price error of grid mode against the exact weight solve, over vanillas and digitals, measured at the
+    // quarter points of every grid cell (the same for calls and puts); NaN when grid mode is off for this pricer
+    // or slice.
+    public double strikeGridErrorBound(MarketSlice slice) {
+        StrikeGrid grid = getOrBuildSliceCache(slice).grid;
+        return (grid == null) ? Double.NaN : Math.max(grid.maxPriceError, grid.maxDigitalError);
+    }
+
+    // 1-norm condition number of the slice's pillar Greek matrix (NaN if the solver does not estimate it);
+    // large values flag pillars too close together for stable weights.
+    public double pillarConditionNumber(MarketSlice slice) {
+        return getOrBuildSliceCache(slice).pillarFactors.conditionNumber();
+    }
+
+    public CacheStats cacheStats() {
+        int liveSlices = sliceCaches.size(); // expunges cleared keys first so evictions are current
+        return new CacheStats(sliceCaches.hits(), sliceCaches.misses(), sliceCaches.evictions(), liveSlices,
+                weightHits.sum(), weightMisses.sum(), weightEvictions.sum());
+    }
+
+    public void resetCacheStats() {
+        sliceCaches.resetCounters();
+        weightHits.reset();
+        weightMisses.reset();
+        weightEvictions.reset();
+    }
+
     private double strikeEps(double K) {
         return Math.max(1e-6, K * 1e-4);
     }
 
-    // Weights correspond to pillars [25P, ATM, 25C].
-    private double[] vvWeightsAtATM(MarketSlice slice, double KTarget) {
+    // Weights correspond to pillars [25P, ATM, 25C], written to w.
+    private double[] vvWeightsAtATM(MarketSlice slice, SliceCache sliceCache, double KTarget, double[] w) {
+        if (sliceCache.grid != null && sliceCache.grid.covers(KTarget)) {
+            PricingMetrics.increment(PricingMetrics.Counter.VV_WEIGHT_GRID);
+            return sliceCache.grid.weights(KTarget, w);
+        }
+
+        long key = strikeKey(slice, KTarget);
+        if (sliceCache.weightsByStrike.get(key, w)) {
+            weightHits.increment();
+            PricingMetrics.increment(PricingMetrics.Counter.VV_WEIGHT_HIT);
+            return w;
+        }
+
+        long start = PricingMetrics.startTimer();
+        sliceCache.pillarFactors.solve(greekVector(slice, KTarget, slice.sigmaATM, w), w);
+        storeWeights(sliceCache, key, w);
+        PricingMetrics.stopTimer(PricingMetrics.Histogram.WEIGHT_SOLVE_NANOS, start);
+        return w;
+    }
+
+    // Batch lookup: hits are optimistic lock-free reads, misses are solved with one scratch vector.
+    private void fillWeights(MarketSlice slice, double[] strikes, double[] w25P, double[] w25C) {
         SliceCache sliceCache = getOrBuildSliceCache(slice);
-        long key = strikeKey(KTarget);
+        int n = strikes.length;
+        double[] scratch = new double[3];
+        int hits = 0, misses = 0, gridded = 0;
 
-        synchronized (sliceCache.weightsByStrike) {
-            double[] cached = sliceCache.weightsByStrike.get(key);
-            if (cached != null) return cached;
+        StrikeGrid grid = sliceCache.grid;
+        for (int i = 0; i < n; i++) {
+            if (grid != null && grid.covers(strikes[i])) {
+                grid.weights(strikes[i], scratch);
+                w25P[i] = scratch[0];
+                w25C[i] = scratch[2];
+                gridded++;
+                continue;
+            }
+            if (sliceCache.weightsByStrike.get(strikeKey(slice, strikes[i]), scratch)) {
+                w25P[i] = scratch[0];
+                w25C[i] = scratch[2];
+                hits++;
+            } else {
+                w25P[i] = Double.NaN;
+                misses++;
+            }
         }
+        weightHits.add(hits);
+        PricingMetrics.add(PricingMetrics.Counter.VV_WEIGHT_HIT, hits);
+        PricingMetrics.add(PricingMetrics.Counter.VV_WEIGHT_GRID, gridded);
+        if (misses == 0) return;
 
-        double[] targetGreeks = greekVector(slice, KTarget, slice.sigmaATM);
-        double[] weights = solver.solve(sliceCache.pillarGreekMatrix, targetGreeks);
+        for (int i = 0; i < n; i++) {
+            if (!Double.isNaN(w25P[i])) continue;
+
+            long start = PricingMetrics.startTimer();
+            sliceCache.pillarFactors.solve(greekVector(slice, strikes[i], slice.sigmaATM, scratch), scratch);
+            w25P[i] = scratch[0];
+            w25C[i] = scratch[2];
+            storeWeights(sliceCache, strikeKey(slice, strikes[i]), scratch);
+            PricingMetrics.stopTimer(PricingMetrics.Histogram.WEIGHT_SOLVE_NANOS, start);
+        }
+    }
 
-        synchronized (sliceCache.weightsByStrike) {
-            sliceCache.weightsByStrike.put(key, weights);
+    private void storeWeights(SliceCache sliceCache, long key, double[] weights) {
+        weightMisses.increment();
+        PricingMetrics.increment(PricingMetrics.Counter.VV_WEIGHT_MISS);
+        if (sliceCache.weightsByStrike.put(key, weights)) {
+            weightEvictions.increment();
+            PricingMetrics.increment(PricingMetrics.Counter.VV_WEIGHT_EVICTION);
         }
-        return weights;
     }
 
     private SliceCache getOrBuildSliceCache(MarketSlice slice) {
-        synchronized (sliceCaches) {
-            SliceCache cached = sliceCaches.get(slice);
-            if (cached != null) return cached;
+        return sliceCaches.get(slice, this::restoreOrBuildSliceCache);
+    }
+
+    private SliceCache restoreOrBuildSliceCache(MarketSlice slice) {
+        SliceCacheSource source = cacheSource;
+        ByteBuffer image = (source == null) ? null : source.cacheImage(slice);
+        return (image == null) ? buildSliceCache(slice) : restoreSliceCache(slice, image);
+    }
+
+    // Reads an exportCache image; no Greeks, solves or pillar pricing.
+    private SliceCache restoreSliceCache(MarketSlice slice, ByteBuffer image) {
+        ByteBuffer in = image.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        double[] inv = new double[9];
+        for (int i = 0; i < 9; i++) inv[i] = in.getDouble();
+        Factorization factors = new Inverse3(inv, in.getDouble());
 
-            SliceCache built = buildSliceCache(slice);
-            sliceCaches.put(slice, built);
-            return built;
+        StrikeGrid grid = null;
+        if (in.getInt(in.position()) == 0) {
+            in.getInt();
+        } else {
+            grid = StrikeGrid.read(slice.F, in);
         }
+
+        StrikeWeightCache weightsByStrike = new StrikeWeightCache(strikeCacheCapacity);
+        double[] w = new double[3];
+        int entries = in.getInt();
+        for (int i = 0; i < entries; i++) {
+            long key = in.getLong();
+            w[0] = in.getDouble();
+            w[1] = in.getDouble();
+            w[2] = in.getDouble();
+            weightsByStrike.put(key, w);
+        }
+
+        PricingMetrics.increment(PricingMetrics.Counter.VV_SLICE_CACHE_RESTORE);
+        double[] pillarVols = new double[]{slice.sigmaATM, slice.sigma25P, slice.sigma25C};
+        return new SliceCache(factors, pillarVols, weightsByStrike, grid);
     }
 
+    // Runs inside the WeakIdentityCache future, so its duration is how long concurrent callers on the
+    // same slice wait.
     private SliceCache buildSliceCache(MarketSlice slice) {
+        long start = PricingMetrics.startTimer();
+        SliceCacheBuildEvent event = PricingMetrics.JFR_ENABLED ? new SliceCacheBuildEvent() : null;
+        if (event != null) event.begin();
+
+        double sigma = slice.sigmaATM;
+        Factorization factors = pillarFactors(slice);
+
+        double[] pillarVols = new double[]{slice.sigmaATM, slice.sigma25P, slice.sigma25C};
+
+        StrikeGrid grid = null;
+        if (strikeGrid != null && slice.T > 0.0) {
+            grid = new StrikeGrid(slice, strikeGrid,
+                    (K, out) -> factors.solve(greekVector(slice, K, sigma, out), out),
+                    (K, calls, digitals) -> bs.callAndDigitalVols(slice.F, slice.DFd, K, slice.T, pillarVols,
+                            calls, digitals));
+        }
+
+        SliceCache cache = new SliceCache(factors, pillarVols, new StrikeWeightCache(strikeCacheCapacity), grid);
+
+        PricingMetrics.increment(PricingMetrics.Counter.VV_SLICE_CACHE_BUILD);
+        PricingMetrics.stopTimer(PricingMetrics.Histogram.SLICE_CACHE_BUILD_NANOS, start);
+        if (event != null) {
+            event.expiry = slice.T;
+            event.greeksMode = greeksMode.name();
+            event.strikeGrid = grid != null;
+            event.commit();
+        }
+        return cache;
+    }
+
+    // The pillar matrix is fixed for the life of a slice cache, so it is factorized once and every weight
+    // solve is a 3x3 matrix-vector product.
+    private Factorization pillarFactors(MarketSlice slice) {
+        Factorization factors = solver.factorize(pillarGreekMatrix(slice));
+        if (factors.conditionNumber() > PILLAR_CONDITION_WARNING) {
+            PricingMetrics.increment(PricingMetrics.Counter.ILL_CONDITIONED_PILLARS);
+        }
+        return factors;
+    }
+
+    private double[][] pillarGreekMatrix(MarketSlice slice) {
         double sigma = slice.sigmaATM;
         double[] greek25P = greekVector(slice, slice.K_25P, sigma);
         double[] greekATM = greekVector(slice, slice.K_ATM, sigma);
         double[] greek25C = greekVector(slice, slice.K_25C, sigma);
 
-        double[][] matrix = new double[][]{
+        return new double[][]{
                 {greek25P[0], greekATM[0], greek25C[0]},
                 {greek25P[1], greekATM[1], greek25C[1]},
                 {greek25P[2], greekATM[2], greek25C[2]}
         };
+    }
 
-        return new SliceCache(matrix, new LinkedHashMap<Long, double[]>(128, 0.75f, true) {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<Long, double[]> eldest) {
-                return size() > MAX_STRIKE_CACHE_PER_SLICE;
-            }
-        });
+    private SliceCache rebasedSliceCache(SliceCache base, MarketSlice previous, MarketSlice slice) {
+        PricingMetrics.increment(PricingMetrics.Counter.VV_SLICE_CACHE_REBASE);
+        StrikeGrid grid = (base.grid == null) ? null
+                : base.grid.rebased(slice.F, (slice.F * slice.DFd) / (previous.F * previous.DFd),
+                        slice.DFd / previous.DFd);
+        return new SliceCache(pillarFactors(slice), base.pillarVols, base.weightsByStrike, grid);
+    }
+
+    private static boolean sameSmileInMoneyness(MarketSlice a, MarketSlice b) {
+        return a.T == b.T
+                && a.sigmaATM == b.sigmaATM && a.sigma25P == b.sigma25P && a.sigma25C == b.sigma25C
+                && sameMoneyness(a.K_ATM, a.F, b.K_ATM, b.F)
+                && sameMoneyness(a.K_25P, a.F, b.K_25P, b.F)
+                && sameMoneyness(a.K_25C, a.F, b.K_25C, b.F);
+    }
+
+    private static boolean sameMoneyness(double Ka, double Fa, double Kb, double Fb) {
+        double ma = Ka / Fa, mb = Kb / Fb;
+        return Math.abs(ma - mb) <= 1e-12 * Math.max(ma, mb);
     }
 
     private double[] greekVector(MarketSlice slice, double K, double sigma) {
+        return greekVector(slice, K, sigma, new double[3]);
+    }
+
+    private double[] greekVector(MarketSlice slice, double K, double sigma, double[] out) {
+        return greekVector(slice.S, slice.T, slice.rd, slice.rf, K, sigma, out);
+    }
+
+    private double[] greekVector(double S, double T, double rd, double rf, double K, double sigma, double[] out) {
+        if (greeksMode == GreeksMode.ANALYTIC) {
+            return greeks.vegaVannaVolga(S, K, T, rd, rf, sigma, out);
+        }
+
         boolean isCallForGreeks = true;
-        double vega = GreeksFD.vegaFD(bs, isCallForGreeks, slice.S, K, slice.T, slice.rd, slice.rf, sigma);
-        double vanna = GreeksFD.vannaFD(bs, isCallForGreeks, slice.S, K, slice.T, slice.rd, slice.rf, sigma);
-        double volga = GreeksFD.volgaFD(bs, isCallForGreeks, slice.S, K, slice.T, slice.rd, slice.rf, sigma);
-        return new double[]{vega, vanna, volga};
+        out[0] = GreeksFD.vegaFD(bs, isCallForGreeks, S, K, T, rd, rf, sigma);
+        out[1] = GreeksFD.vannaFD(bs, isCallForGreeks, S, K, T, rd, rf, sigma);
+        out[2] = GreeksFD.volgaFD(bs, isCallForGreeks, S, K, T, rd, rf, sigma);
+        return out;
     }
 
-    private long strikeKey(double K) {
-        return Math.round(K * 1e8);
+    // Keyed on moneyness K/F so the table stays valid for slices rebased onto a new forward.
+    private long strikeKey(MarketSlice slice, double K) {
+        return Math.round(K / slice.F * 1e10);
     }
 
     private static final class SliceCache {
-        private final double[][] pillarGreekMatrix;
-        private final Map<Long, double[]> weightsByStrike;
+        private final Factorization pillarFactors; // pillar Greek matrix, columns [25P, ATM, 25C]
+        private final double[] pillarVols; // [ATM, 25P, 25C], the order used by GKBlackScholes.priceVols
+        private final StrikeWeightCache weightsByStrike;
+        private final StrikeGrid grid; // null unless grid mode is enabled
 
-        private SliceCache(double[][] pillarGreekMatrix, Map<Long, double[]> weightsByStrike) {
-            this.pillarGreekMatrix = pillarGreekMatrix;
+        private SliceCache(Factorization pillarFactors, double[] pillarVols, StrikeWeightCache weightsByStrike,
+                           StrikeGrid grid) {
+            this.pillarFactors = pillarFactors;
+            this.pillarVols = pillarVols;
             this.weightsByStrike = weightsByStrike;
+            this.grid = grid;
         }
     }
 }
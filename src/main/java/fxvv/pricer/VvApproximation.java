@@ -0,0 +1,7 @@
+package main.java.fxvv.pricer;
+
+// Castagna-Mercurio closed-form approximations of the VV implied vol (Risk, Jan 2007).
+public enum VvApproximation {
+    FIRST_ORDER,  // log-strike quadratic through the three pillar vols
+    SECOND_ORDER  // adds the d1*d2 (volga) correction; within ~1bp of classic VV between the 25-delta pillars
+}
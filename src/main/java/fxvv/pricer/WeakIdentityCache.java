@@ -0,0 +1,130 @@
+package main.java.fxvv.pricer;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Concurrent cache keyed by object identity with weak keys. Each value is built exactly once by the
+// first caller for that key; concurrent callers for the same key wait on its future, callers for other
+// keys are never blocked. Reads of built values take no locks.
+final class WeakIdentityCache<K, V> {
+
+    private final ConcurrentHashMap<Object, Future<V>> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> cleared = new ReferenceQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    V get(K key, Function<? super K, ? extends V> builder) {
+        expungeCleared();
+
+        Future<V> existing = map.get(new LookupKey(key));
+        if (existing == null) {
+            FutureTask<V> task = new FutureTask<>(() -> builder.apply(key));
+            WeakKey<K> weakKey = new WeakKey<>(key, cleared);
+            existing = map.putIfAbsent(weakKey, task);
+            if (existing == null) {
+                misses.increment();
+                task.run();
+                return await(weakKey, task);
+            }
+        }
+        hits.increment();
+        return await(null, existing);
+    }
+
+    V getIfPresent(K key) {
+        Future<V> existing = map.get(new LookupKey(key));
+        if (existing == null || !existing.isDone()) return null;
+        return await(null, existing);
+    }
+
+    void invalidate(K key) {
+        if (map.remove(new LookupKey(key)) != null) evictions.increment();
+    }
+
+    void clear() {
+        int n = map.size();
+        map.clear();
+        evictions.add(n);
+    }
+
+    int size() {
+        expungeCleared();
+        return map.size();
+    }
+
+    long hits() { return hits.sum(); }
+    long misses() { return misses.sum(); }
+    long evictions() { return evictions.sum(); }
+
+    void resetCounters() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private V await(Object owner, Future<V> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            // Do not cache failures: the next caller retries the build.
+            if (owner != null) map.remove(owner, future);
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException("Cache value build failed.", cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a cache value build.", ex);
+        }
+    }
+
+    private void expungeCleared() {
+        Object ref;
+        while ((ref = cleared.poll()) != null) {
+            if (map.remove(ref) != null) evictions.increment();
+        }
+    }
+
+    private interface IdentityKey {
+        Object referent();
+    }
+
+    private static boolean sameReferent(IdentityKey self, Object other) {
+        if (self == other) return true;
+        if (!(other instanceof IdentityKey)) return false;
+        Object r = self.referent();
+        return r != null && r == ((IdentityKey) other).referent();
+    }
+
+    private static final class WeakKey<K> extends WeakReference<K> implements IdentityKey {
+        private final int hash;
+
+        WeakKey(K referent, ReferenceQueue<K> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        public Object referent() { return get(); }
+        @Override public int hashCode() { return hash; }
+        @Override public boolean equals(Object other) { return sameReferent(this, other); }
+    }
+
+    // Allocation-light probe for lookups; never stored in the map.
+    private static final class LookupKey implements IdentityKey {
+        private final Object referent;
+
+        LookupKey(Object referent) { this.referent = referent; }
+
+        public Object referent() { return referent; }
+        @Override public int hashCode() { return System.identityHashCode(referent); }
+        @Override public boolean equals(Object other) { return sameReferent(this, other); }
+    }
+}
@@ -0,0 +1,148 @@
+package test.java.fxvv.bs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.bs.GreeksAnalytic;
+import main.java.fxvv.bs.GreeksFD;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.pricer.GreeksMode;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+import org.junit.jupiter.api.Test;
+
+// Closed-form Greeks against GreeksFD and central differences of GKBlackScholes.price, over strikes within
+// +/- 2 standard deviations, expiries from one week to three years and vols from 5% to 30%. Errors are
+// measured relative to each Greek's ATM scale; the finite differences themselves are good to ~1e-5 of it.
+class GreeksAnalyticTest {
+
+    private static final double S = 1.085;
+    private static final double RD = 0.03;
+    private static final double RF = 0.02;
+    private static final double[] EXPIRIES = {7.0 / 365.0, 0.25, 1.0, 3.0};
+    private static final double[] VOLS = {0.05, 0.10, 0.30};
+    private static final double TOL = 1e-4;
+
+    private final GKBlackScholes bs = new GKBlackScholes(new CodyNormal());
+    private final GreeksAnalytic greeks = new GreeksAnalytic(bs.normal());
+
+    @Test
+    void vegaVannaVolgaMatchGreeksFD() {
+        for (double T : EXPIRIES) {
+            for (double sigma : VOLS) {
+                double sqrtT = Math.sqrt(T);
+                double vegaScale = S * GKBlackScholes.df(RF, T) * sqrtT * 0.3989422804014327;
+                for (double K : strikes(T, sigma)) {
+                    String at = at(T, sigma, K);
+                    assertEquals(GreeksFD.vegaFD(bs, true, S, K, T, RD, RF, sigma),
+                            greeks.vega(S, K, T, RD, RF, sigma), TOL * vegaScale, "vega " + at);
+                    assertEquals(GreeksFD.vannaFD(bs, true, S, K, T, RD, RF, sigma),
+                            greeks.vanna(S, K, T, RD, RF, sigma), TOL * vegaScale / (S * sigma * sqrtT), "vanna " + at);
+                    assertEquals(GreeksFD.volgaFD(bs, true, S, K, T, RD, RF, sigma),
+                            greeks.volga(S, K, T, RD, RF, sigma), TOL * vegaScale / sigma, "volga " + at);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fusedVegaVannaVolgaMatchSingleGreeks() {
+        double[] out = new double[3];
+        for (double T : EXPIRIES) {
+            for (double sigma : VOLS) {
+                for (double K : strikes(T, sigma)) {
+                    greeks.vegaVannaVolga(S, K, T, RD, RF, sigma, out);
+                    String at = at(T, sigma, K);
+                    assertEquals(greeks.vega(S, K, T, RD, RF, sigma), out[0], 1e-14 * Math.abs(out[0]), "vega " + at);
+                    assertEquals(greeks.vanna(S, K, T, RD, RF, sigma), out[1], 1e-12 * Math.abs(out[1]), "vanna " + at);
+                    assertEquals(greeks.volga(S, K, T, RD, RF, sigma), out[2], 1e-12 * Math.abs(out[2]), "volga " + at);
+                }
+            }
+        }
+    }
+
+    @Test
+    void deltaGammaThetaMatchCentralDifferences() {
+        for (double T : EXPIRIES) {
+            for (double sigma : VOLS) {
+                double h = S * 1e-4;
+                double dT = T * 1e-5;
+                double gammaScale = GKBlackScholes.df(RF, T) / (S * sigma * Math.sqrt(T));
+                for (double K : strikes(T, sigma)) {
+                    for (boolean isCall : new boolean[]{true, false}) {
+                        String at = at(T, sigma, K) + (isCall ? " call" : " put");
+                        double up = bs.price(isCall, S + h, K, T, RD, RF, sigma);
+                        double mid = bs.price(isCall, S, K, T, RD, RF, sigma);
+                        double dn = bs.price(isCall, S - h, K, T, RD, RF, sigma);
+                        double theta = -(bs.price(isCall, S, K, T + dT, RD, RF, sigma)
+                                - bs.price(isCall, S, K, T - dT, RD, RF, sigma)) / (2.0 * dT);
+
+                        assertEquals((up - dn) / (2.0 * h), greeks.delta(isCall, S, K, T, RD, RF, sigma), TOL,
+                                "delta " + at);
+                        assertEquals((up - 2.0 * mid + dn) / (h * h), greeks.gamma(S, K, T, RD, RF, sigma),
+                                TOL * gammaScale, "gamma " + at);
+                        assertEquals(theta, greeks.theta(isCall, S, K, T, RD, RF, sigma), TOL * S * sigma / Math.sqrt(T),
+                                "theta " + at);
+                    }
+                }
+            }
+        }
+    }
+
+    // The VV digital slopes depend on this derivative.
+    @Test
+    void strikeDerivativeMatchesCentralDifferences() {
+        double[] up = new double[3];
+        double[] dn = new double[3];
+        double[] d = new double[3];
+        for (double T : EXPIRIES) {
+            for (double sigma : VOLS) {
+                double sqrtT = Math.sqrt(T);
+                double vegaScale = S * GKBlackScholes.df(RF, T) * sqrtT * 0.3989422804014327;
+                double[] scale = {vegaScale, vegaScale / (S * sigma * sqrtT), vegaScale / sigma};
+                for (double K : strikes(T, sigma)) {
+                    double h = K * 1e-5;
+                    greeks.vegaVannaVolga(S, K + h, T, RD, RF, sigma, up);
+                    greeks.vegaVannaVolga(S, K - h, T, RD, RF, sigma, dn);
+                    greeks.vegaVannaVolgaStrikeDerivative(S, K, T, RD, RF, sigma, d);
+                    for (int i = 0; i < 3; i++) {
+                        assertEquals((up[i] - dn[i]) / (2.0 * h), d[i], TOL * scale[i] / (K * sigma * sqrtT),
+                                "d/dK[" + i + "] " + at(T, sigma, K));
+                    }
+                }
+            }
+        }
+    }
+
+    // ANALYTIC and FINITE_DIFFERENCE weights give the same VV smile.
+    @Test
+    void vannaVolgaPricesAgreeAcrossGreeksModes() {
+        MarketSliceBuilder builder = new MarketSliceBuilder(bs, new NewtonRootFinder(),
+                DeltaConvention.SPOT_PREM_EXCLUDED);
+        VannaVolgaPricer analytic = new VannaVolgaPricer(bs, new GaussianElimination3(), GreeksMode.ANALYTIC);
+        VannaVolgaPricer fd = new VannaVolgaPricer(bs, new GaussianElimination3(), GreeksMode.FINITE_DIFFERENCE);
+        for (double T : EXPIRIES) {
+            MarketSlice slice = builder.build(S, RD, RF, new SmileQuote(T, 0.10, -0.02, 0.01));
+            double scale = S * Math.sqrt(T) * slice.DFd;
+            for (double K : strikes(T, slice.sigmaATM)) {
+                assertEquals(fd.priceVanilla(slice, true, K), analytic.priceVanilla(slice, true, K), 1e-6 * scale,
+                        "VV call at T=" + T + " K=" + K);
+            }
+        }
+    }
+
+    private static double[] strikes(double T, double sigma) {
+        double[] K = new double[17];
+        for (int i = 0; i < K.length; i++) K[i] = S * Math.exp((i - 8) * 0.25 * sigma * Math.sqrt(T));
+        return K;
+    }
+
+    private static String at(double T, double sigma, double K) {
+        return "at T=" + T + " sigma=" + sigma + " K=" + K;
+    }
+}
@@ -0,0 +1,62 @@
+package test.java.fxvv.bs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.bs.ImpliedVolSolver;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import org.junit.jupiter.api.Test;
+
+// Round trips vol -> Black price -> implied vol over random expiries (1d to 5y), vols (1% to 100%) and
+// moneyness, against the 1e-11 max relative error claimed for the solver.
+class ImpliedVolSolverTest {
+
+    private static final double F = 1.10;
+    private static final double DFd = 0.97;
+    private static final int CASES = 200_000;
+
+    private final GKBlackScholes bs = new GKBlackScholes(new CodyNormal());
+    private final ImpliedVolSolver solver = new ImpliedVolSolver(bs.normal());
+
+    @Test
+    void outOfTheMoneyRoundTripWithinThreeStdDevs() {
+        assertRoundTrip(3.0, true, 1e-11);
+    }
+
+    // In-the-money prices go through parity, which costs digits as the intrinsic grows.
+    @Test
+    void callsAndPutsRoundTripWithinTwoStdDevs() {
+        assertRoundTrip(2.0, false, 1e-11);
+    }
+
+    @Test
+    void boundsAreReportedAsDocumented() {
+        double K = 1.05, T = 0.5;
+        assertEquals(0.0, solver.impliedVolForward(true, DFd * (F - K), F, DFd, K, T));
+        assertEquals(0.0, solver.impliedVolForward(false, 0.0, F, DFd, K, T));
+        assertTrue(Double.isNaN(solver.impliedVolForward(true, 1.001 * DFd * F, F, DFd, K, T)));
+    }
+
+    private void assertRoundTrip(double stdDevs, boolean otmOnly, double tol) {
+        SplittableRandom random = new SplittableRandom(42);
+        double maxRel = 0.0;
+        String worst = "";
+        for (int i = 0; i < CASES; i++) {
+            double T = 1.0 / 365.0 + 5.0 * random.nextDouble();
+            double vol = 0.01 + 0.99 * random.nextDouble();
+            double z = stdDevs * (2.0 * random.nextDouble() - 1.0);
+            double K = F * Math.exp(z * vol * Math.sqrt(T));
+            boolean isCall = otmOnly ? K >= F : random.nextBoolean();
+
+            double price = bs.priceForward(isCall, F, DFd, K, T, vol);
+            double rel = Math.abs(solver.impliedVolForward(isCall, price, F, DFd, K, T) / vol - 1.0);
+            if (!(rel <= maxRel)) {
+                maxRel = rel;
+                worst = "T=" + T + " vol=" + vol + " z=" + z + (isCall ? " call" : " put");
+            }
+        }
+        assertTrue(maxRel <= tol, "max relative error " + maxRel + " at " + worst);
+    }
+}
@@ -0,0 +1,117 @@
+package test.java.fxvv.exotic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.exotic.BarrierTrade;
+import main.java.fxvv.exotic.LocalVolGrid;
+import main.java.fxvv.exotic.MonteCarloEngine;
+import main.java.fxvv.exotic.MonteCarloResult;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.numerics.NormalDist;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+import org.junit.jupiter.api.Test;
+
+// Barrier Monte Carlo on the VV local vol: closed forms on a flat smile, vanilla repricing on a skewed one,
+// and results independent of the pool's parallelism for a given seed.
+class MonteCarloEngineTest {
+
+    private static final double S = 1.085;
+    private static final double RD = 0.03;
+    private static final double RF = 0.02;
+    private static final int PATHS = 1 << 16;
+    private static final long SEED = 20240601L;
+
+    private final NormalDist normal = new CodyNormal();
+    private final GKBlackScholes bs = new GKBlackScholes(normal);
+    private final VannaVolgaPricer pricer = new VannaVolgaPricer(bs, new GaussianElimination3());
+    private final MarketSliceBuilder builder = new MarketSliceBuilder(bs, new NewtonRootFinder(),
+            DeltaConvention.SPOT_PREM_EXCLUDED);
+
+    // Continuously monitored down-and-out call against the Merton / Reiner-Rubinstein closed form.
+    @Test
+    void flatSmileDownAndOutCallMatchesClosedForm() {
+        double T = 0.5, sigma = 0.10;
+        MarketSlice slice = builder.build(S, RD, RF, new SmileQuote(T, sigma, 0.0, 0.0));
+        double[][] cases = {{1.05, 1.00}, {1.10, 1.04}, {1.00, 0.95}}; // {strike, barrier}, barrier <= strike
+
+        BarrierTrade[] trades = new BarrierTrade[cases.length];
+        for (int i = 0; i < cases.length; i++) trades[i] = BarrierTrade.knockOut(true, cases[i][0], cases[i][1], false);
+        MonteCarloResult mc = new MonteCarloEngine(pricer).price(slice, trades, PATHS, SEED);
+
+        for (int i = 0; i < cases.length; i++) {
+            double expected = downAndOutCall(cases[i][0], cases[i][1], T, sigma);
+            assertWithinStdErrors(expected, mc, i, "K=" + cases[i][0] + " B=" + cases[i][1]);
+        }
+    }
+
+    // A knock-out whose barrier is out of reach is a vanilla, which the local vol has to reprice off the VV smile.
+    @Test
+    void vanillasRepriceAgainstVannaVolga() {
+        MarketSlice slice = builder.build(S, RD, RF, new SmileQuote(0.5, 0.09, -0.015, 0.004));
+        double[] moneyness = {0.94, 0.97, 1.0, 1.03, 1.06};
+        BarrierTrade[] trades = new BarrierTrade[2 * moneyness.length];
+        for (int i = 0; i < moneyness.length; i++) {
+            double K = moneyness[i] * slice.F;
+            trades[2 * i] = BarrierTrade.knockOut(true, K, 100.0 * S, true);
+            trades[2 * i + 1] = BarrierTrade.knockOut(false, K, 0.01 * S, false);
+        }
+        MonteCarloResult mc = new MonteCarloEngine(pricer).price(slice, trades, PATHS, SEED);
+
+        for (int i = 0; i < trades.length; i++) {
+            boolean isCall = trades[i].isCall;
+            double expected = pricer.priceVanilla(slice, isCall, trades[i].strike);
+            assertWithinStdErrors(expected, mc, i, (isCall ? "call" : "put") + " K=" + trades[i].strike);
+        }
+    }
+
+    @Test
+    void resultsDoNotDependOnParallelism() {
+        MarketSlice slice = builder.build(S, RD, RF, new SmileQuote(0.5, 0.09, -0.015, 0.004));
+        BarrierTrade[] trades = {
+                BarrierTrade.knockOut(true, 1.10, 1.20, true),
+                BarrierTrade.knockIn(false, 1.06, 1.02, false),
+                BarrierTrade.oneTouch(1.15, true, 1.0),
+                BarrierTrade.noTouch(1.01, false, 1.0)};
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            LocalVolGrid grid = new MonteCarloEngine(pricer, 252, single).localVol(slice);
+            MonteCarloResult a = new MonteCarloEngine(pricer, 252, single).price(grid, trades, 50_000, SEED);
+            MonteCarloResult b = new MonteCarloEngine(pricer, 252, several).price(grid, trades, 50_000, SEED);
+            for (int i = 0; i < trades.length; i++) {
+                assertEquals(Double.doubleToRawLongBits(a.pv(i)), Double.doubleToRawLongBits(b.pv(i)), "pv " + i);
+                assertEquals(Double.doubleToRawLongBits(a.stdError(i)), Double.doubleToRawLongBits(b.stdError(i)),
+                        "stdError " + i);
+            }
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    private static void assertWithinStdErrors(double expected, MonteCarloResult mc, int i, String what) {
+        double err = Math.abs(mc.pv(i) - expected);
+        assertTrue(err <= 4.0 * mc.stdError(i),
+                what + ": MC " + mc.pv(i) + " +/- " + mc.stdError(i) + " vs " + expected);
+    }
+
+    private double downAndOutCall(double K, double B, double T, double sigma) {
+        double sqrtT = Math.sqrt(T);
+        double DFd = Math.exp(-RD * T), DFf = Math.exp(-RF * T);
+        double lambda = (RD - RF + 0.5 * sigma * sigma) / (sigma * sigma);
+        double y = Math.log(B * B / (S * K)) / (sigma * sqrtT) + lambda * sigma * sqrtT;
+        double knockIn = S * DFf * Math.pow(B / S, 2.0 * lambda) * normal.cdf(y)
+                - K * DFd * Math.pow(B / S, 2.0 * lambda - 2.0) * normal.cdf(y - sigma * sqrtT);
+        return bs.price(true, S, K, T, RD, RF, sigma) - knockIn;
+    }
+}
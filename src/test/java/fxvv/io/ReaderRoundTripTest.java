@@ -0,0 +1,155 @@
+package test.java.fxvv.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import main.java.fxvv.io.BinaryQuoteWriter;
+import main.java.fxvv.io.BinaryTradeWriter;
+import main.java.fxvv.io.QuoteReader;
+import main.java.fxvv.io.TradeReader;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.portfolio.Trade;
+import main.java.fxvv.portfolio.TradeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// CSV -> reader -> binary writer -> reader round trips for quotes and trades. Numbers written with
+// Double.toString must come back bit-identical from both formats.
+class ReaderRoundTripTest {
+
+    private static final String[] PAIRS = {"EURUSD", "USDJPY", "GBPUSD", "AUDUSD", "USDCHF"};
+    private static final int ROWS = 5_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void tradesRoundTripThroughCsvAndBinary() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Trade> trades = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("pair,expiry,strike,type,notional\n");
+        for (int i = 0; i < ROWS; i++) {
+            String pair = PAIRS[random.nextInt(PAIRS.length)];
+            double expiry = 0.01 + 5.0 * random.nextDouble();
+            double strike = 0.5 + random.nextDouble();
+            TradeType type = TradeType.values()[random.nextInt(TradeType.values().length)];
+            // Every fourth row omits the notional, which then defaults to 1.
+            boolean defaulted = (i % 4 == 3);
+            double notional = defaulted ? 1.0 : (random.nextBoolean() ? -1.0 : 1.0) * 1e6 * random.nextDouble();
+            trades.add(new Trade(pair, expiry, strike, type, notional));
+            csv.append(pair).append(',').append(expiry).append(',').append(strike).append(',')
+                    .append(type.name().toLowerCase());
+            if (!defaulted) csv.append(',').append(notional);
+            csv.append('\n');
+        }
+        Path csvFile = Files.writeString(dir.resolve("trades.csv"), csv);
+
+        List<Trade> fromCsv = readTrades(csvFile);
+        assertTrades(trades, fromCsv);
+        assertTrue(fromCsv.stream().anyMatch(t -> t.notional < 0.0), "no short trades in the sample");
+
+        Path binFile = dir.resolve("trades.bin");
+        try (BinaryTradeWriter writer = new BinaryTradeWriter(binFile)) {
+            fromCsv.forEach(writer);
+        }
+        assertTrades(trades, readTrades(binFile));
+    }
+
+    @Test
+    void quotesRoundTripThroughCsvAndBinary() throws IOException {
+        SplittableRandom random = new SplittableRandom(11);
+        List<Object[]> quotes = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("pair,T,sigmaATM,rr25,bf25,S,rd,rf\n# comment line\n");
+        for (int i = 0; i < ROWS; i++) {
+            String pair = PAIRS[random.nextInt(PAIRS.length)];
+            double[] v = {0.01 + 2.0 * random.nextDouble(), 0.05 + 0.2 * random.nextDouble(),
+                    0.04 * random.nextDouble() - 0.02, 0.01 * random.nextDouble(),
+                    0.5 + random.nextDouble(), 0.06 * random.nextDouble() - 0.01, 0.06 * random.nextDouble() - 0.01};
+            quotes.add(new Object[]{pair, v});
+            csv.append(pair);
+            for (double x : v) csv.append(',').append(x);
+            csv.append('\n');
+        }
+        Path csvFile = Files.writeString(dir.resolve("quotes.csv"), csv);
+
+        List<Object[]> fromCsv = readQuotes(csvFile);
+        assertQuotes(quotes, fromCsv);
+
+        Path binFile = dir.resolve("quotes.bin");
+        try (BinaryQuoteWriter writer = new BinaryQuoteWriter(binFile)) {
+            for (Object[] q : fromCsv) {
+                double[] v = (double[]) q[1];
+                writer.accept((String) q[0], v[4], v[5], v[6], new SmileQuote(v[0], v[1], v[2], v[3]));
+            }
+        }
+        assertQuotes(quotes, readQuotes(binFile));
+    }
+
+    @Test
+    void truncatedBinaryFileIsRejected() throws IOException {
+        Path binFile = dir.resolve("short.bin");
+        try (BinaryTradeWriter writer = new BinaryTradeWriter(binFile)) {
+            writer.accept(new Trade("EURUSD", 0.5, 1.1, TradeType.CALL, -2.5e6));
+            writer.accept(new Trade("EURUSD", 1.0, 1.2, TradeType.PUT, 1e6));
+        }
+        try (FileChannel ch = FileChannel.open(binFile, StandardOpenOption.WRITE)) {
+            ch.truncate(ch.size() - 5);
+        }
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> readTrades(binFile));
+        assertTrue(ex.getMessage().startsWith("short.bin: truncated record at offset "), ex.getMessage());
+    }
+
+    @Test
+    void unknownTradeTypeIsRejectedWithItsLine() throws IOException {
+        Path csvFile = Files.writeString(dir.resolve("bad.csv"), "EURUSD,0.5,1.1,call\nEURUSD,0.5,1.1,straddle\n");
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> readTrades(csvFile));
+        assertTrue(ex.getMessage().contains("straddle"), ex.getMessage());
+    }
+
+    private static List<Trade> readTrades(Path file) throws IOException {
+        List<Trade> out = new ArrayList<>();
+        long n = TradeReader.read(file, out::add);
+        assertEquals(out.size(), n);
+        return out;
+    }
+
+    private static List<Object[]> readQuotes(Path file) throws IOException {
+        List<Object[]> out = new ArrayList<>();
+        long n = QuoteReader.read(file, (pair, S, rd, rf, q) ->
+                out.add(new Object[]{pair, new double[]{q.T, q.sigmaATM, q.rr25, q.bf25, S, rd, rf}}));
+        assertEquals(out.size(), n);
+        return out;
+    }
+
+    private static void assertTrades(List<Trade> expected, List<Trade> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Trade e = expected.get(i), a = actual.get(i);
+            String row = "trade " + i;
+            assertEquals(e.pair, a.pair, row);
+            assertEquals(e.expiry, a.expiry, row);
+            assertEquals(e.strike, a.strike, row);
+            assertEquals(e.type, a.type, row);
+            assertEquals(e.notional, a.notional, row);
+        }
+    }
+
+    private static void assertQuotes(List<Object[]> expected, List<Object[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], actual.get(i)[0], "quote " + i);
+            double[] e = (double[]) expected.get(i)[1], a = (double[]) actual.get(i)[1];
+            for (int j = 0; j < e.length; j++) assertEquals(e[j], a[j], "quote " + i + " field " + j);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package test.java.fxvv.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.io.SliceSnapshot;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SliceBook;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.market.TenorQuote;
+import main.java.fxvv.market.VolSurface;
+import main.java.fxvv.market.VolSurfaceBuilder;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.pricer.GreeksMode;
+import main.java.fxvv.pricer.StrikeGridSpec;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// write -> open -> surfaces -> attach against the warm pricer that wrote the snapshot: restored slices price
+// bit-identically (GaussianElimination3) without solving, in exact and grid mode. Also the signature check and
+// rejection of corrupt tables.
+class SliceSnapshotTest {
+
+    private static final double[] EXPIRIES = {0.25, 0.5, 1.0};
+    private static final int SIG_OFFSET = 18; // after int magic, version, pairs, slices and short length
+
+    @TempDir
+    Path dir;
+
+    private final GKBlackScholes bs = new GKBlackScholes(new CodyNormal());
+    private final MarketSliceBuilder sliceBuilder = new MarketSliceBuilder(bs, new NewtonRootFinder(),
+            DeltaConvention.SPOT_PREM_EXCLUDED);
+    private final VolSurfaceBuilder surfaceBuilder = new VolSurfaceBuilder(sliceBuilder);
+
+    @Test
+    void restoredSlicesPriceLikeTheWriter() throws IOException {
+        assertRoundTrip(null);
+    }
+
+    @Test
+    void restoredGridSlicesPriceLikeTheWriter() throws IOException {
+        assertRoundTrip(StrikeGridSpec.defaults());
+    }
+
+    @Test
+    void mismatchedPricerIsRejected() throws IOException {
+        VannaVolgaPricer writer = pricer(GreeksMode.ANALYTIC, null);
+        Map<String, VolSurface> surfaces = surfaces();
+        warm(writer, surfaces);
+        Path file = dir.resolve("slices.snap");
+        SliceSnapshot.write(file, surfaces, writer);
+
+        VannaVolgaPricer other = pricer(GreeksMode.FINITE_DIFFERENCE, null);
+        VannaVolgaPricer gridded = pricer(GreeksMode.ANALYTIC, StrikeGridSpec.defaults());
+        try (SliceSnapshot snapshot = SliceSnapshot.open(file)) {
+            assertEquals(writer.cacheSignature(), snapshot.cacheSignature());
+            assertThrows(IllegalArgumentException.class, () -> snapshot.attach(other));
+            assertThrows(IllegalArgumentException.class, () -> snapshot.attach(gridded));
+            assertThrows(IllegalArgumentException.class, () -> snapshot.copyInto(new SliceBook(), other));
+
+            // A matching pricer gets the stored pillar solves and prices the book like the slices.
+            SliceBook book = new SliceBook();
+            VannaVolgaPricer reader = pricer(GreeksMode.ANALYTIC, null);
+            int first = snapshot.copyInto(book, reader);
+            assertEquals(snapshot.sliceCount(), book.size());
+            int id = first;
+            for (VolSurface surface : surfaces.values()) {
+                for (int i = 0; i < surface.size(); i++, id++) {
+                    MarketSlice slice = surface.slice(i);
+                    assertTrue(book.hasPillarSolve(id));
+                    for (double K : strikes(slice)) {
+                        assertEquals(writer.priceVanilla(slice, true, K), reader.priceVanilla(book, id, true, K));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void corruptTablesAreRejectedOnOpen() throws IOException {
+        VannaVolgaPricer writer = pricer(GreeksMode.ANALYTIC, null);
+        Map<String, VolSurface> surfaces = surfaces();
+        warm(writer, surfaces);
+        Path file = dir.resolve("slices.snap");
+        SliceSnapshot.write(file, surfaces, writer);
+
+        int sigLength = writer.cacheSignature().length();
+        int pairTable = SIG_OFFSET + sigLength;
+        int firstSliceField = pairTable + 1 + "EURUSD".length() + 8;
+        int sliceTable = pairTable;
+        for (String pair : surfaces.keySet()) sliceTable += 1 + pair.length() + 16;
+
+        assertRejected(file, 12, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(-1), "negative");
+        assertRejected(file, firstSliceField,
+                ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(EXPIRIES.length + 1), "spans slices");
+        assertRejected(file, sliceTable + 80,
+                ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(Files.size(file) - 8), "outside");
+        assertRejected(file, sliceTable + 88,
+                ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(-5), "outside");
+    }
+
+    private void assertRoundTrip(StrikeGridSpec grid) throws IOException {
+        VannaVolgaPricer writer = pricer(GreeksMode.ANALYTIC, grid);
+        Map<String, VolSurface> surfaces = surfaces();
+        Map<String, double[]> expected = warm(writer, surfaces);
+        Path file = dir.resolve("slices.snap");
+        assertEquals(2 * EXPIRIES.length, SliceSnapshot.write(file, surfaces, writer));
+
+        try (SliceSnapshot snapshot = SliceSnapshot.open(file)) {
+            assertEquals(surfaces.size(), snapshot.pairCount());
+            assertEquals(snapshot.sliceCount(), snapshot.cachedSliceCount());
+            VannaVolgaPricer reader = pricer(GreeksMode.ANALYTIC, grid);
+            snapshot.attach(reader);
+            Map<String, VolSurface> restored = snapshot.surfaces(surfaceBuilder);
+            assertEquals(surfaces.keySet(), restored.keySet());
+
+            for (Map.Entry<String, VolSurface> e : restored.entrySet()) {
+                double[] prices = prices(reader, e.getValue());
+                double[] want = expected.get(e.getKey());
+                for (int i = 0; i < want.length; i++) assertEquals(want[i], prices[i], e.getKey() + " price " + i);
+            }
+            assertEquals(0, reader.cacheStats().weightMisses, reader.cacheStats().toString());
+        }
+    }
+
+    private VannaVolgaPricer pricer(GreeksMode greeksMode, StrikeGridSpec grid) {
+        return new VannaVolgaPricer(bs, new GaussianElimination3(), greeksMode,
+                VannaVolgaPricer.DEFAULT_STRIKE_CACHE_PER_SLICE, grid);
+    }
+
+    private Map<String, VolSurface> surfaces() {
+        Map<String, VolSurface> surfaces = new LinkedHashMap<>();
+        surfaces.put("EURUSD", surface("EURUSD", 1.085, 0.03, 0.02));
+        surfaces.put("USDJPY", surface("USDJPY", 151.2, 0.001, 0.045));
+        return surfaces;
+    }
+
+    private VolSurface surface(String pair, double S, double rd, double rf) {
+        TenorQuote[] tenors = new TenorQuote[EXPIRIES.length];
+        for (int i = 0; i < tenors.length; i++) {
+            tenors[i] = new TenorQuote(rd, rf, new SmileQuote(EXPIRIES[i], 0.09 + 0.01 * i, -0.015, 0.004));
+        }
+        return surfaceBuilder.build(pair, S, tenors);
+    }
+
+    // Prices every slice so the writer has caches to export; returns the prices per pair.
+    private static Map<String, double[]> warm(VannaVolgaPricer pricer, Map<String, VolSurface> surfaces) {
+        Map<String, double[]> prices = new LinkedHashMap<>();
+        for (Map.Entry<String, VolSurface> e : surfaces.entrySet()) prices.put(e.getKey(), prices(pricer, e.getValue()));
+        return prices;
+    }
+
+    // Vanillas, then analytic digital calls and puts, over the strikes of every slice.
+    private static double[] prices(VannaVolgaPricer pricer, VolSurface surface) {
+        double[] out = new double[surface.size() * 4 * 11];
+        int n = 0;
+        for (int i = 0; i < surface.size(); i++) {
+            MarketSlice slice = surface.slice(i);
+            for (double K : strikes(slice)) {
+                out[n++] = pricer.priceVanilla(slice, true, K);
+                out[n++] = pricer.priceVanilla(slice, false, K);
+                out[n++] = pricer.priceDigitalCall(slice, K);
+                out[n++] = pricer.priceDigitalPut(slice, K);
+            }
+        }
+        return out;
+    }
+
+    private static double[] strikes(MarketSlice slice) {
+        double sd = slice.sigmaATM * Math.sqrt(slice.T);
+        double[] K = new double[11];
+        for (int i = 0; i < K.length; i++) K[i] = slice.F * Math.exp((i - 5) * 0.5 * sd);
+        return K;
+    }
+
+    private void assertRejected(Path file, long position, ByteBuffer patch, String message) throws IOException {
+        Path corrupt = Files.copy(file, dir.resolve("corrupt.snap"), StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel ch = FileChannel.open(corrupt, StandardOpenOption.WRITE)) {
+            ch.write(patch.flip(), position);
+        }
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> SliceSnapshot.open(corrupt));
+        assertTrue(ex.getMessage().startsWith("corrupt.snap: ") && ex.getMessage().contains(message), ex.getMessage());
+    }
+}
@@ -0,0 +1,80 @@
+package test.java.fxvv.numerics.impl;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import main.java.fxvv.numerics.NormalDist;
+import main.java.fxvv.numerics.impl.NormalDistTier;
+import org.junit.jupiter.api.Test;
+
+// The max abs CDF errors documented on NormalDistTier. CODY is checked against the Taylor series of N(x) in
+// 80-digit arithmetic, the other tiers against CODY, whose own error is negligible next to their bounds.
+class NormalDistTierTest {
+
+    private static final MathContext MC = new MathContext(80);
+    private static final BigDecimal SQRT_2PI = new BigDecimal(
+            "2.50662827463100050241576528481104525300698674060993831662992357634229365460784");
+
+    @Test
+    void codyIsAccurateToDoublePrecision() {
+        NormalDist cody = NormalDistTier.CODY.create();
+        double maxAbs = 0.0, maxRelLowerTail = 0.0;
+        for (int i = 0; i <= 800; i++) {
+            double x = -8.0 + i * 0.02;
+            double exact = seriesCdf(x);
+            double err = Math.abs(cody.cdf(x) - exact);
+            maxAbs = Math.max(maxAbs, err);
+            if (x <= 0.0) maxRelLowerTail = Math.max(maxRelLowerTail, err / exact);
+        }
+        assertTrue(maxAbs <= 2.5e-16, "CODY max abs error " + maxAbs);
+        assertTrue(maxRelLowerTail <= 2e-14, "CODY max relative error for x <= 0: " + maxRelLowerTail);
+    }
+
+    @Test
+    void abramowitzStegunWithinDocumentedError() {
+        assertMaxAbsError(NormalDistTier.ABRAMOWITZ_STEGUN, 7.5e-8);
+    }
+
+    @Test
+    void hornerAbramowitzStegunWithinDocumentedError() {
+        assertMaxAbsError(NormalDistTier.ABRAMOWITZ_STEGUN_HORNER, 7.5e-8);
+    }
+
+    // Documented as ~5e-12; the worst point of the 1/128 table is 5.3e-12.
+    @Test
+    void tabulatedWithinDocumentedError() {
+        assertMaxAbsError(NormalDistTier.TABULATED, 6e-12);
+    }
+
+    private static void assertMaxAbsError(NormalDistTier tier, double bound) {
+        NormalDist reference = NormalDistTier.CODY.create();
+        NormalDist normal = tier.create();
+        double maxErr = 0.0, worst = Double.NaN;
+        // Step incommensurate with the table spacing, so probes land throughout its cells.
+        for (double x = -10.0; x <= 10.0; x += 1.0 / 1009.0) {
+            double err = Math.abs(normal.cdf(x) - reference.cdf(x));
+            if (err > maxErr) {
+                maxErr = err;
+                worst = x;
+            }
+        }
+        assertTrue(maxErr <= bound, tier + " max abs error " + maxErr + " at x=" + worst + " exceeds " + bound);
+    }
+
+    // N(x) = 1/2 + (1/sqrt(2 pi)) sum_n (-1)^n x^(2n+1) / (2^n n! (2n+1)).
+    private static double seriesCdf(double x) {
+        BigDecimal X = new BigDecimal(x);
+        BigDecimal x2 = X.multiply(X, MC);
+        BigDecimal power = X; // (-1)^n x^(2n+1) / (2^n n!)
+        BigDecimal sum = X;
+        BigDecimal cutoff = new BigDecimal("1e-40");
+        for (int n = 1; ; n++) {
+            power = power.multiply(x2, MC).negate().divide(BigDecimal.valueOf(2L * n), MC);
+            BigDecimal term = power.divide(BigDecimal.valueOf(2L * n + 1), MC);
+            sum = sum.add(term, MC);
+            if (term.abs().compareTo(cutoff) < 0) break;
+        }
+        return new BigDecimal("0.5").add(sum.divide(SQRT_2PI, MC), MC).doubleValue();
+    }
+}
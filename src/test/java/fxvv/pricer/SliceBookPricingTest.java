@@ -0,0 +1,111 @@
+package test.java.fxvv.pricer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SliceBook;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.pricer.DigitalMode;
+import main.java.fxvv.pricer.GreeksMode;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+import org.junit.jupiter.api.Test;
+
+// Pricing by SliceBook id against pricing the same slice as a MarketSlice, for vanillas and digitals in
+// both DigitalModes. GaussianElimination3 factorizes to an explicit inverse, the same solve the book stores,
+// so the two paths agree bit for bit.
+class SliceBookPricingTest {
+
+    private static final double S = 1.085;
+    private static final double RD = 0.03;
+    private static final double RF = 0.02;
+    private static final double[] EXPIRIES = {7.0 / 365.0, 0.25, 1.0, 3.0};
+
+    private final GKBlackScholes bs = new GKBlackScholes(new CodyNormal());
+    private final MarketSliceBuilder builder = new MarketSliceBuilder(bs, new NewtonRootFinder(),
+            DeltaConvention.SPOT_PREM_EXCLUDED);
+
+    @Test
+    void bookPricesMatchSlicePricesWithAnalyticDigitals() {
+        assertBookMatchesSlices(DigitalMode.ANALYTIC);
+    }
+
+    @Test
+    void bookPricesMatchSlicePricesWithFiniteDifferenceDigitals() {
+        assertBookMatchesSlices(DigitalMode.FINITE_DIFFERENCE);
+    }
+
+    @Test
+    void pricingAnUnpreparedSliceThrows() {
+        VannaVolgaPricer pricer = pricer(DigitalMode.ANALYTIC);
+        SliceBook book = new SliceBook();
+        int prepared = builder.buildInto(book, S, RD, RF, quote(0.5));
+        int unprepared = builder.buildInto(book, S, RD, RF, quote(1.0));
+        pricer.prepare(book, prepared);
+
+        pricer.priceVanilla(book, prepared, true, 1.1);
+        assertThrows(IllegalStateException.class, () -> pricer.priceVanilla(book, unprepared, true, 1.1));
+        assertThrows(IllegalStateException.class,
+                () -> pricer.priceVanilla(book, unprepared, false, new double[]{1.0, 1.1}, new double[2]));
+        assertThrows(IllegalStateException.class, () -> pricer.priceDigitalCall(book, unprepared, 1.1));
+        assertThrows(IllegalStateException.class, () -> pricer.priceDigitalPut(book, unprepared, 1.1));
+
+        // Recalibrating in place drops the pillar solve until the slice is prepared again.
+        builder.rebuildInto(book, prepared, S * 1.01, RD, RF, quote(0.5));
+        assertThrows(IllegalStateException.class, () -> pricer.priceVanilla(book, prepared, true, 1.1));
+    }
+
+    private void assertBookMatchesSlices(DigitalMode digitalMode) {
+        VannaVolgaPricer pricer = pricer(digitalMode);
+        SliceBook book = new SliceBook();
+        MarketSlice[] slices = new MarketSlice[EXPIRIES.length];
+        for (int i = 0; i < EXPIRIES.length; i++) {
+            int id = builder.buildInto(book, S, RD, RF, quote(EXPIRIES[i]));
+            assertEquals(i, id);
+            slices[i] = builder.build(S, RD, RF, quote(EXPIRIES[i]));
+        }
+        pricer.prepare(book);
+
+        for (int id = 0; id < slices.length; id++) {
+            MarketSlice slice = slices[id];
+            double[] strikes = strikes(slice);
+            double[] batch = new double[strikes.length];
+            for (boolean isCall : new boolean[]{true, false}) {
+                pricer.priceVanilla(book, id, isCall, strikes, batch);
+                for (int i = 0; i < strikes.length; i++) {
+                    String at = digitalMode + " T=" + slice.T + " K=" + strikes[i] + (isCall ? " call" : " put");
+                    double expected = pricer.priceVanilla(slice, isCall, strikes[i]);
+                    assertEquals(expected, pricer.priceVanilla(book, id, isCall, strikes[i]), at);
+                    assertEquals(expected, batch[i], "batch " + at);
+                }
+            }
+            for (double K : strikes) {
+                String at = digitalMode + " T=" + slice.T + " K=" + K;
+                assertEquals(pricer.priceDigitalCall(slice, K), pricer.priceDigitalCall(book, id, K), "digital call " + at);
+                assertEquals(pricer.priceDigitalPut(slice, K), pricer.priceDigitalPut(book, id, K), "digital put " + at);
+            }
+        }
+    }
+
+    private VannaVolgaPricer pricer(DigitalMode digitalMode) {
+        return new VannaVolgaPricer(bs, new GaussianElimination3(), GreeksMode.ANALYTIC,
+                VannaVolgaPricer.DEFAULT_STRIKE_CACHE_PER_SLICE, null, digitalMode);
+    }
+
+    private static SmileQuote quote(double T) {
+        return new SmileQuote(T, 0.09, -0.015, 0.004);
+    }
+
+    private static double[] strikes(MarketSlice slice) {
+        double sd = slice.sigmaATM * Math.sqrt(slice.T);
+        double[] K = new double[13];
+        for (int i = 0; i < K.length; i++) K[i] = slice.F * Math.exp((i - 6) * 0.4 * sd);
+        return K;
+    }
+}
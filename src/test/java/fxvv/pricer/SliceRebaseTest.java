@@ -0,0 +1,107 @@
+package test.java.fxvv.pricer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.pricer.GreeksMode;
+import main.java.fxvv.pricer.StrikeGridSpec;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+import org.junit.jupiter.api.Test;
+
+// A cache carried over by VannaVolgaPricer.rebase onto a MarketSliceBuilder.update tick prices like a cache
+// built from scratch on the updated slice, in exact and grid mode, for vanillas and digitals.
+class SliceRebaseTest {
+
+    private static final double S = 1.085;
+    private static final double RD = 0.03;
+    private static final double RF = 0.02;
+    private static final SmileQuote QUOTE = new SmileQuote(0.5, 0.09, -0.015, 0.004);
+    private static final double TOL = 1e-12;
+
+    private final GKBlackScholes bs = new GKBlackScholes(new CodyNormal());
+
+    @Test
+    void spotTickPricesLikeAFreshCache() {
+        for (DeltaConvention convention : DeltaConvention.values()) {
+            assertRebasedMatchesFresh(convention, null, S * 1.004, RD, RF);
+        }
+    }
+
+    // Forward delta keeps pillar moneyness through a change of rf as well.
+    @Test
+    void forwardDeltaRateTickPricesLikeAFreshCache() {
+        assertRebasedMatchesFresh(DeltaConvention.FWD_PREM_EXCLUDED, null, S * 0.997, RD + 0.001, RF - 0.0005);
+    }
+
+    @Test
+    void gridModeSpotTickPricesLikeAFreshCache() {
+        assertRebasedMatchesFresh(DeltaConvention.SPOT_PREM_EXCLUDED, StrikeGridSpec.defaults(), S * 1.004, RD, RF);
+    }
+
+    @Test
+    void smileMoveIsNotRebased() {
+        MarketSliceBuilder builder = new MarketSliceBuilder(bs, new NewtonRootFinder(),
+                DeltaConvention.SPOT_PREM_EXCLUDED);
+        VannaVolgaPricer pricer = pricer(null);
+        MarketSlice previous = builder.build(S, RD, RF, QUOTE);
+        pricer.warm(previous);
+        MarketSlice next = builder.update(previous, S, RD, RF, new SmileQuote(0.5, 0.095, -0.015, 0.004));
+
+        assertFalse(pricer.rebase(previous, next));
+        assertEquals(1, pricer.cacheStats().liveSlices);
+    }
+
+    private void assertRebasedMatchesFresh(DeltaConvention convention, StrikeGridSpec grid,
+                                           double S1, double rd1, double rf1) {
+        MarketSliceBuilder builder = new MarketSliceBuilder(bs, new NewtonRootFinder(), convention);
+        MarketSlice previous = builder.build(S, RD, RF, QUOTE);
+        VannaVolgaPricer rebased = pricer(grid);
+        double[] strikes = strikes(previous);
+        for (double K : strikes) rebased.priceVanilla(previous, true, K);
+
+        MarketSlice next = builder.update(previous, S1, rd1, rf1);
+        assertTrue(rebased.rebase(previous, next), convention.toString());
+        rebased.resetCacheStats();
+
+        MarketSlice fresh = builder.build(S1, rd1, rf1, QUOTE);
+        VannaVolgaPricer built = pricer(grid);
+        double scale = fresh.F * fresh.DFd;
+        for (double moneyness : new double[]{0.8, 0.9, 0.97, 1.0, 1.03, 1.1, 1.25}) {
+            double K = moneyness * fresh.F;
+            String at = convention + " K/F=" + moneyness;
+            for (boolean isCall : new boolean[]{true, false}) {
+                assertEquals(built.priceVanilla(fresh, isCall, K), rebased.priceVanilla(next, isCall, K),
+                        TOL * scale, (isCall ? "call " : "put ") + at);
+            }
+            assertEquals(built.priceDigitalCall(fresh, K), rebased.priceDigitalCall(next, K), TOL, "digital call " + at);
+            assertEquals(built.priceDigitalPut(fresh, K), rebased.priceDigitalPut(next, K), TOL, "digital put " + at);
+        }
+
+        // The rebased weight table still serves strikes at the moneyness they were solved at.
+        if (grid == null) {
+            rebased.resetCacheStats();
+            for (double K : strikes) rebased.priceVanilla(next, true, K / previous.F * next.F);
+            assertEquals(strikes.length, rebased.cacheStats().weightHits, convention.toString());
+            assertEquals(0, rebased.cacheStats().sliceMisses, convention.toString());
+        }
+    }
+
+    private VannaVolgaPricer pricer(StrikeGridSpec grid) {
+        return new VannaVolgaPricer(bs, new GaussianElimination3(), GreeksMode.ANALYTIC, 1024, grid);
+    }
+
+    private static double[] strikes(MarketSlice slice) {
+        double[] K = new double[9];
+        for (int i = 0; i < K.length; i++) K[i] = slice.F * (0.92 + 0.02 * i);
+        return K;
+    }
+}
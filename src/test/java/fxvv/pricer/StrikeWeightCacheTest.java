@@ -0,0 +1,105 @@
+package test.java.fxvv.pricer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.pricer.CacheStats;
+import main.java.fxvv.pricer.GreeksMode;
+import main.java.fxvv.pricer.SliceCacheSource;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+import org.junit.jupiter.api.Test;
+
+// The per-slice strike weight table (StrikeWeightCache), observed through the pricer's cache counters and
+// exported images: CLOCK eviction at capacity and the entries copied out by exportCache.
+class StrikeWeightCacheTest {
+
+    private static final int CAPACITY = 4;
+
+    private final GKBlackScholes bs = new GKBlackScholes(new CodyNormal());
+    private final MarketSlice slice = new MarketSliceBuilder(bs, new NewtonRootFinder(),
+            DeltaConvention.SPOT_PREM_EXCLUDED).build(1.085, 0.03, 0.02, new SmileQuote(0.5, 0.09, -0.015, 0.004));
+
+    @Test
+    void evictsOneEntryPerInsertOnceFull() {
+        VannaVolgaPricer pricer = pricer(CAPACITY);
+        for (int i = 0; i < CAPACITY; i++) pricer.priceVanilla(slice, true, strike(i));
+        assertEquals(0, pricer.cacheStats().weightEvictions);
+
+        for (int i = CAPACITY; i < 3 * CAPACITY; i++) pricer.priceVanilla(slice, true, strike(i));
+        CacheStats stats = pricer.cacheStats();
+        assertEquals(3 * CAPACITY, stats.weightMisses);
+        assertEquals(2 * CAPACITY, stats.weightEvictions);
+        assertEquals(CAPACITY, exportedEntries(pricer.exportCache(slice)));
+    }
+
+    // Entries read since they were stored get a second chance, so the one unreferenced entry is the victim.
+    @Test
+    void clockEvictsTheUnreferencedEntry() {
+        VannaVolgaPricer pricer = pricer(CAPACITY);
+        for (int i = 0; i < CAPACITY; i++) pricer.priceVanilla(slice, true, strike(i));
+        for (int i = 0; i < CAPACITY - 1; i++) pricer.priceVanilla(slice, true, strike(i));
+
+        pricer.priceVanilla(slice, true, strike(CAPACITY));
+        pricer.resetCacheStats();
+        for (int i = 0; i < CAPACITY - 1; i++) pricer.priceVanilla(slice, true, strike(i));
+        assertEquals(CAPACITY - 1, pricer.cacheStats().weightHits);
+        assertEquals(0, pricer.cacheStats().weightMisses);
+
+        pricer.priceVanilla(slice, true, strike(CAPACITY - 1));
+        assertEquals(1, pricer.cacheStats().weightMisses);
+    }
+
+    // A pricer restored from the image finds every exported strike without solving and prices it identically.
+    @Test
+    void exportedEntriesRestoreEveryCachedStrike() {
+        int n = 10;
+        VannaVolgaPricer source = pricer(16);
+        double[] prices = new double[n];
+        for (int i = 0; i < n; i++) prices[i] = source.priceVanilla(slice, true, strike(i));
+        ByteBuffer image = source.exportCache(slice);
+        assertEquals(n, exportedEntries(image));
+
+        VannaVolgaPricer restored = pricer(16);
+        restored.restoreFrom(new SliceCacheSource() {
+            @Override
+            public String cacheSignature() {
+                return source.cacheSignature();
+            }
+
+            @Override
+            public ByteBuffer cacheImage(MarketSlice s) {
+                return (s == slice) ? image.duplicate() : null;
+            }
+        });
+        for (int i = 0; i < n; i++) {
+            assertEquals(prices[i], restored.priceVanilla(slice, true, strike(i)), "K=" + strike(i));
+        }
+        assertEquals(n, restored.cacheStats().weightHits);
+        assertEquals(0, restored.cacheStats().weightMisses);
+    }
+
+    private VannaVolgaPricer pricer(int capacity) {
+        return new VannaVolgaPricer(bs, new GaussianElimination3(), GreeksMode.ANALYTIC, capacity);
+    }
+
+    private double strike(int i) {
+        return slice.F * (0.9 + 0.013 * i);
+    }
+
+    // Skips the pillar inverse and condition number and an empty grid section; see VannaVolgaPricer.exportCache.
+    private static int exportedEntries(ByteBuffer image) {
+        ByteBuffer in = image.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        in.position(80);
+        assertEquals(0, in.getInt(), "grid nodes");
+        return in.getInt();
+    }
+}
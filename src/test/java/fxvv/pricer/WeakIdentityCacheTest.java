@@ -0,0 +1,102 @@
+package test.java.fxvv.pricer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import main.java.fxvv.bs.GKBlackScholes;
+import main.java.fxvv.conventions.DeltaConvention;
+import main.java.fxvv.market.MarketSlice;
+import main.java.fxvv.market.MarketSliceBuilder;
+import main.java.fxvv.market.SmileQuote;
+import main.java.fxvv.numerics.impl.CodyNormal;
+import main.java.fxvv.numerics.impl.GaussianElimination3;
+import main.java.fxvv.numerics.impl.NewtonRootFinder;
+import main.java.fxvv.pricer.CacheStats;
+import main.java.fxvv.pricer.VannaVolgaPricer;
+import org.junit.jupiter.api.Test;
+
+// The per-slice cache map (WeakIdentityCache), observed through the pricer's cache counters: concurrent first
+// use builds each slice once, and invalidation and collected slices count as evictions.
+class WeakIdentityCacheTest {
+
+    private static final int THREADS = 8;
+    private static final int SLICES = 4;
+    private static final int ROUNDS = 50;
+
+    private final GKBlackScholes bs = new GKBlackScholes(new CodyNormal());
+    private final MarketSliceBuilder builder = new MarketSliceBuilder(bs, new NewtonRootFinder(),
+            DeltaConvention.SPOT_PREM_EXCLUDED);
+
+    @Test
+    void concurrentFirstUseBuildsEachSliceOnce() throws Exception {
+        VannaVolgaPricer pricer = new VannaVolgaPricer(bs, new GaussianElimination3());
+        MarketSlice[] slices = new MarketSlice[SLICES];
+        for (int i = 0; i < SLICES; i++) slices[i] = slice(0.25 * (i + 1));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<double[]>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    double[] prices = new double[SLICES];
+                    for (int r = 0; r < ROUNDS; r++) {
+                        for (int i = 0; i < SLICES; i++) prices[i] = pricer.priceVanilla(slices[i], true, 1.1);
+                    }
+                    return prices;
+                }));
+            }
+            start.countDown();
+            double[] expected = results.get(0).get();
+            for (Future<double[]> result : results) {
+                double[] prices = result.get();
+                for (int i = 0; i < SLICES; i++) assertEquals(expected[i], prices[i], "slice " + i);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        CacheStats stats = pricer.cacheStats();
+        assertEquals(SLICES, stats.sliceMisses);
+        assertEquals((long) THREADS * ROUNDS * SLICES - SLICES, stats.sliceHits);
+        assertEquals(SLICES, stats.liveSlices);
+    }
+
+    @Test
+    void invalidateDropsTheSliceCache() {
+        VannaVolgaPricer pricer = new VannaVolgaPricer(bs, new GaussianElimination3());
+        MarketSlice slice = slice(0.5);
+        double price = pricer.priceVanilla(slice, true, 1.1);
+        pricer.invalidate(slice);
+        assertEquals(0, pricer.cacheStats().liveSlices);
+        assertEquals(1, pricer.cacheStats().sliceEvictions);
+
+        assertEquals(price, pricer.priceVanilla(slice, true, 1.1));
+        assertEquals(2, pricer.cacheStats().sliceMisses);
+    }
+
+    // Slices are held weakly: once a slice is unreachable its cache is expunged without an explicit invalidate.
+    @Test
+    void collectedSlicesAreEvicted() throws InterruptedException {
+        VannaVolgaPricer pricer = new VannaVolgaPricer(bs, new GaussianElimination3());
+        for (int i = 0; i < SLICES; i++) pricer.priceVanilla(slice(0.25 * (i + 1)), true, 1.1);
+
+        for (int attempt = 0; attempt < 50 && pricer.cacheStats().liveSlices > 0; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        CacheStats stats = pricer.cacheStats();
+        assertEquals(0, stats.liveSlices);
+        assertEquals(SLICES, stats.sliceEvictions, stats.toString());
+    }
+
+    private MarketSlice slice(double T) {
+        return builder.build(1.085, 0.03, 0.02, new SmileQuote(T, 0.09, -0.015, 0.004));
+    }
+}